@@ -0,0 +1,133 @@
+package org.apache.maven.plugins.dependency;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.benchmarks.SyntheticRepository;
+import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Copies all the artifacts of a synthetic repository with {@link AbstractDependencyMojo#copyFile(File, File)}, the
+ * way <code>copy-dependencies</code> does, with each copy strategy.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class CopyBenchmark
+{
+    @Param( { "100", "1000", "10000" } )
+    private int artifactCount;
+
+    @Param( { "copy", "transfer", "hardlink" } )
+    private String copyStrategy;
+
+    private SyntheticRepository repository;
+
+    private CopyMojo mojo;
+
+    private File outputDirectory;
+
+    private File[] sources;
+
+    private File[] destinations;
+
+    @Setup( Level.Trial )
+    public void setUpRepository()
+        throws Exception
+    {
+        repository = new SyntheticRepository( artifactCount );
+
+        mojo = new CopyMojo();
+        mojo.setSilent( true );
+        mojo.setCopyStrategy( copyStrategy );
+
+        outputDirectory = repository.newDirectory( "copy" );
+        sources = new File[artifactCount];
+        destinations = new File[artifactCount];
+        int i = 0;
+        for ( Artifact artifact : repository.getArtifacts() )
+        {
+            sources[i] = artifact.getFile();
+            destinations[i] = new File( outputDirectory, DependencyUtil.getFormattedFileName( artifact, false ) );
+            i++;
+        }
+    }
+
+    /**
+     * Every copy starts from an empty output directory, otherwise the next copies of the <code>hardlink</code> strategy
+     * would only find the links already there. An invocation copies at least a hundred files, well over the
+     * millisecond under which <code>Level.Invocation</code> skews the results.
+     */
+    @Setup( Level.Invocation )
+    public void cleanOutputDirectory()
+        throws Exception
+    {
+        outputDirectory = repository.newDirectory( "copy" );
+    }
+
+    @TearDown( Level.Trial )
+    public void deleteRepository()
+        throws Exception
+    {
+        repository.newDirectory( "copy" ).delete();
+        repository.delete();
+    }
+
+    @Benchmark
+    public File copyFile()
+        throws MojoExecutionException
+    {
+        for ( int i = 0; i < sources.length; i++ )
+        {
+            mojo.copyFile( sources[i], destinations[i] );
+        }
+        return outputDirectory;
+    }
+
+    private static class CopyMojo
+        extends AbstractDependencyMojo
+    {
+        @Override
+        protected void doExecute()
+        {
+            // only copyFile is called
+        }
+    }
+}
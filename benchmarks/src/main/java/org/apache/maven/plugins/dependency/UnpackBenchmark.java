@@ -0,0 +1,179 @@
+package org.apache.maven.plugins.dependency;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.benchmarks.SyntheticRepository;
+import org.codehaus.plexus.archiver.Archiver;
+import org.codehaus.plexus.archiver.UnArchiver;
+import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
+import org.codehaus.plexus.archiver.zip.ZipUnArchiver;
+import org.codehaus.plexus.components.io.resources.PlexusIoResourceCollection;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Unpacks all the artifacts of a synthetic repository with <code>AbstractDependencyMojo.unpack</code>, the way
+ * <code>unpack-dependencies</code> does, with and without includes.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class UnpackBenchmark
+{
+    @Param( { "100", "1000", "10000" } )
+    private int artifactCount;
+
+    @Param( { "", "**/*.properties" } )
+    private String includes;
+
+    private SyntheticRepository repository;
+
+    private UnpackMojo mojo;
+
+    private File outputDirectory;
+
+    @Setup( Level.Trial )
+    public void setUpRepository()
+        throws Exception
+    {
+        repository = new SyntheticRepository( artifactCount );
+
+        mojo = new UnpackMojo();
+        mojo.setSilent( true );
+        mojo.setArchiverManager( new ZipArchiverManager() );
+    }
+
+    @Setup( Level.Iteration )
+    public void cleanOutputDirectory()
+        throws Exception
+    {
+        outputDirectory = repository.newDirectory( "unpack" );
+    }
+
+    @TearDown( Level.Trial )
+    public void deleteRepository()
+        throws Exception
+    {
+        repository.newDirectory( "unpack" ).delete();
+        repository.delete();
+    }
+
+    @Benchmark
+    public File unpack()
+        throws MojoExecutionException
+    {
+        String unpackIncludes = StringUtils.isEmpty( includes ) ? null : includes;
+        for ( Artifact artifact : repository.getArtifacts() )
+        {
+            File location = new File( outputDirectory, artifact.getArtifactId() );
+            mojo.unpack( artifact, location, unpackIncludes, null, null, null );
+        }
+        return outputDirectory;
+    }
+
+    private static class UnpackMojo
+        extends AbstractDependencyMojo
+    {
+        @Override
+        protected void doExecute()
+        {
+            // only unpack is called
+        }
+    }
+
+    /**
+     * Hands out zip unarchivers without a plexus container, all the synthetic artifacts are jars.
+     */
+    private static class ZipArchiverManager
+        implements ArchiverManager
+    {
+        @Override
+        public UnArchiver getUnArchiver( String name )
+            throws NoSuchArchiverException
+        {
+            if ( !"jar".equals( name ) && !"zip".equals( name ) )
+            {
+                throw new NoSuchArchiverException( name );
+            }
+            ZipUnArchiver unArchiver = new ZipUnArchiver();
+            unArchiver.enableLogging( new ConsoleLogger( Logger.LEVEL_DISABLED, "unpack" ) );
+            return unArchiver;
+        }
+
+        @Override
+        public UnArchiver getUnArchiver( File file )
+            throws NoSuchArchiverException
+        {
+            return getUnArchiver( FileUtils.getExtension( file.getName() ) );
+        }
+
+        @Override
+        public Archiver getArchiver( String name )
+            throws NoSuchArchiverException
+        {
+            throw new NoSuchArchiverException( name );
+        }
+
+        @Override
+        public Archiver getArchiver( File file )
+            throws NoSuchArchiverException
+        {
+            throw new NoSuchArchiverException( file.getName() );
+        }
+
+        @Override
+        public PlexusIoResourceCollection getResourceCollection( File file )
+            throws NoSuchArchiverException
+        {
+            throw new NoSuchArchiverException( file.getName() );
+        }
+
+        @Override
+        public PlexusIoResourceCollection getResourceCollection( String name )
+            throws NoSuchArchiverException
+        {
+            throw new NoSuchArchiverException( name );
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.apache.maven.plugins.dependency.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.ReflectionUtils;
+
+/**
+ * A local repository of generated artifacts, laid out like a Maven repository in a temporary directory. The artifacts
+ * spread over several groups and scopes, a tenth of them are snapshots and a fifth of them have a classifier. Every
+ * artifact is a small jar holding a few classes and resources, and the first tenth are direct dependencies.
+ */
+public class SyntheticRepository
+{
+    private static final String[] SCOPES =
+        { Artifact.SCOPE_COMPILE, Artifact.SCOPE_RUNTIME, Artifact.SCOPE_TEST, Artifact.SCOPE_PROVIDED,
+            Artifact.SCOPE_COMPILE };
+
+    private static final int GROUP_COUNT = 25;
+
+    private static final int ENTRIES_PER_JAR = 8;
+
+    private final File basedir;
+
+    private final List<Artifact> artifacts;
+
+    private final Set<Artifact> directArtifacts;
+
+    /**
+     * @param artifactCount the number of artifacts to generate.
+     * @throws IOException if the repository can not be written.
+     */
+    public SyntheticRepository( int artifactCount )
+        throws IOException
+    {
+        this.basedir = Files.createTempDirectory( "mdep-benchmark-repo" ).toFile();
+
+        List<Artifact> all = new ArrayList<>( artifactCount );
+        Set<Artifact> direct = new LinkedHashSet<>();
+        DefaultArtifactHandler handler = new DefaultArtifactHandler( "jar" );
+        for ( int i = 0; i < artifactCount; i++ )
+        {
+            String groupId = "org.example.group" + ( i % GROUP_COUNT );
+            String artifactId = "artifact-" + i;
+            String version = i % 10 == 3 ? "1." + ( i % 7 ) + "-SNAPSHOT" : "1." + ( i % 7 ) + "." + ( i % 3 );
+            String classifier = i % 5 == 1 ? "tests" : null;
+
+            Artifact artifact =
+                new DefaultArtifact( groupId, artifactId, VersionRange.createFromVersion( version ),
+                                     SCOPES[i % SCOPES.length], "jar", classifier, handler );
+            artifact.setFile( writeJar( artifact ) );
+            artifact.setResolved( true );
+            all.add( artifact );
+            if ( i % 10 == 0 )
+            {
+                direct.add( artifact );
+            }
+        }
+        this.artifacts = Collections.unmodifiableList( all );
+        this.directArtifacts = Collections.unmodifiableSet( direct );
+    }
+
+    /**
+     * @return the base directory of the repository.
+     */
+    public File getBasedir()
+    {
+        return basedir;
+    }
+
+    /**
+     * @return all the artifacts, in generation order.
+     */
+    public List<Artifact> getArtifacts()
+    {
+        return artifacts;
+    }
+
+    /**
+     * @return the artifacts standing for the direct dependencies of a project.
+     */
+    public Set<Artifact> getDirectArtifacts()
+    {
+        return directArtifacts;
+    }
+
+    /**
+     * @param name the name of the directory.
+     * @return a new empty directory next to the repository.
+     * @throws IOException if the directory can not be created.
+     */
+    public File newDirectory( String name )
+        throws IOException
+    {
+        File directory = new File( basedir.getParentFile(), basedir.getName() + "-" + name );
+        FileUtils.deleteDirectory( directory );
+        directory.mkdirs();
+        return directory;
+    }
+
+    /**
+     * Deletes the repository.
+     *
+     * @throws IOException if the repository can not be deleted.
+     */
+    public void delete()
+        throws IOException
+    {
+        FileUtils.deleteDirectory( basedir );
+    }
+
+    /**
+     * Sets a field which has no setter, such as the project of a mojo.
+     *
+     * @param target the object to set the field of.
+     * @param name the name of the field, declared by the class of the object or one of its super classes.
+     * @param value the value to set.
+     * @throws IllegalAccessException if the field can not be set.
+     */
+    public static void setField( Object target, String name, Object value )
+        throws IllegalAccessException
+    {
+        Field field = ReflectionUtils.getFieldByNameIncludingSuperclasses( name, target.getClass() );
+        field.setAccessible( true );
+        field.set( target, value );
+    }
+
+    private File writeJar( Artifact artifact )
+        throws IOException
+    {
+        File directory = new File( basedir, artifact.getGroupId().replace( '.', '/' ) + '/'
+            + artifact.getArtifactId() + '/' + artifact.getBaseVersion() );
+        directory.mkdirs();
+
+        StringBuilder name = new StringBuilder( artifact.getArtifactId() ).append( '-' )
+            .append( artifact.getVersion() );
+        if ( artifact.hasClassifier() )
+        {
+            name.append( '-' ).append( artifact.getClassifier() );
+        }
+        File file = new File( directory, name.append( ".jar" ).toString() );
+
+        String packageName =
+            artifact.getGroupId().replace( '.', '/' ) + '/' + artifact.getArtifactId().replace( '-', '_' );
+        byte[] content = new byte[2048];
+        try ( ZipOutputStream zip = new ZipOutputStream( new FileOutputStream( file ) ) )
+        {
+            zip.putNextEntry( new ZipEntry( "META-INF/MANIFEST.MF" ) );
+            zip.write( "Manifest-Version: 1.0\r\n\r\n".getBytes( "UTF-8" ) );
+            zip.closeEntry();
+            for ( int i = 0; i < ENTRIES_PER_JAR; i++ )
+            {
+                zip.putNextEntry( new ZipEntry( packageName + "/Type" + i + ".class" ) );
+                zip.write( content );
+                zip.closeEntry();
+            }
+            zip.putNextEntry( new ZipEntry( packageName + "/messages.properties" ) );
+            zip.write( ( "name=" + artifact.getId() + "\n" ).getBytes( "UTF-8" ) );
+            zip.closeEntry();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,106 @@
+package org.apache.maven.plugins.dependency.fromDependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugins.dependency.benchmarks.SyntheticRepository;
+import org.codehaus.plexus.util.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Assembles the classpath string of <code>build-classpath</code> from the artifacts of a synthetic repository, with
+ * the artifact paths or with a prefix, and sorts the artifacts with the comparator of {@link BuildClasspathMojo}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class ClasspathBenchmark
+{
+    @Param( { "100", "1000", "10000" } )
+    private int artifactCount;
+
+    @Param( { "", "lib" } )
+    private String prefix;
+
+    private SyntheticRepository repository;
+
+    private BuildClasspathMojo mojo;
+
+    @Setup
+    public void setUpRepository()
+        throws Exception
+    {
+        repository = new SyntheticRepository( artifactCount );
+
+        mojo = new BuildClasspathMojo();
+        mojo.setSilent( true );
+        mojo.setPrefix( StringUtils.isEmpty( prefix ) ? null : prefix );
+    }
+
+    @TearDown
+    public void deleteRepository()
+        throws Exception
+    {
+        repository.delete();
+    }
+
+    @Benchmark
+    public String appendArtifactPath()
+    {
+        StringBuilder sb = new StringBuilder();
+        for ( Artifact artifact : repository.getArtifacts() )
+        {
+            if ( sb.length() > 0 )
+            {
+                sb.append( File.pathSeparator );
+            }
+            mojo.appendArtifactPath( artifact, sb );
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public List<Artifact> sort()
+    {
+        List<Artifact> artifacts = new ArrayList<>( repository.getArtifacts() );
+        Collections.sort( artifacts, mojo );
+        return artifacts;
+    }
+}
@@ -0,0 +1,177 @@
+package org.apache.maven.plugins.dependency.fromDependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.benchmarks.SyntheticRepository;
+import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
+import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.filters.CompiledArtifactsFilter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.artifact.filter.collection.ArtifactFilterException;
+import org.apache.maven.shared.artifact.filter.collection.ArtifactIdFilter;
+import org.apache.maven.shared.artifact.filter.collection.ArtifactsFilter;
+import org.apache.maven.shared.artifact.filter.collection.ClassifierFilter;
+import org.apache.maven.shared.artifact.filter.collection.FilterArtifacts;
+import org.apache.maven.shared.artifact.filter.collection.GroupIdFilter;
+import org.apache.maven.shared.artifact.filter.collection.ProjectTransitivityFilter;
+import org.apache.maven.shared.artifact.filter.collection.ScopeFilter;
+import org.apache.maven.shared.artifact.filter.collection.TypeFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the filters of {@link AbstractDependencyFilterMojo#getDependencySets(boolean)} over the artifacts of a
+ * synthetic repository, with every filter passing everything, with a typical mix of includes and excludes, or with
+ * several includes per filter. <code>filterChain</code> runs the <code>FilterArtifacts</code> chain the goals used
+ * before {@link CompiledArtifactsFilter}, <code>compiledFilter</code> runs the latter; run with <code>-prof gc</code>
+ * to compare their allocations.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class FilterBenchmark
+{
+    @Param( { "100", "1000", "10000" } )
+    private int artifactCount;
+
+    @Param( { "none", "mixed", "includes" } )
+    private String filters;
+
+    private SyntheticRepository repository;
+
+    private FilterMojo mojo;
+
+    @Setup
+    public void setUpRepository()
+        throws Exception
+    {
+        repository = new SyntheticRepository( artifactCount );
+
+        MavenProject project = new MavenProject();
+        project.setArtifacts( new LinkedHashSet<>( repository.getArtifacts() ) );
+        project.setDependencyArtifacts( repository.getDirectArtifacts() );
+
+        mojo = new FilterMojo();
+        mojo.setSilent( true );
+        SyntheticRepository.setField( mojo, "project", project );
+        if ( "mixed".equals( filters ) )
+        {
+            mojo.includeScope = "runtime";
+            mojo.excludeClassifiers = "tests";
+            mojo.excludeGroupIds = "org.example.group3,org.example.group7";
+            mojo.excludeArtifactIds = "artifact-42,artifact-4242";
+        }
+        else if ( "includes".equals( filters ) )
+        {
+            mojo.includeTypes = "war,jar";
+            mojo.includeGroupIds = "org.example.group1,org.example";
+            mojo.excludeArtifactIds = "artifact-42,artifact-4242";
+        }
+    }
+
+    @TearDown
+    public void deleteRepository()
+        throws Exception
+    {
+        repository.delete();
+    }
+
+    @Benchmark
+    public DependencyStatusSets getDependencySets()
+        throws MojoExecutionException
+    {
+        return mojo.getDependencySets( false );
+    }
+
+    @Benchmark
+    public Set<Artifact> filterChain()
+        throws ArtifactFilterException
+    {
+        FilterArtifacts filter = new FilterArtifacts();
+        filter.addFilter( new ProjectTransitivityFilter( mojo.getProject().getDependencyArtifacts(),
+                                                         mojo.excludeTransitive ) );
+        filter.addFilter( new ScopeFilter( DependencyUtil.cleanToBeTokenizedString( mojo.includeScope ),
+                                           DependencyUtil.cleanToBeTokenizedString( mojo.excludeScope ) ) );
+        filter.addFilter( new TypeFilter( DependencyUtil.cleanToBeTokenizedString( mojo.includeTypes ),
+                                          DependencyUtil.cleanToBeTokenizedString( mojo.excludeTypes ) ) );
+        filter.addFilter( new ClassifierFilter( DependencyUtil.cleanToBeTokenizedString( mojo.includeClassifiers ),
+                                                DependencyUtil.cleanToBeTokenizedString( mojo.excludeClassifiers ) ) );
+        filter.addFilter( new GroupIdFilter( DependencyUtil.cleanToBeTokenizedString( mojo.includeGroupIds ),
+                                             DependencyUtil.cleanToBeTokenizedString( mojo.excludeGroupIds ) ) );
+        filter.addFilter( new ArtifactIdFilter( DependencyUtil.cleanToBeTokenizedString( mojo.includeArtifactIds ),
+                                                DependencyUtil.cleanToBeTokenizedString( mojo.excludeArtifactIds ) ) );
+        return filter.filter( mojo.getProject().getArtifacts() );
+    }
+
+    @Benchmark
+    public Set<Artifact> compiledFilter()
+        throws ArtifactFilterException
+    {
+        CompiledArtifactsFilter filter =
+            new CompiledArtifactsFilter( mojo.getProject().getDependencyArtifacts(), mojo.excludeTransitive );
+        filter.setScopes( DependencyUtil.cleanToBeTokenizedString( mojo.includeScope ),
+                          DependencyUtil.cleanToBeTokenizedString( mojo.excludeScope ) );
+        filter.setTypes( DependencyUtil.cleanToBeTokenizedString( mojo.includeTypes ),
+                         DependencyUtil.cleanToBeTokenizedString( mojo.excludeTypes ) );
+        filter.setClassifiers( DependencyUtil.cleanToBeTokenizedString( mojo.includeClassifiers ),
+                               DependencyUtil.cleanToBeTokenizedString( mojo.excludeClassifiers ) );
+        filter.setGroupIds( DependencyUtil.cleanToBeTokenizedString( mojo.includeGroupIds ),
+                            DependencyUtil.cleanToBeTokenizedString( mojo.excludeGroupIds ) );
+        filter.setArtifactIds( DependencyUtil.cleanToBeTokenizedString( mojo.includeArtifactIds ),
+                               DependencyUtil.cleanToBeTokenizedString( mojo.excludeArtifactIds ) );
+        return filter.filter( mojo.getProject().getArtifacts() );
+    }
+
+    private static class FilterMojo
+        extends AbstractDependencyFilterMojo
+    {
+        @Override
+        protected void doExecute()
+        {
+            // only getDependencySets is called
+        }
+
+        @Override
+        protected ArtifactsFilter getMarkedArtifactFilter()
+        {
+            return null;
+        }
+    }
+}
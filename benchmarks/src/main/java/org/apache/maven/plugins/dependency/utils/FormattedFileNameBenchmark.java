@@ -0,0 +1,87 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugins.dependency.benchmarks.SyntheticRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Formats the file names of the artifacts of a synthetic repository with
+ * {@link DependencyUtil#getFormattedFileName(Artifact, boolean, boolean, boolean, boolean)}, as the copy and
+ * classpath goals do for every artifact.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class FormattedFileNameBenchmark
+{
+    @Param( { "100", "1000", "10000" } )
+    private int artifactCount;
+
+    @Param( { "false", "true" } )
+    private boolean stripVersion;
+
+    @Param( { "false", "true" } )
+    private boolean prependGroupId;
+
+    private SyntheticRepository repository;
+
+    @Setup
+    public void setUpRepository()
+        throws Exception
+    {
+        repository = new SyntheticRepository( artifactCount );
+    }
+
+    @TearDown
+    public void deleteRepository()
+        throws Exception
+    {
+        repository.delete();
+    }
+
+    @Benchmark
+    public void getFormattedFileName( Blackhole blackhole )
+    {
+        for ( Artifact artifact : repository.getArtifacts() )
+        {
+            blackhole.consume( DependencyUtil.getFormattedFileName( artifact, stripVersion, prependGroupId, true,
+                                                                    false ) );
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File file = new File( basedir, "build.log" );
+assert file.exists();
+
+String buildLog = file.getText( "UTF-8" );
+
+// the reports of the projects, in reactor order
+int parent = buildLog.indexOf( "Dependency analysis of org.apache.maven.its.dependency:test-parent:pom:1.0-SNAPSHOT:" );
+int module1 = buildLog.indexOf( "Dependency analysis of org.apache.maven.its.dependency:test-module1:jar:1.0-SNAPSHOT:" );
+int module2 = buildLog.indexOf( "Dependency analysis of org.apache.maven.its.dependency:test-module2:jar:1.0-SNAPSHOT:" );
+int module3 = buildLog.indexOf( "Dependency analysis of org.apache.maven.its.dependency:test-module3:pom:1.0-SNAPSHOT:" );
+assert parent >= 0;
+assert parent < module1;
+assert module1 < module2;
+assert module2 < module3;
+
+// the pom projects are skipped
+int parentSkipped = buildLog.indexOf( "Skipping pom project", parent );
+assert parentSkipped >= 0 && parentSkipped < module1;
+assert buildLog.indexOf( "Skipping pom project", module3 ) >= 0;
+
+// test-module1 uses maven-repository-metadata without declaring it, and declares maven-project without using it
+int usedUndeclared = buildLog.indexOf( "Used undeclared dependencies found:", module1 );
+assert usedUndeclared >= 0 && usedUndeclared < module2;
+int metadata = buildLog.indexOf( "org.apache.maven:maven-repository-metadata:jar:2.0.6:compile", usedUndeclared );
+assert metadata >= 0 && metadata < module2;
+int unusedDeclared = buildLog.indexOf( "Unused declared dependencies found:", module1 );
+assert unusedDeclared >= 0 && unusedDeclared < module2;
+int project = buildLog.indexOf( "org.apache.maven:maven-project:jar:2.0.6:compile", unusedDeclared );
+assert project >= 0 && project < module2;
+
+int module2Clean = buildLog.indexOf( "No dependency problems found", module2 );
+assert module2Clean >= 0 && module2Clean < module3;
+
+// the second invocation, with failOnWarning
+assert buildLog.indexOf( "Dependency problems found", module3 ) >= 0;
+
+return true;
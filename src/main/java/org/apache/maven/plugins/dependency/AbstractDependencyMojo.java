@@ -22,6 +22,11 @@ package org.apache.maven.plugins.dependency;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.maven.artifact.Artifact;
@@ -33,6 +38,8 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.dependency.utils.DependencySilentLog;
+import org.apache.maven.plugins.dependency.utils.SelectiveZipExtractor;
+import org.apache.maven.plugins.dependency.utils.UnArchiverCache;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
@@ -42,6 +49,7 @@ import org.codehaus.plexus.archiver.manager.ArchiverManager;
 import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
 import org.codehaus.plexus.archiver.zip.ZipUnArchiver;
 import org.codehaus.plexus.components.io.filemappers.FileMapper;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
 import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelector;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.ReflectionUtils;
@@ -53,12 +61,23 @@ import org.codehaus.plexus.util.StringUtils;
 public abstract class AbstractDependencyMojo
     extends AbstractMojo
 {
+    private static final String COPY_STRATEGY_COPY = "copy";
+
+    private static final String COPY_STRATEGY_TRANSFER = "transfer";
+
+    private static final String COPY_STRATEGY_HARDLINK = "hardlink";
+
     /**
      * To look up Archiver/UnArchiver implementations
      */
     @Component
     private ArchiverManager archiverManager;
 
+    /**
+     * The unarchivers looked up during this execution.
+     */
+    private UnArchiverCache unArchiverCache;
+
     /**
      * <p>
      * will use the jvm chmod, this is available for user and all level group level will be ignored
@@ -78,6 +97,22 @@ public abstract class AbstractDependencyMojo
     @Parameter( property = "dependency.ignorePermissions", defaultValue = "false" )
     private boolean ignorePermissions;
 
+    /**
+     * How artifacts are copied to their destination:
+     * <ul>
+     * <li><code>copy</code> (default) copies the content of the file,</li>
+     * <li><code>transfer</code> lets the operating system transfer the content between the files through
+     * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},</li>
+     * <li><code>hardlink</code> creates a hard link to the file in the local repository, and falls back to a copy
+     * when that is not possible, for instance when the destination is on another file system. The linked files share
+     * their content with the local repository and must not be modified in place.</li>
+     * </ul>
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.copyStrategy", defaultValue = COPY_STRATEGY_COPY )
+    private String copyStrategy = COPY_STRATEGY_COPY;
+
     /**
      * POM
      */
@@ -168,13 +203,38 @@ public abstract class AbstractDependencyMojo
      */
     protected void copyFile( File artifact, File destFile )
         throws MojoExecutionException
+    {
+        logCopy( artifact, destFile );
+
+        doCopyFile( artifact, destFile );
+    }
+
+    /**
+     * Logs the copy of a file, without copying it.
+     *
+     * @param artifact represents the file to copy.
+     * @param destFile file name of destination file.
+     */
+    protected void logCopy( File artifact, File destFile )
+    {
+        getLog().info( "Copying "
+            + ( this.outputAbsoluteArtifactFilename ? artifact.getAbsolutePath() : artifact.getName() ) + " to "
+            + destFile );
+    }
+
+    /**
+     * Does the actual copy of the file, without logging. This method does not use the mojo state and can be called
+     * from worker threads.
+     *
+     * @param artifact represents the file to copy.
+     * @param destFile file name of destination file.
+     * @throws MojoExecutionException with a message if an error occurs.
+     */
+    protected void doCopyFile( File artifact, File destFile )
+        throws MojoExecutionException
     {
         try
         {
-            getLog().info( "Copying "
-                + ( this.outputAbsoluteArtifactFilename ? artifact.getAbsolutePath() : artifact.getName() ) + " to "
-                + destFile );
-
             if ( artifact.isDirectory() )
             {
                 // usual case is a future jar packaging, but there are special cases: classifier and other packaging
@@ -182,7 +242,41 @@ public abstract class AbstractDependencyMojo
                     + "copy should be executed after packaging: see MDEP-187." );
             }
 
-            FileUtils.copyFile( artifact, destFile );
+            if ( !COPY_STRATEGY_COPY.equals( copyStrategy ) && !COPY_STRATEGY_TRANSFER.equals( copyStrategy )
+                && !COPY_STRATEGY_HARDLINK.equals( copyStrategy ) )
+            {
+                throw new MojoExecutionException( "Unknown copy strategy '" + copyStrategy + "', use one of "
+                    + COPY_STRATEGY_COPY + ", " + COPY_STRATEGY_TRANSFER + " or " + COPY_STRATEGY_HARDLINK + "." );
+            }
+
+            Path source = artifact.toPath();
+            Path target = destFile.toPath();
+            if ( Files.exists( target ) && Files.isSameFile( source, target ) )
+            {
+                if ( COPY_STRATEGY_HARDLINK.equals( copyStrategy )
+                    || artifact.getCanonicalPath().equals( destFile.getCanonicalPath() ) )
+                {
+                    return;
+                }
+                // a link left by a hardlink run: writing through it would truncate the source before reading it
+                Files.delete( target );
+            }
+
+            if ( COPY_STRATEGY_TRANSFER.equals( copyStrategy ) )
+            {
+                transferFile( artifact, destFile );
+            }
+            else if ( COPY_STRATEGY_HARDLINK.equals( copyStrategy ) )
+            {
+                if ( !linkFile( artifact, destFile ) )
+                {
+                    FileUtils.copyFile( artifact, destFile );
+                }
+            }
+            else
+            {
+                FileUtils.copyFile( artifact, destFile );
+            }
         }
         catch ( IOException e )
         {
@@ -190,6 +284,45 @@ public abstract class AbstractDependencyMojo
         }
     }
 
+    private static void transferFile( File source, File destFile )
+        throws IOException
+    {
+        Files.createDirectories( destFile.toPath().getParent() );
+        try ( FileChannel in = FileChannel.open( source.toPath(), StandardOpenOption.READ );
+              FileChannel out = FileChannel.open( destFile.toPath(), StandardOpenOption.WRITE,
+                                                  StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING ) )
+        {
+            long size = in.size();
+            long position = 0;
+            while ( position < size )
+            {
+                position += in.transferTo( position, size - position, out );
+            }
+        }
+
+        // like FileUtils.copyFile, so overWriteIfNewer sees the same timestamps
+        Files.setLastModifiedTime( destFile.toPath(), Files.getLastModifiedTime( source.toPath() ) );
+    }
+
+    private boolean linkFile( File source, File destFile )
+        throws IOException
+    {
+        Path target = destFile.toPath();
+        Files.createDirectories( target.getParent() );
+        Files.deleteIfExists( target );
+
+        try
+        {
+            Files.createLink( target, source.toPath() );
+            return true;
+        }
+        catch ( IOException | UnsupportedOperationException e )
+        {
+            getLog().debug( "Unable to link " + destFile + " to " + source + ", copying it: " + e );
+            return false;
+        }
+    }
+
     /**
      * @param artifact {@link Artifact}
      * @param location The location.
@@ -239,11 +372,32 @@ public abstract class AbstractDependencyMojo
                            String encoding, FileMapper[] fileMappers )
         throws MojoExecutionException
     {
-        File file = artifact.getFile();
+        logUnpack( artifact.getFile(), location, includes, excludes );
+
+        doUnpack( artifact.getFile(), type, location, includes, excludes, encoding, fileMappers, null );
+    }
+
+    /**
+     * Does the actual unpacking of the archive file, without logging it. This method can be called from worker
+     * threads.
+     *
+     * @param file the archive file.
+     * @param type The type.
+     * @param location The location.
+     * @param includes includes list.
+     * @param excludes excludes list.
+     * @param encoding the encoding.
+     * @param fileMappers {@link FileMapper}s to be used for rewriting each target path, or {@code null} if no rewriting
+     *                    shall happen.
+     * @param selector an additional {@link FileSelector} the entries must pass, or {@code null}.
+     * @throws MojoExecutionException in case of an error.
+     */
+    protected void doUnpack( File file, String type, File location, String includes, String excludes,
+                             String encoding, FileMapper[] fileMappers, FileSelector selector )
+        throws MojoExecutionException
+    {
         try
         {
-            logUnpack( file, location, includes, excludes );
-
             location.mkdirs();
             if ( !location.exists() )
             {
@@ -258,18 +412,9 @@ public abstract class AbstractDependencyMojo
                     + "unpack should be executed after packaging: see MDEP-98." );
             }
 
-            UnArchiver unArchiver;
-
-            try
-            {
-                unArchiver = archiverManager.getUnArchiver( type );
-                getLog().debug( "Found unArchiver by type: " + unArchiver );
-            }
-            catch ( NoSuchArchiverException e )
-            {
-                unArchiver = archiverManager.getUnArchiver( file );
-                getLog().debug( "Found unArchiver by extension: " + unArchiver );
-            }
+            UnArchiverCache cache = getUnArchiverCache();
+            UnArchiver unArchiver = cache.acquire( type, file, encoding );
+            getLog().debug( "Found unArchiver: " + unArchiver );
 
             if ( encoding != null && unArchiver instanceof ZipUnArchiver )
             {
@@ -277,52 +422,90 @@ public abstract class AbstractDependencyMojo
                 getLog().info( "Unpacks '" + type + "' with encoding '" + encoding + "'." );
             }
 
-            unArchiver.setIgnorePermissions( ignorePermissions );
-
-            unArchiver.setSourceFile( file );
-
-            unArchiver.setDestDirectory( location );
-
-            if ( StringUtils.isNotEmpty( excludes ) || StringUtils.isNotEmpty( includes ) )
+            List<FileSelector> selectors = new ArrayList<>();
+            boolean includeExclude = StringUtils.isNotEmpty( excludes ) || StringUtils.isNotEmpty( includes );
+            if ( includeExclude )
             {
                 // Create the selectors that will filter
                 // based on include/exclude parameters
                 // MDEP-47
-                IncludeExcludeFileSelector[] selectors =
-                    new IncludeExcludeFileSelector[] { new IncludeExcludeFileSelector() };
+                IncludeExcludeFileSelector includeExcludeSelector = new IncludeExcludeFileSelector();
 
                 if ( StringUtils.isNotEmpty( excludes ) )
                 {
-                    selectors[0].setExcludes( excludes.split( "," ) );
+                    includeExcludeSelector.setExcludes( excludes.split( "," ) );
                 }
 
                 if ( StringUtils.isNotEmpty( includes ) )
                 {
-                    selectors[0].setIncludes( includes.split( "," ) );
+                    includeExcludeSelector.setIncludes( includes.split( "," ) );
                 }
 
-                unArchiver.setFileSelectors( selectors );
+                selectors.add( includeExcludeSelector );
             }
-            if ( this.silent )
+            if ( selector != null )
+            {
+                selectors.add( selector );
+            }
+            FileSelector[] fileSelectors =
+                selectors.isEmpty() ? null : selectors.toArray( new FileSelector[selectors.size()] );
+
+            // only a few entries are usually selected, read them straight from the central directory
+            if ( includeExclude && unArchiver instanceof ZipUnArchiver
+                && ( fileMappers == null || fileMappers.length == 0 )
+                && SelectiveZipExtractor.extract( file, location, encoding, fileSelectors, ignorePermissions ) )
             {
-                silenceUnarchiver( unArchiver );
+                cache.release( unArchiver );
+                return;
             }
 
+            unArchiver.setIgnorePermissions( ignorePermissions );
+
+            unArchiver.setSourceFile( file );
+
+            unArchiver.setDestDirectory( location );
+
+            // always set, a reused unarchiver may have selectors from its previous archive
+            unArchiver.setFileSelectors( fileSelectors );
+
             unArchiver.setFileMappers( fileMappers );
 
             unArchiver.extract();
+            cache.release( unArchiver );
         }
         catch ( NoSuchArchiverException e )
         {
             throw new MojoExecutionException( "Unknown archiver type", e );
         }
-        catch ( ArchiverException e )
+        catch ( ArchiverException | IOException e )
         {
             throw new MojoExecutionException( "Error unpacking file: " + file + " to: " + location
                 + System.lineSeparator() + e.toString(), e );
         }
     }
 
+    private synchronized UnArchiverCache getUnArchiverCache()
+    {
+        if ( unArchiverCache == null )
+        {
+            unArchiverCache = new UnArchiverCache( archiverManager )
+            {
+                @Override
+                protected UnArchiver lookup( String name )
+                    throws NoSuchArchiverException
+                {
+                    UnArchiver unArchiver = super.lookup( name );
+                    if ( silent )
+                    {
+                        silenceUnarchiver( unArchiver );
+                    }
+                    return unArchiver;
+                }
+            };
+        }
+        return unArchiverCache;
+    }
+
     private void silenceUnarchiver( UnArchiver unArchiver )
     {
         // dangerous but handle any errors. It's the only way to silence the unArchiver.
@@ -368,6 +551,7 @@ public abstract class AbstractDependencyMojo
     public void setArchiverManager( ArchiverManager archiverManager )
     {
         this.archiverManager = archiverManager;
+        this.unArchiverCache = null;
     }
 
     /**
@@ -386,6 +570,22 @@ public abstract class AbstractDependencyMojo
         this.useJvmChmod = useJvmChmod;
     }
 
+    /**
+     * @return {@link #copyStrategy}
+     */
+    public String getCopyStrategy()
+    {
+        return copyStrategy;
+    }
+
+    /**
+     * @param copyStrategy {@link #copyStrategy}
+     */
+    public void setCopyStrategy( String copyStrategy )
+    {
+        this.copyStrategy = copyStrategy;
+    }
+
     /**
      * @return {@link #skip}
      */
@@ -420,9 +620,19 @@ public abstract class AbstractDependencyMojo
         {
             setLog( new DependencySilentLog() );
         }
+        // the cached unarchivers log to the previous log
+        this.unArchiverCache = null;
     }
 
-    private void logUnpack( File file, File location, String includes, String excludes )
+    /**
+     * Logs the unpacking of an archive file, without unpacking it.
+     *
+     * @param file the archive file.
+     * @param location Location where to put the unpacked files.
+     * @param includes includes list.
+     * @param excludes excludes list.
+     */
+    protected void logUnpack( File file, File location, String includes, String excludes )
     {
         if ( !getLog().isInfoEnabled() )
         {
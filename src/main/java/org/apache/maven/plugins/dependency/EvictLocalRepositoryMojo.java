@@ -0,0 +1,408 @@
+package org.apache.maven.plugins.dependency;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.dependency.utils.LocalRepositoryPoms;
+import org.apache.maven.plugins.dependency.utils.LocalRepositoryPurger;
+import org.apache.maven.plugins.dependency.utils.LocalRepositoryUsageScanner;
+import org.apache.maven.plugins.dependency.utils.LocalRepositoryUsageScanner.VersionDirectory;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
+import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
+import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolverException;
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * Evicts the least recently used artifact versions from the local repository, to keep it under a size budget or to
+ * remove the versions not used for a while. The artifact versions the projects of the reactor depend on are never
+ * evicted, with the dependencies of their build plugins and of the running plugin, and the parents and imported BOMs
+ * of the POMs of all those versions as found in the local repository. The dependencies of the report plugins and of
+ * the extensions are not protected. The last use of a version is the last access or modification time of its files,
+ * <code>_remote.repositories</code> included.
+ *
+ * @since 3.1.3
+ */
+@Mojo( name = "evict-local-repository", aggregator = true, threadSafe = true, requiresProject = false,
+       requiresDependencyResolution = ResolutionScope.TEST )
+public class EvictLocalRepositoryMojo
+    extends AbstractMojo
+{
+    private static final Comparator<VersionDirectory> LEAST_RECENTLY_USED = new Comparator<VersionDirectory>()
+    {
+        @Override
+        public int compare( VersionDirectory v1, VersionDirectory v2 )
+        {
+            int result = Long.compare( v1.getLastUsed(), v2.getLastUsed() );
+            return result != 0 ? result : v1.getDirectory().compareTo( v2.getDirectory() );
+        }
+    };
+
+    /**
+     * The projects of the reactor, whose artifact versions are never evicted.
+     */
+    @Parameter( defaultValue = "${reactorProjects}", readonly = true, required = true )
+    private List<MavenProject> reactorProjects;
+
+    @Parameter( defaultValue = "${localRepository}", readonly = true, required = true )
+    private ArtifactRepository localRepository;
+
+    @Parameter( defaultValue = "${session}", readonly = true, required = true )
+    private MavenSession session;
+
+    /**
+     * The artifacts of this plugin and of its dependencies, which are never evicted.
+     */
+    @Parameter( defaultValue = "${plugin.artifacts}", readonly = true )
+    private List<Artifact> pluginArtifacts;
+
+    @Component
+    private DependencyResolver dependencyResolver;
+
+    /**
+     * The maximum size of the artifact versions of the local repository, in bytes or with a <code>k</code>,
+     * <code>m</code>, <code>g</code> or <code>t</code> suffix such as <code>20g</code>. The least recently used
+     * versions are evicted until the repository fits.
+     */
+    @Parameter( property = "mdep.evict.maxSize" )
+    private String maxSize;
+
+    /**
+     * The number of days after which an artifact version not used since is evicted. A value of zero or less evicts no
+     * version on its age.
+     */
+    @Parameter( property = "mdep.evict.maxAge", defaultValue = "0" )
+    private int maxAge;
+
+    /**
+     * Only report the artifact versions that would be evicted and the space that would be reclaimed.
+     */
+    @Parameter( property = "mdep.evict.dryRun", defaultValue = "false" )
+    private boolean dryRun;
+
+    /**
+     * The number of threads used to index the local repository and to delete the evicted versions. A value of zero or
+     * less means one thread per available processor.
+     */
+    @Parameter( property = "mdep.evict.threads", defaultValue = "0" )
+    private int threads;
+
+    /**
+     * Skip plugin execution completely.
+     */
+    @Parameter( property = "mdep.evict.skip", defaultValue = "false" )
+    private boolean skip;
+
+    @Override
+    public void execute()
+        throws MojoExecutionException, MojoFailureException
+    {
+        if ( isSkip() )
+        {
+            getLog().info( "Skipping plugin execution" );
+            return;
+        }
+
+        long budget = StringUtils.isEmpty( maxSize ) ? -1 : parseSize( maxSize );
+        if ( budget < 0 && maxAge <= 0 )
+        {
+            getLog().info( "Neither maxSize nor maxAge is set, nothing to evict" );
+            return;
+        }
+
+        File basedir = new File( localRepository.getBasedir() );
+        List<VersionDirectory> versions;
+        try
+        {
+            versions = new LocalRepositoryUsageScanner( threads ).scan( basedir );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Unable to index the local repository: " + basedir, e );
+        }
+
+        long total = 0;
+        for ( VersionDirectory version : versions )
+        {
+            total += version.getSize();
+        }
+        getLog().info( "Indexed " + versions.size() + " artifact versions using " + formatSize( total ) + " in "
+            + basedir );
+
+        List<VersionDirectory> evicted = selectEvicted( versions, total, budget );
+        long reclaimed = 0;
+        List<File> directories = new ArrayList<>( evicted.size() );
+        SimpleDateFormat dateFormat = new SimpleDateFormat( "yyyy-MM-dd HH:mm", Locale.ROOT );
+        for ( VersionDirectory version : evicted )
+        {
+            reclaimed += version.getSize();
+            directories.add( version.getDirectory() );
+            String message = version.getDirectory() + " (" + formatSize( version.getSize() ) + ", last used "
+                + dateFormat.format( new Date( version.getLastUsed() ) ) + ")";
+            if ( dryRun )
+            {
+                getLog().info( "Would evict " + message );
+            }
+            else
+            {
+                getLog().debug( "Evicting " + message );
+            }
+        }
+
+        getLog().info( ( dryRun ? "Would evict " : "Evicting " ) + evicted.size() + " artifact versions, reclaiming "
+            + formatSize( reclaimed ) + " of " + formatSize( total ) );
+        if ( budget >= 0 && total - reclaimed > budget )
+        {
+            getLog().warn( "The local repository would still use " + formatSize( total - reclaimed )
+                + ", the remaining artifact versions are referenced by the reactor" );
+        }
+
+        if ( !dryRun )
+        {
+            LocalRepositoryPurger.Result result = new LocalRepositoryPurger( threads ).purge( directories );
+            for ( Map.Entry<File, IOException> failure : result.getFailures().entrySet() )
+            {
+                getLog().warn( "Unable to evict local repository location: " + failure.getKey(), failure.getValue() );
+            }
+        }
+    }
+
+    /**
+     * @param versions the artifact versions of the local repository.
+     * @param total the total size of the versions.
+     * @param budget the maximum size of the versions, or a negative value for no maximum.
+     * @return the versions to evict, least recently used first.
+     */
+    private List<VersionDirectory> selectEvicted( List<VersionDirectory> versions, long total, long budget )
+    {
+        Set<File> protectedDirectories = getReactorDirectories();
+
+        List<VersionDirectory> candidates = new ArrayList<>( versions.size() );
+        for ( VersionDirectory version : versions )
+        {
+            if ( !protectedDirectories.contains( version.getDirectory().getAbsoluteFile() ) )
+            {
+                candidates.add( version );
+            }
+        }
+        Collections.sort( candidates, LEAST_RECENTLY_USED );
+
+        long maxLastUsed = maxAge > 0 ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis( maxAge ) : Long.MIN_VALUE;
+        long remaining = total;
+        List<VersionDirectory> evicted = new ArrayList<>();
+        for ( VersionDirectory candidate : candidates )
+        {
+            // the candidates are sorted by last use, so once one is kept all the next ones are
+            if ( candidate.getLastUsed() >= maxLastUsed && ( budget < 0 || remaining <= budget ) )
+            {
+                break;
+            }
+            evicted.add( candidate );
+            remaining -= candidate.getSize();
+        }
+        return evicted;
+    }
+
+    /**
+     * @return the version directories of the artifacts, plugins and parents of the projects of the reactor, of the
+     *         dependencies of their build plugins and of this plugin, and of the parents and imported BOMs of those.
+     */
+    private Set<File> getReactorDirectories()
+    {
+        Set<File> directories = new HashSet<>();
+        for ( MavenProject project : reactorProjects )
+        {
+            addDirectories( directories, project.getArtifacts() );
+            addDirectories( directories, project.getPluginArtifacts() );
+            for ( MavenProject current = project; current != null; current = current.getParent() )
+            {
+                addDirectory( directories, current.getArtifact() );
+            }
+            addPluginDirectories( directories, project );
+        }
+        if ( pluginArtifacts != null )
+        {
+            for ( Artifact artifact : pluginArtifacts )
+            {
+                addDirectory( directories, artifact );
+            }
+        }
+        new LocalRepositoryPoms( new File( localRepository.getBasedir() ) ).addReferencedDirectories( directories );
+        return directories;
+    }
+
+    /**
+     * Adds the version directories of the dependencies of the build plugins of a project, resolved with the
+     * dependencies the project adds to each plugin.
+     */
+    private void addPluginDirectories( Set<File> directories, MavenProject project )
+    {
+        List<Plugin> plugins = project.getBuildPlugins();
+        if ( plugins == null || plugins.isEmpty() || session == null )
+        {
+            return;
+        }
+
+        ProjectBuildingRequest buildingRequest =
+            new DefaultProjectBuildingRequest( session.getProjectBuildingRequest() );
+        buildingRequest.setRemoteRepositories( project.getPluginArtifactRepositories() );
+        for ( Plugin plugin : plugins )
+        {
+            if ( plugin.getVersion() == null )
+            {
+                continue;
+            }
+
+            List<Dependency> dependencies = new ArrayList<>();
+            Dependency pluginDependency = new Dependency();
+            pluginDependency.setGroupId( plugin.getGroupId() );
+            pluginDependency.setArtifactId( plugin.getArtifactId() );
+            pluginDependency.setVersion( plugin.getVersion() );
+            dependencies.add( pluginDependency );
+            dependencies.addAll( plugin.getDependencies() );
+            try
+            {
+                for ( ArtifactResult result : dependencyResolver.resolveDependencies( buildingRequest, dependencies,
+                                                                                      null, null ) )
+                {
+                    addDirectory( directories, result.getArtifact() );
+                }
+            }
+            catch ( DependencyResolverException e )
+            {
+                getLog().warn( "Unable to resolve the dependencies of plugin " + plugin.getKey() + ":"
+                    + plugin.getVersion() + ", they are not protected from eviction: " + e.getMessage() );
+            }
+        }
+    }
+
+    private void addDirectories( Set<File> directories, Set<Artifact> artifacts )
+    {
+        if ( artifacts != null )
+        {
+            for ( Artifact artifact : artifacts )
+            {
+                addDirectory( directories, artifact );
+            }
+        }
+    }
+
+    private void addDirectory( Set<File> directories, Artifact artifact )
+    {
+        if ( artifact != null )
+        {
+            File file = new File( localRepository.getBasedir(), localRepository.pathOf( artifact ) );
+            directories.add( file.getAbsoluteFile().getParentFile() );
+        }
+    }
+
+    /**
+     * @param size a size in bytes, or with a <code>k</code>, <code>m</code>, <code>g</code> or <code>t</code> suffix.
+     * @return the size in bytes.
+     * @throws MojoExecutionException if the size cannot be parsed.
+     */
+    static long parseSize( String size )
+        throws MojoExecutionException
+    {
+        String value = size.trim().toLowerCase( Locale.ROOT );
+        int shift = 0;
+        int suffix = "kmgt".indexOf( value.isEmpty() ? ' ' : value.charAt( value.length() - 1 ) );
+        if ( suffix >= 0 )
+        {
+            shift = 10 * ( suffix + 1 );
+            value = value.substring( 0, value.length() - 1 ).trim();
+        }
+        try
+        {
+            long bytes = Long.parseLong( value );
+            if ( bytes < 0 || bytes > Long.MAX_VALUE >> shift )
+            {
+                throw new NumberFormatException();
+            }
+            return bytes << shift;
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new MojoExecutionException( "Invalid maxSize: " + size );
+        }
+    }
+
+    /**
+     * @param bytes a size in bytes.
+     * @return the size in the largest unit it has at least one of.
+     */
+    static String formatSize( long bytes )
+    {
+        String[] units = { "KB", "MB", "GB", "TB" };
+        if ( bytes < 1024 )
+        {
+            return bytes + " B";
+        }
+        int unit = 0;
+        while ( unit < units.length - 1 && bytes >= 1024L << ( 10 * ( unit + 1 ) ) )
+        {
+            unit++;
+        }
+        return String.format( Locale.ROOT, "%.1f %s", bytes / (double) ( 1024L << ( 10 * unit ) ), units[unit] );
+    }
+
+    /**
+     * @return {@link #skip}
+     */
+    public boolean isSkip()
+    {
+        return skip;
+    }
+
+    /**
+     * @param skip {@link #skip}
+     */
+    public void setSkip( boolean skip )
+    {
+        this.skip = skip;
+    }
+}
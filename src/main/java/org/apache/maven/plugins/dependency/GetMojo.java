@@ -19,9 +19,17 @@ package org.apache.maven.plugins.dependency;
  * under the License.
  */
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,6 +46,7 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.dependency.utils.ParallelExecutor;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.repository.RepositorySystem;
@@ -55,6 +64,10 @@ import org.codehaus.plexus.util.StringUtils;
 /**
  * Resolves a single artifact, eventually transitively, from the specified remote repositories. Caveat: will always
  * check the central repository defined in the super pom. You could use a mirror entry in your <code>settings.xml</code>
+ * <p>
+ * Several artifacts can also be resolved concurrently as one batch, given by {@link #artifacts} or
+ * {@link #artifactsFile}, with the status of each of them written to {@link #statusFile}.
+ * </p>
  */
 @Mojo( name = "get", requiresProject = false, threadSafe = true )
 public class GetMojo
@@ -159,6 +172,43 @@ public class GetMojo
     @Parameter( property = "mdep.skip", defaultValue = "false" )
     private boolean skip;
 
+    /**
+     * Artifacts to resolve as one batch, separated by comma, each of the form
+     * groupId:artifactId:version[:packaging[:classifier]]. The artifact given by {@link #artifact} or by the
+     * groupId, artifactId and version parameters is added to the batch.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "artifacts" )
+    private String artifacts;
+
+    /**
+     * A file listing artifacts to resolve as one batch, one groupId:artifactId:version[:packaging[:classifier]] per
+     * line. Blank lines and lines starting with <code>#</code> are ignored.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "artifactsFile" )
+    private File artifactsFile;
+
+    /**
+     * The file where the status of each artifact of a batch is written, one line per artifact with the artifact, the
+     * status <code>RESOLVED</code> or <code>FAILED</code> and the failure message, separated by tabs.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.get.statusFile" )
+    private File statusFile;
+
+    /**
+     * The number of threads used to resolve the artifacts of a batch. A value of zero or less means one thread per
+     * available processor.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.get.threads", defaultValue = "0" )
+    private int threads;
+
     @Override
     public void execute()
         throws MojoExecutionException, MojoFailureException
@@ -169,30 +219,15 @@ public class GetMojo
             return;
         }
 
-        if ( coordinate.getArtifactId() == null && artifact == null )
+        boolean batch = artifacts != null || artifactsFile != null;
+        if ( coordinate.getArtifactId() == null && artifact == null && !batch )
         {
             throw new MojoFailureException( "You must specify an artifact, "
                 + "e.g. -Dartifact=org.apache.maven.plugins:maven-downloader-plugin:1.0" );
         }
         if ( artifact != null )
         {
-            String[] tokens = StringUtils.split( artifact, ":" );
-            if ( tokens.length < 3 || tokens.length > 5 )
-            {
-                throw new MojoFailureException( "Invalid artifact, you must specify "
-                    + "groupId:artifactId:version[:packaging[:classifier]] " + artifact );
-            }
-            coordinate.setGroupId( tokens[0] );
-            coordinate.setArtifactId( tokens[1] );
-            coordinate.setVersion( tokens[2] );
-            if ( tokens.length >= 4 )
-            {
-                coordinate.setType( tokens[3] );
-            }
-            if ( tokens.length == 5 )
-            {
-                coordinate.setClassifier( tokens[4] );
-            }
+            parseArtifact( artifact, coordinate );
         }
 
         ArtifactRepositoryPolicy always =
@@ -228,15 +263,14 @@ public class GetMojo
 
             buildingRequest.setRemoteRepositories( repoList );
 
-            if ( transitive )
+            if ( batch )
             {
-                getLog().info( "Resolving " + coordinate + " with transitive dependencies" );
-                dependencyResolver.resolveDependencies( buildingRequest, coordinate, null );
+                resolveBatch( buildingRequest );
             }
             else
             {
-                getLog().info( "Resolving " + coordinate );
-                artifactResolver.resolveArtifact( buildingRequest, toArtifactCoordinate( coordinate ) );
+                getLog().info( "Resolving " + coordinate + ( transitive ? " with transitive dependencies" : "" ) );
+                resolve( buildingRequest, coordinate );
             }
         }
         catch ( ArtifactResolverException | DependencyResolverException e )
@@ -245,6 +279,178 @@ public class GetMojo
         }
     }
 
+    private void resolve( ProjectBuildingRequest buildingRequest, DependableCoordinate dependableCoordinate )
+        throws ArtifactResolverException, DependencyResolverException
+    {
+        if ( transitive )
+        {
+            dependencyResolver.resolveDependencies( buildingRequest, dependableCoordinate, null );
+        }
+        else
+        {
+            artifactResolver.resolveArtifact( buildingRequest, toArtifactCoordinate( dependableCoordinate ) );
+        }
+    }
+
+    /**
+     * Resolves the artifacts of the batch concurrently in this session, then logs and writes their status in the
+     * order they were given.
+     *
+     * @param buildingRequest the request to resolve the artifacts with.
+     * @throws MojoExecutionException if an artifact could not be resolved, or the status file could not be written.
+     * @throws MojoFailureException if an artifact is invalid.
+     */
+    private void resolveBatch( final ProjectBuildingRequest buildingRequest )
+        throws MojoExecutionException, MojoFailureException
+    {
+        Map<String, DependableCoordinate> coordinates = getBatchCoordinates();
+        getLog().info( "Resolving " + coordinates.size() + ( coordinates.size() != 1 ? " artifacts" : " artifact" )
+            + ( transitive ? " with transitive dependencies" : "" ) );
+
+        List<String> statuses = new ArrayList<>( coordinates.size() );
+        int failures = 0;
+        try ( ParallelExecutor executor = new ParallelExecutor( threads, "mdep-get" ) )
+        {
+            Map<String, Future<Void>> resolutions = new LinkedHashMap<>();
+            for ( Map.Entry<String, DependableCoordinate> entry : coordinates.entrySet() )
+            {
+                final DependableCoordinate dependableCoordinate = entry.getValue();
+                resolutions.put( entry.getKey(), executor.submit( new Callable<Void>()
+                {
+                    @Override
+                    public Void call()
+                        throws ArtifactResolverException, DependencyResolverException
+                    {
+                        resolve( buildingRequest, dependableCoordinate );
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Map.Entry<String, Future<Void>> resolution : resolutions.entrySet() )
+            {
+                try
+                {
+                    ParallelExecutor.await( resolution.getValue() );
+                    statuses.add( resolution.getKey() + "\tRESOLVED\t" );
+                }
+                catch ( MojoExecutionException e )
+                {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    getLog().error( "Couldn't download artifact " + resolution.getKey() + ": " + cause.getMessage() );
+                    statuses.add( resolution.getKey() + "\tFAILED\t"
+                        + String.valueOf( cause.getMessage() ).replaceAll( "\\s+", " " ) );
+                    failures++;
+                }
+            }
+        }
+
+        if ( statusFile != null )
+        {
+            writeStatusFile( statuses );
+        }
+        if ( failures > 0 )
+        {
+            throw new MojoExecutionException( "Couldn't download " + failures + " of " + coordinates.size()
+                + " artifacts" );
+        }
+    }
+
+    /**
+     * @return the artifacts of the batch, keyed by the string they were given with, in the order they were given.
+     * @throws MojoFailureException if an artifact is invalid or the artifacts file cannot be read.
+     */
+    private Map<String, DependableCoordinate> getBatchCoordinates()
+        throws MojoFailureException
+    {
+        List<String> specs = new ArrayList<>();
+        if ( artifact != null )
+        {
+            specs.add( artifact );
+        }
+        else if ( coordinate.getArtifactId() != null )
+        {
+            String type = coordinate.getType() != null ? coordinate.getType() : "jar";
+            String classifierSuffix = coordinate.getClassifier() != null ? ":" + coordinate.getClassifier() : "";
+            specs.add( coordinate.getGroupId() + ":" + coordinate.getArtifactId() + ":" + coordinate.getVersion() + ":"
+                + type + classifierSuffix );
+        }
+        if ( artifacts != null )
+        {
+            specs.addAll( Arrays.asList( StringUtils.split( artifacts, "," ) ) );
+        }
+        if ( artifactsFile != null )
+        {
+            try
+            {
+                for ( String line : Files.readAllLines( artifactsFile.toPath(), StandardCharsets.UTF_8 ) )
+                {
+                    if ( !line.trim().isEmpty() && !line.trim().startsWith( "#" ) )
+                    {
+                        specs.add( line );
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                throw new MojoFailureException( "Unable to read the artifacts file: " + artifactsFile, e );
+            }
+        }
+
+        Map<String, DependableCoordinate> coordinates = new LinkedHashMap<>();
+        for ( String spec : specs )
+        {
+            String key = spec.trim();
+            if ( !coordinates.containsKey( key ) )
+            {
+                DefaultDependableCoordinate batchCoordinate = new DefaultDependableCoordinate();
+                batchCoordinate.setType( "jar" );
+                parseArtifact( key, batchCoordinate );
+                coordinates.put( key, batchCoordinate );
+            }
+        }
+        return coordinates;
+    }
+
+    private void writeStatusFile( List<String> statuses )
+        throws MojoExecutionException
+    {
+        try
+        {
+            if ( statusFile.getParentFile() != null )
+            {
+                statusFile.getParentFile().mkdirs();
+            }
+            Files.write( statusFile.toPath(), statuses, StandardCharsets.UTF_8 );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Unable to write the status file: " + statusFile, e );
+        }
+    }
+
+    private static void parseArtifact( String spec, DefaultDependableCoordinate target )
+        throws MojoFailureException
+    {
+        String[] tokens = StringUtils.split( spec, ":" );
+        if ( tokens.length < 3 || tokens.length > 5 )
+        {
+            throw new MojoFailureException( "Invalid artifact, you must specify "
+                + "groupId:artifactId:version[:packaging[:classifier]] " + spec );
+        }
+        target.setGroupId( tokens[0] );
+        target.setArtifactId( tokens[1] );
+        target.setVersion( tokens[2] );
+        if ( tokens.length >= 4 )
+        {
+            target.setType( tokens[3] );
+        }
+        if ( tokens.length == 5 )
+        {
+            target.setClassifier( tokens[4] );
+        }
+    }
+
     private ArtifactCoordinate toArtifactCoordinate( DependableCoordinate dependableCoordinate )
     {
         ArtifactHandler artifactHandler = artifactHandlerManager.getArtifactHandler( dependableCoordinate.getType() );
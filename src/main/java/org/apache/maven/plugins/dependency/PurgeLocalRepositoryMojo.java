@@ -24,9 +24,15 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
@@ -44,6 +50,9 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.dependency.utils.LocalRepositoryPurger;
+import org.apache.maven.plugins.dependency.utils.LocalRepositorySnapshotScanner;
+import org.apache.maven.plugins.dependency.utils.ParallelExecutor;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
 import org.apache.maven.shared.artifact.filter.resolve.AndFilter;
@@ -62,7 +71,6 @@ import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
 import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolverException;
 import org.apache.maven.shared.utils.logging.MessageBuilder;
 import org.apache.maven.shared.utils.logging.MessageUtils;
-import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 
 /**
@@ -83,6 +91,12 @@ public class PurgeLocalRepositoryMojo
 
     private static final String GROUP_ID_FUZZINESS = "groupId";
 
+    /**
+     * The execution requests of the sessions whose local repository was already scanned for snapshots. Each project
+     * gets its own copy of the session, the copies share the request.
+     */
+    private static final Map<Object, Boolean> SNAPSHOTS_SCANNED_SESSIONS = new WeakHashMap<>();
+
     /**
      * The Maven projects in the reactor.
      */
@@ -228,6 +242,48 @@ public class PurgeLocalRepositoryMojo
     @Parameter( property = "skip", defaultValue = "false" )
     private boolean skip;
 
+    /**
+     * The number of threads used to delete the purged locations and to re-resolve the purged artifacts. A value of
+     * zero or less means one thread per available processor, <code>1</code> processes them one after another.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.purge.threads", defaultValue = "0" )
+    private int threads;
+
+    /**
+     * Purge the snapshots of the whole local repository, found by scanning its <code>*-SNAPSHOT</code> version
+     * directories, instead of the snapshot dependencies of the projects. No dependency graph is resolved and nothing
+     * is re-resolved. Without {@link #snapshotsMaxAge} or {@link #snapshotsBuildsToKeep}, every snapshot version
+     * directory is deleted. Not used with manual includes.
+     * <p>
+     * The local repository is scanned once per build: the first project of the reactor executing the goal scans it,
+     * the next ones skip the scan.
+     * </p>
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.purge.snapshotsScan", defaultValue = "false" )
+    private boolean snapshotsScan;
+
+    /**
+     * With {@link #snapshotsScan}, the number of days after which a snapshot version directory whose files were not
+     * modified since is deleted. A value of zero or less deletes no directory on its age.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.purge.snapshotsMaxAge", defaultValue = "0" )
+    private int snapshotsMaxAge;
+
+    /**
+     * With {@link #snapshotsScan}, the number of most recent timestamped builds kept in each snapshot version
+     * directory, the files of the older ones are deleted. A value of zero or less keeps them all.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.purge.snapshotsBuildsToKeep", defaultValue = "0" )
+    private int snapshotsBuildsToKeep;
+
     /**
      * Includes only direct project dependencies.
      */
@@ -332,6 +388,19 @@ public class PurgeLocalRepositoryMojo
             return;
         }
 
+        if ( snapshotsScan )
+        {
+            if ( markSnapshotsScanned() )
+            {
+                scanPurgeSnapshots();
+            }
+            else
+            {
+                getLog().info( "Local repository already scanned for snapshots in this build" );
+            }
+            return;
+        }
+
         Set<Artifact> purgedArtifacts = new HashSet<>();
         if ( shouldPurgeAllProjectsInReactor() )
         {
@@ -346,6 +415,21 @@ public class PurgeLocalRepositoryMojo
         }
     }
 
+    /**
+     * Records that the local repository of the session is scanned for snapshots, so the whole repository is walked
+     * once per build rather than once per project of the reactor.
+     *
+     * @return <code>true</code> if the local repository was not scanned yet in this session.
+     */
+    private boolean markSnapshotsScanned()
+    {
+        synchronized ( SNAPSHOTS_SCANNED_SESSIONS )
+        {
+            Object key = session.getRequest() != null ? session.getRequest() : session;
+            return SNAPSHOTS_SCANNED_SESSIONS.put( key, Boolean.TRUE ) == null;
+        }
+    }
+
     /**
      * Determines if all projects in the reactor should be purged from their dependencies. When this goal is started on
      * the command-line, it is always the case. When it is bound to a phase in the lifecycle, it is never the case.
@@ -363,10 +447,11 @@ public class PurgeLocalRepositoryMojo
      *
      * @param theProject Maven project.
      * @param purgedArtifacts The artifacts that were already purged.
+     * @throws MojoExecutionException if a worker thread failed unexpectedly.
      * @throws MojoFailureException in case of errors during the purge.
      */
     private void purgeLocalRepository( MavenProject theProject, Set<Artifact> purgedArtifacts )
-        throws MojoFailureException
+        throws MojoExecutionException, MojoFailureException
     {
         List<Dependency> dependencies = theProject.getDependencies();
 
@@ -417,6 +502,7 @@ public class PurgeLocalRepositoryMojo
             .strong( localRepository.getBasedir() )
             .toString() );
 
+        List<File> purgeDirs = new ArrayList<>();
         for ( String gavPattern : theIncludes )
         {
             if ( StringUtils.isEmpty( gavPattern ) )
@@ -433,22 +519,86 @@ public class PurgeLocalRepositoryMojo
             }
 
             File purgeDir = new File( localRepository.getBasedir(), relativePath );
-            if ( purgeDir.exists() )
+            getLog().debug( "Deleting directory: " + purgeDir );
+            purgeDirs.add( purgeDir );
+        }
+
+        LocalRepositoryPurger.Result result = new LocalRepositoryPurger( threads ).purge( purgeDirs );
+        for ( File purgeDir : result.getMissing() )
+        {
+            getLog().debug( "Directory: " + purgeDir + " doesn't exist" );
+        }
+        logDeleted( result );
+        if ( !result.getFailures().isEmpty() )
+        {
+            StringBuilder message = new StringBuilder( "Unable to purge directories:" );
+            for ( Map.Entry<File, IOException> failure : result.getFailures().entrySet() )
             {
-                getLog().debug( "Deleting directory: " + purgeDir );
-                try
-                {
-                    FileUtils.deleteDirectory( purgeDir );
-                }
-                catch ( IOException e )
-                {
-                    throw new MojoExecutionException( "Unable to purge directory: " + purgeDir );
-                }
+                message.append( System.lineSeparator() ).append( "  " ).append( failure.getKey() ).append( ": " )
+                    .append( failure.getValue().getMessage() );
             }
-            else
+            throw new MojoExecutionException( message.toString() );
+        }
+    }
+
+    /**
+     * Purges the snapshots found by scanning the local repository, according to the age and count policies.
+     *
+     * @throws MojoExecutionException in case of an error.
+     */
+    private void scanPurgeSnapshots()
+        throws MojoExecutionException
+    {
+        File basedir = new File( localRepository.getBasedir() );
+        List<LocalRepositorySnapshotScanner.SnapshotDirectory> snapshots;
+        try
+        {
+            snapshots = new LocalRepositorySnapshotScanner( threads ).scan( basedir );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Unable to scan the local repository: " + basedir, e );
+        }
+
+        long maxLastModified = System.currentTimeMillis() - TimeUnit.DAYS.toMillis( snapshotsMaxAge );
+        boolean deleteAll = snapshotsMaxAge <= 0 && snapshotsBuildsToKeep <= 0;
+        List<File> deleteTargets = new ArrayList<>();
+        int directories = 0;
+        for ( LocalRepositorySnapshotScanner.SnapshotDirectory snapshot : snapshots )
+        {
+            if ( deleteAll || snapshotsMaxAge > 0 && snapshot.getLastModified() < maxLastModified )
             {
-                getLog().debug( "Directory: " + purgeDir + " doesn't exist" );
+                verbose( "Deleting: " + snapshot.getDirectory() );
+                deleteTargets.add( snapshot.getDirectory() );
+                directories++;
             }
+            else if ( snapshotsBuildsToKeep > 0 )
+            {
+                int kept = 0;
+                for ( Map.Entry<String, List<File>> build : snapshot.getTimestampedBuilds().entrySet() )
+                {
+                    if ( kept++ >= snapshotsBuildsToKeep )
+                    {
+                        verbose( "Deleting build " + build.getKey() + " from: " + snapshot.getDirectory() );
+                        deleteTargets.addAll( build.getValue() );
+                    }
+                }
+            }
+        }
+
+        MessageBuilder messageBuilder = MessageUtils.buffer();
+        getLog().info( messageBuilder.a( "Deleting " ).strong( directories ).a( " of " ).strong( snapshots.size() )
+            .a( snapshots.size() != 1 ? " snapshot directories" : " snapshot directory" )
+            .a( " and " ).strong( deleteTargets.size() - directories )
+            .a( deleteTargets.size() - directories != 1 ? " older build files" : " older build file" )
+            .a( " from " ).strong( basedir )
+            .toString() );
+
+        LocalRepositoryPurger.Result result = new LocalRepositoryPurger( threads ).purge( deleteTargets );
+        logDeleted( result );
+        for ( Map.Entry<File, IOException> failure : result.getFailures().entrySet() )
+        {
+            getLog().warn( "Unable to purge local repository location: " + failure.getKey(), failure.getValue() );
         }
     }
 
@@ -623,6 +773,7 @@ public class PurgeLocalRepositoryMojo
     }
 
     private void purgeArtifacts( MavenProject theProject, Set<Artifact> artifacts )
+        throws MojoExecutionException
     {
         MessageBuilder messageBuilder = MessageUtils.buffer();
 
@@ -634,6 +785,7 @@ public class PurgeLocalRepositoryMojo
             .a( " with artifact " ).strong( resolutionFuzziness ).a( " resolution fuzziness" )
             .toString() );
 
+        Set<File> deleteTargets = new LinkedHashSet<>();
         for ( Artifact artifact : artifacts )
         {
             verbose( "Purging artifact: " + artifact.getId() );
@@ -642,63 +794,62 @@ public class PurgeLocalRepositoryMojo
 
             verbose( "Deleting: " + deleteTarget );
 
-            if ( deleteTarget.isDirectory() )
-            {
-                try
-                {
-                    FileUtils.deleteDirectory( deleteTarget );
-                }
-                catch ( IOException e )
-                {
-                    getLog().warn( "Unable to purge local repository location: " + deleteTarget, e );
-                }
-            }
-            else
-            {
-                if ( !deleteTarget.delete() )
-                {
-                    deleteTarget.deleteOnExit();
-                    getLog().warn( "Unable to purge local repository location immediately: " + deleteTarget );
-                }
-            }
+            deleteTargets.add( deleteTarget );
             artifact.setResolved( false );
         }
-    }
 
-    private void reResolveArtifacts( MavenProject theProject, Set<Artifact> artifacts )
-        throws ArtifactResolutionException
-    {
-        // Always need to re-resolve the poms in case they were purged along with the artifact
-        // because Maven 2 will not automatically re-resolve them when resolving the artifact
-        for ( Artifact artifact : artifacts )
+        LocalRepositoryPurger.Result result = new LocalRepositoryPurger( threads ).purge( deleteTargets );
+        logDeleted( result );
+        for ( Map.Entry<File, IOException> failure : result.getFailures().entrySet() )
         {
-            verbose( "Resolving artifact: " + artifact.getId() );
-
-            try
+            if ( failure.getKey().isDirectory() )
             {
-                //CHECKSTYLE_OFF: LineLength
-                artifactResolver.resolveArtifact( session.getProjectBuildingRequest(),
-                                                  TransferUtils.toArtifactCoordinate( artifact ) );
-                //CHECKSTYLE_ON: LineLength
+                getLog().warn( "Unable to purge local repository location: " + failure.getKey(), failure.getValue() );
             }
-            catch ( ArtifactResolverException e )
+            else
             {
-                verbose( e.getMessage() );
+                getLog().warn( "Unable to purge local repository location immediately: " + failure.getKey() );
             }
         }
+    }
+
+    private void logDeleted( LocalRepositoryPurger.Result result )
+    {
+        int files = result.getDeletedFiles();
+        int locations = result.getDeleted().size();
+        verbose( "Deleted " + files + ( files != 1 ? " files" : " file" ) + " from " + locations
+            + ( locations != 1 ? " locations" : " location" ) );
+    }
 
+    private void reResolveArtifacts( MavenProject theProject, Set<Artifact> artifacts )
+        throws ArtifactResolutionException, MojoExecutionException
+    {
         List<Artifact> missingArtifacts = new ArrayList<>();
 
-        for ( Artifact artifact : artifacts )
+        try ( ParallelExecutor executor = new ParallelExecutor( threads, "mdep-purge-resolve" ) )
         {
-            try
+            // resolved as one batch, the failures are logged in the order of the artifacts
+            List<Future<ArtifactResolverException[]>> resolutions = new ArrayList<>( artifacts.size() );
+            for ( Artifact artifact : artifacts )
             {
-                artifactResolver.resolveArtifact( session.getProjectBuildingRequest(), artifact );
+                verbose( "Resolving artifact: " + artifact.getId() );
+                resolutions.add( executor.submit( newReResolveTask( artifact ) ) );
             }
-            catch ( ArtifactResolverException e )
+
+            Iterator<Artifact> artifactIterator = artifacts.iterator();
+            for ( Future<ArtifactResolverException[]> resolution : resolutions )
             {
-                verbose( e.getMessage() );
-                missingArtifacts.add( artifact );
+                Artifact artifact = artifactIterator.next();
+                ArtifactResolverException[] failures = ParallelExecutor.await( resolution );
+                if ( failures[0] != null )
+                {
+                    verbose( failures[0].getMessage() );
+                }
+                if ( failures[1] != null )
+                {
+                    verbose( failures[1].getMessage() );
+                    missingArtifacts.add( artifact );
+                }
             }
         }
 
@@ -718,6 +869,45 @@ public class PurgeLocalRepositoryMojo
         }
     }
 
+    /**
+     * @param artifact the purged artifact.
+     * @return a task re-resolving the artifact, returning the failure to resolve its coordinate, which also brings
+     *         back its pom, and the failure to resolve the artifact itself.
+     */
+    private Callable<ArtifactResolverException[]> newReResolveTask( final Artifact artifact )
+    {
+        return new Callable<ArtifactResolverException[]>()
+        {
+            @Override
+            public ArtifactResolverException[] call()
+            {
+                ArtifactResolverException[] failures = new ArtifactResolverException[2];
+
+                // Always need to re-resolve the poms in case they were purged along with the artifact
+                // because Maven 2 will not automatically re-resolve them when resolving the artifact
+                try
+                {
+                    artifactResolver.resolveArtifact( session.getProjectBuildingRequest(),
+                                                      TransferUtils.toArtifactCoordinate( artifact ) );
+                }
+                catch ( ArtifactResolverException e )
+                {
+                    failures[0] = e;
+                }
+
+                try
+                {
+                    artifactResolver.resolveArtifact( session.getProjectBuildingRequest(), artifact );
+                }
+                catch ( ArtifactResolverException e )
+                {
+                    failures[1] = e;
+                }
+                return failures;
+            }
+        };
+    }
+
     private File findDeleteTarget( Artifact artifact )
     {
         // Use localRepository.pathOf() in case artifact.getFile() is not set
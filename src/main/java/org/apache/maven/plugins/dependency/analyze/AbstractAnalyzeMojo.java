@@ -20,6 +20,7 @@ package org.apache.maven.plugins.dependency.analyze;
  */
 
 import java.io.File;
+import java.io.IOException;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -216,6 +217,30 @@ public abstract class AbstractAnalyzeMojo
     @Parameter
     private String[] ignoredUnusedDeclaredDependencies = new String[0];
 
+    /**
+     * The file the default analyzer keeps the classes of the dependency jars in, so they are not read again by the next
+     * builds. A jar is read again if its length or modification time changed.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.analyze.classIndexFile",
+                defaultValue = "${settings.localRepository}/.cache/maven-dependency-plugin/jar-class-index" )
+    private File classIndexFile;
+
+    /**
+     * Keep the classes each class file of the project depends on in the build directory, so the next analysis only
+     * parses the class files changed since then. Only applies to the default analyzer.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.analyze.incremental", defaultValue = "false" )
+    private boolean incremental;
+
+    /**
+     * The index of the jar classes used by the analyzer, if it is the default one.
+     */
+    private JarClassIndex jarClassIndex;
+
     // Mojo methods -----------------------------------------------------------
 
     /*
@@ -231,36 +256,65 @@ public abstract class AbstractAnalyzeMojo
             return;
         }
 
-        if ( "pom".equals( project.getPackaging() ) )
+        String skipReason = getSkipReason( project, outputDirectory );
+        if ( skipReason != null )
         {
-            getLog().info( "Skipping pom project" );
+            getLog().info( skipReason );
             return;
         }
 
-        if ( outputDirectory == null || !outputDirectory.exists() )
-        {
-            getLog().info( "Skipping project with no build directory" );
-            return;
-        }
+        ProjectDependencyAnalysis analysis = analyze( createProjectDependencyAnalyzer(), project );
+        saveJarClassIndex();
 
-        boolean warning = checkDependencies();
-
-        if ( warning && failOnWarning )
-        {
-            throw new MojoExecutionException( "Dependency problems found" );
-        }
+        checkWarning( report( analysis, baseDir ) );
     }
 
     /**
+     * Returns the analyzer to use. The default analyzer is replaced by an {@link IndexedProjectDependencyAnalyzer}
+     * reading the classes of the jars through the {@link #classIndexFile}, which gives the same results.
+     *
      * @return {@link ProjectDependencyAnalyzer}
      * @throws MojoExecutionException in case of an error.
      */
     protected ProjectDependencyAnalyzer createProjectDependencyAnalyzer()
         throws MojoExecutionException
     {
+        if ( !"default".equals( analyzer ) )
+        {
+            return lookupProjectDependencyAnalyzer( analyzer );
+        }
+
+        IndexedProjectDependencyAnalyzer indexedAnalyzer = (IndexedProjectDependencyAnalyzer)
+            lookupProjectDependencyAnalyzer( IndexedProjectDependencyAnalyzer.ROLE_HINT );
+        jarClassIndex = JarClassIndex.getInstance( classIndexFile );
+        indexedAnalyzer.setJarClassIndex( jarClassIndex );
+        indexedAnalyzer.setIncremental( incremental );
+        return indexedAnalyzer;
+    }
+
+    /**
+     * Saves the jars read by the analyzer to the {@link #classIndexFile}. A failure is only logged, the jars are read
+     * again by the next build.
+     */
+    protected void saveJarClassIndex()
+    {
+        if ( jarClassIndex != null )
+        {
+            try
+            {
+                jarClassIndex.save();
+            }
+            catch ( IOException e )
+            {
+                getLog().warn( "Cannot save the class index " + classIndexFile + ": " + e.getMessage() );
+            }
+        }
+    }
 
+    private ProjectDependencyAnalyzer lookupProjectDependencyAnalyzer( String roleHint )
+        throws MojoExecutionException
+    {
         final String role = ProjectDependencyAnalyzer.ROLE;
-        final String roleHint = analyzer;
 
         try
         {
@@ -290,15 +344,42 @@ public abstract class AbstractAnalyzeMojo
         return skip;
     }
 
-    // private methods --------------------------------------------------------
+    /**
+     * @param project the project.
+     * @param buildDirectory the build directory of the project.
+     * @return why the project has nothing to analyze, or <code>null</code> if it can be analyzed.
+     */
+    protected String getSkipReason( MavenProject project, File buildDirectory )
+    {
+        if ( "pom".equals( project.getPackaging() ) )
+        {
+            return "Skipping pom project";
+        }
 
-    private boolean checkDependencies()
+        if ( buildDirectory == null || !buildDirectory.exists() )
+        {
+            return "Skipping project with no build directory";
+        }
+
+        return null;
+    }
+
+    /**
+     * Analyzes the dependencies of a project. Does not log anything, so it can be called from worker threads.
+     *
+     * @param projectDependencyAnalyzer the analyzer.
+     * @param project the project.
+     * @return the analysis, with the {@link #usedDependencies} forced as used.
+     * @throws MojoExecutionException in case of an error.
+     */
+    protected ProjectDependencyAnalysis analyze( ProjectDependencyAnalyzer projectDependencyAnalyzer,
+                                                 MavenProject project )
         throws MojoExecutionException
     {
         ProjectDependencyAnalysis analysis;
         try
         {
-            analysis = createProjectDependencyAnalyzer().analyze( project );
+            analysis = projectDependencyAnalyzer.analyze( project );
 
             if ( usedDependencies != null )
             {
@@ -314,6 +395,20 @@ public abstract class AbstractAnalyzeMojo
         {
             analysis = analysis.ignoreNonCompile();
         }
+        return analysis;
+    }
+
+    /**
+     * Logs the dependency problems found by an analysis.
+     *
+     * @param analysis the analysis.
+     * @param projectBaseDir the base directory of the analyzed project, for the scriptable output.
+     * @return <code>true</code> if a dependency warning was found.
+     * @throws MojoExecutionException in case of an error.
+     */
+    protected boolean report( ProjectDependencyAnalysis analysis, File projectBaseDir )
+        throws MojoExecutionException
+    {
 
         Set<Artifact> usedDeclared = new LinkedHashSet<>( analysis.getUsedDeclaredArtifacts() );
         Set<Artifact> usedUndeclared = new LinkedHashSet<>( analysis.getUsedUndeclaredArtifacts() );
@@ -380,7 +475,7 @@ public abstract class AbstractAnalyzeMojo
 
         if ( scriptableOutput )
         {
-            writeScriptableOutput( usedUndeclared );
+            writeScriptableOutput( usedUndeclared, projectBaseDir );
         }
 
         if ( !reported )
@@ -391,6 +486,21 @@ public abstract class AbstractAnalyzeMojo
         return warning;
     }
 
+    /**
+     * @param warning <code>true</code> if a dependency warning was found.
+     * @throws MojoExecutionException if a warning was found and {@link #failOnWarning} is set.
+     */
+    protected void checkWarning( boolean warning )
+        throws MojoExecutionException
+    {
+        if ( warning && failOnWarning )
+        {
+            throw new MojoExecutionException( "Dependency problems found" );
+        }
+    }
+
+    // private methods --------------------------------------------------------
+
     private void logArtifacts( Set<Artifact> artifacts, boolean warn )
     {
         if ( artifacts.isEmpty() )
@@ -461,12 +571,12 @@ public abstract class AbstractAnalyzeMojo
         }
     }
 
-    private void writeScriptableOutput( Set<Artifact> artifacts )
+    private void writeScriptableOutput( Set<Artifact> artifacts, File projectBaseDir )
     {
         if ( !artifacts.isEmpty() )
         {
             getLog().info( "Missing dependencies: " );
-            String pomFile = baseDir.getAbsolutePath() + File.separatorChar + "pom.xml";
+            String pomFile = projectBaseDir.getAbsolutePath() + File.separatorChar + "pom.xml";
             StringBuilder buf = new StringBuilder();
 
             for ( Artifact artifact : artifacts )
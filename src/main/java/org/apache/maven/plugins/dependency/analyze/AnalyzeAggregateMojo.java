@@ -0,0 +1,143 @@
+package org.apache.maven.plugins.dependency.analyze;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.dependency.utils.ParallelExecutor;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalysis;
+import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalyzer;
+
+/**
+ * Analyzes the dependencies of all the projects of the reactor at the same time, and reports which are: used and
+ * declared; used and undeclared; unused and declared. The reports are logged project by project, in reactor order, in
+ * the format of <code>dependency:analyze-only</code>. This goal assumes that the <code>test-compile</code> phase has
+ * been executed for all the projects, for instance with <code>mvn test-compile dependency:analyze-aggregate</code>.
+ * <p>
+ * As an aggregator, this goal runs once with the configuration of the project it is started from, the root of the
+ * reactor on the command line. Its <code>ignoredDependencies</code>, <code>ignoredUsedUndeclaredDependencies</code>,
+ * <code>ignoredUnusedDeclaredDependencies</code>, <code>usedDependencies</code> and <code>ignoreNonCompile</code>
+ * apply to all the projects, and the configuration of the plugin in the other projects is not read. Projects that need
+ * their own configuration are to be analyzed with <code>dependency:analyze-only</code>.
+ * </p>
+ * <p>
+ * With the default analyzer, the classes of a dependency jar are read once for all the projects depending on it.
+ * </p>
+ *
+ * @see AnalyzeOnlyMojo
+ * @since 3.1.3
+ */
+//@formatter:off
+@Mojo(
+    name = "analyze-aggregate",
+    aggregator = true,
+    requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true
+)
+//@formatter:on
+public class AnalyzeAggregateMojo
+    extends AbstractAnalyzeMojo
+{
+    /**
+     * The projects of the reactor.
+     */
+    @Parameter( defaultValue = "${reactorProjects}", readonly = true, required = true )
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * The number of threads used to analyze the projects. A value of zero or less means one thread per available
+     * processor.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.analyze.threads", defaultValue = "0" )
+    private int threads;
+
+    @Override
+    public void execute()
+        throws MojoExecutionException, MojoFailureException
+    {
+        if ( isSkip() )
+        {
+            getLog().info( "Skipping plugin execution" );
+            return;
+        }
+
+        final ProjectDependencyAnalyzer projectDependencyAnalyzer = createProjectDependencyAnalyzer();
+        boolean warning = false;
+
+        try ( ParallelExecutor executor = new ParallelExecutor( threads, "mdep-analyze" ) )
+        {
+            List<Future<ProjectDependencyAnalysis>> analyses = new ArrayList<>( reactorProjects.size() );
+            for ( final MavenProject project : reactorProjects )
+            {
+                if ( getSkipReason( project, getBuildDirectory( project ) ) != null )
+                {
+                    analyses.add( null );
+                    continue;
+                }
+
+                analyses.add( executor.submit( new Callable<ProjectDependencyAnalysis>()
+                {
+                    @Override
+                    public ProjectDependencyAnalysis call()
+                        throws MojoExecutionException
+                    {
+                        return analyze( projectDependencyAnalyzer, project );
+                    }
+                } ) );
+            }
+
+            for ( int i = 0; i < reactorProjects.size(); i++ )
+            {
+                MavenProject project = reactorProjects.get( i );
+                getLog().info( "Dependency analysis of " + project.getId() + ":" );
+
+                Future<ProjectDependencyAnalysis> analysis = analyses.get( i );
+                if ( analysis == null )
+                {
+                    getLog().info( getSkipReason( project, getBuildDirectory( project ) ) );
+                }
+                else
+                {
+                    warning |= report( ParallelExecutor.await( analysis ), project.getBasedir() );
+                }
+            }
+        }
+        saveJarClassIndex();
+
+        checkWarning( warning );
+    }
+
+    private static File getBuildDirectory( MavenProject project )
+    {
+        return project.getBuild().getDirectory() != null ? new File( project.getBuild().getDirectory() ) : null;
+    }
+}
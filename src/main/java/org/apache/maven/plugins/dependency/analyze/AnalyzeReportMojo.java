@@ -35,6 +35,7 @@ import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalyzer;
 import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalyzerException;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -60,8 +61,8 @@ public class AnalyzeReportMojo
     /**
      * The Maven project dependency analyzer to use.
      */
-    @Component
-    private ProjectDependencyAnalyzer analyzer;
+    @Component( role = ProjectDependencyAnalyzer.class, hint = IndexedProjectDependencyAnalyzer.ROLE_HINT )
+    private IndexedProjectDependencyAnalyzer analyzer;
 
     /**
      *
@@ -102,6 +103,16 @@ public class AnalyzeReportMojo
     @Parameter( property = "mdep.analyze.skip", defaultValue = "false" )
     private boolean skip;
 
+    /**
+     * The file the analyzer keeps the classes of the dependency jars in, so they are not read again by the next builds.
+     * A jar is read again if its length or modification time changed.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.analyze.classIndexFile",
+                defaultValue = "${settings.localRepository}/.cache/maven-dependency-plugin/jar-class-index" )
+    private File classIndexFile;
+
     // Mojo methods -----------------------------------------------------------
 
     /*
@@ -132,6 +143,8 @@ public class AnalyzeReportMojo
 
         // Step 1: Analyze the project
         ProjectDependencyAnalysis analysis;
+        JarClassIndex jarClassIndex = JarClassIndex.getInstance( classIndexFile );
+        analyzer.setJarClassIndex( jarClassIndex );
         try
         {
             analysis = analyzer.analyze( project );
@@ -146,6 +159,15 @@ public class AnalyzeReportMojo
             throw new MavenReportException( "Cannot analyze dependencies", exception );
         }
 
+        try
+        {
+            jarClassIndex.save();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Cannot save the class index " + classIndexFile + ": " + e.getMessage() );
+        }
+
         // remove everything that's not in the compile scope
         if ( ignoreNonCompile )
         {
@@ -0,0 +1,242 @@
+package org.apache.maven.plugins.dependency.analyze;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.shared.dependency.analyzer.asm.DependencyClassFileVisitor;
+import org.codehaus.plexus.util.DirectoryScanner;
+
+/**
+ * Keeps the classes each class file of a project depends on, so only the class files changed since the previous
+ * analysis are parsed again. A class file is parsed again if its length or modification time changed. The class files
+ * are parsed like <code>ASMDependencyAnalyzer</code> does, and the dependencies of a directory are the union of the
+ * dependencies of its class files, as with that analyzer.
+ */
+public class ClassDependencyIndex
+{
+    private static final int MAGIC = 0x43444958;
+
+    private static final int VERSION = 1;
+
+    private final File file;
+
+    private final Map<String, IndexedClass> loadedClasses = new HashMap<>();
+
+    private final Map<String, IndexedClass> classes = new LinkedHashMap<>();
+
+    private boolean modified;
+
+    /**
+     * Creates an index loaded from a file, if it exists and is valid, and saved to it by {@link #save()}.
+     *
+     * @param file the file of the index.
+     */
+    public ClassDependencyIndex( File file )
+    {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * @param classesDirectory a directory of class files, that may not exist.
+     * @return the classes the class files of the directory depend on.
+     * @throws IOException if a class file can not be read.
+     */
+    public Set<String> getDependencies( File classesDirectory )
+        throws IOException
+    {
+        Set<String> dependencies = new HashSet<>();
+        if ( !classesDirectory.isDirectory() )
+        {
+            return dependencies;
+        }
+
+        DirectoryScanner scanner = new DirectoryScanner();
+        scanner.setBasedir( classesDirectory );
+        scanner.setIncludes( new String[] { "**/*.class" } );
+        scanner.scan();
+
+        for ( String path : scanner.getIncludedFiles() )
+        {
+            File classFile = new File( classesDirectory, path );
+            String key = classFile.getAbsolutePath();
+            long length = classFile.length();
+            long lastModified = classFile.lastModified();
+
+            IndexedClass indexedClass = loadedClasses.get( key );
+            if ( indexedClass == null || indexedClass.length != length || indexedClass.lastModified != lastModified )
+            {
+                indexedClass = new IndexedClass( length, lastModified, parseDependencies( classFile, path ) );
+                modified = true;
+            }
+            classes.put( key, indexedClass );
+            dependencies.addAll( indexedClass.dependencies );
+        }
+        return dependencies;
+    }
+
+    /**
+     * Saves the class files seen by {@link #getDependencies(File)} to the file of the index, if some of them changed or
+     * were deleted since the index was loaded.
+     *
+     * @throws IOException if the file can not be written.
+     */
+    public void save()
+        throws IOException
+    {
+        // each class either was loaded unchanged or is modified, so a smaller index means deleted classes
+        if ( !modified && classes.size() == loadedClasses.size() )
+        {
+            return;
+        }
+
+        // the names of the dependencies are shared by many classes, they are written once
+        Map<String, Integer> nameIndexes = new LinkedHashMap<>();
+        for ( IndexedClass indexedClass : classes.values() )
+        {
+            for ( String dependency : indexedClass.dependencies )
+            {
+                if ( !nameIndexes.containsKey( dependency ) )
+                {
+                    nameIndexes.put( dependency, nameIndexes.size() );
+                }
+            }
+        }
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if ( !directory.isDirectory() && !directory.mkdirs() )
+        {
+            throw new IOException( "Cannot create directory " + directory );
+        }
+
+        try ( DataOutputStream out =
+            new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ) ) ) )
+        {
+            out.writeInt( MAGIC );
+            out.writeInt( VERSION );
+            out.writeInt( nameIndexes.size() );
+            for ( String name : nameIndexes.keySet() )
+            {
+                out.writeUTF( name );
+            }
+
+            out.writeInt( classes.size() );
+            for ( Map.Entry<String, IndexedClass> entry : classes.entrySet() )
+            {
+                IndexedClass indexedClass = entry.getValue();
+                out.writeUTF( entry.getKey() );
+                out.writeLong( indexedClass.length );
+                out.writeLong( indexedClass.lastModified );
+                out.writeInt( indexedClass.dependencies.size() );
+                for ( String dependency : indexedClass.dependencies )
+                {
+                    out.writeInt( nameIndexes.get( dependency ) );
+                }
+            }
+        }
+    }
+
+    private void load()
+    {
+        if ( !file.isFile() )
+        {
+            return;
+        }
+
+        try ( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) )
+        {
+            if ( in.readInt() != MAGIC || in.readInt() != VERSION )
+            {
+                return;
+            }
+
+            String[] names = new String[in.readInt()];
+            for ( int i = 0; i < names.length; i++ )
+            {
+                names[i] = in.readUTF();
+            }
+
+            int count = in.readInt();
+            for ( int i = 0; i < count; i++ )
+            {
+                String key = in.readUTF();
+                long length = in.readLong();
+                long lastModified = in.readLong();
+                List<String> dependencies = new ArrayList<>();
+                for ( int j = in.readInt(); j > 0; j-- )
+                {
+                    dependencies.add( names[in.readInt()] );
+                }
+                loadedClasses.put( key, new IndexedClass( length, lastModified, dependencies ) );
+            }
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            // a missing or truncated index only means all the classes are parsed again
+            loadedClasses.clear();
+        }
+    }
+
+    private static List<String> parseDependencies( File classFile, String path )
+        throws IOException
+    {
+        String className = path.substring( 0, path.length() - ".class".length() ).replace( File.separatorChar, '.' );
+
+        DependencyClassFileVisitor visitor = new DependencyClassFileVisitor();
+        try ( InputStream in = new FileInputStream( classFile ) )
+        {
+            visitor.visitClass( className, in );
+        }
+        return Arrays.asList( visitor.getDependencies().toArray( new String[0] ) );
+    }
+
+    private static class IndexedClass
+    {
+        private final long length;
+
+        private final long lastModified;
+
+        private final List<String> dependencies;
+
+        IndexedClass( long length, long lastModified, List<String> dependencies )
+        {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.apache.maven.plugins.dependency.analyze;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.analyzer.ClassAnalyzer;
+import org.apache.maven.shared.dependency.analyzer.DefaultProjectDependencyAnalyzer;
+
+/**
+ * The default analyzer, reading the classes of the dependency jars through a {@link JarClassIndex} shared by all the
+ * projects it analyzes, instead of reading each jar again for each project. A new analyzer is created for each lookup,
+ * so each mojo can give it its own index.
+ */
+public class IndexedProjectDependencyAnalyzer
+    extends DefaultProjectDependencyAnalyzer
+{
+    /**
+     * The role-hint of this analyzer.
+     */
+    public static final String ROLE_HINT = "indexed";
+
+    /**
+     * The file of the incremental index, in the build directory of a project.
+     */
+    private static final String INDEX_FILE = "dependency-maven-plugin-analysis/class-dependencies";
+
+    private JarClassIndex jarClassIndex = new JarClassIndex();
+
+    /**
+     * Analyzes the dependencies that are class directories, like reactor modules.
+     */
+    private ClassAnalyzer directoryClassAnalyzer;
+
+    private boolean incremental;
+
+    /**
+     * @param jarClassIndex the index to read the classes of the jars from, instead of an index of this analyzer.
+     */
+    public void setJarClassIndex( JarClassIndex jarClassIndex )
+    {
+        this.jarClassIndex = jarClassIndex;
+    }
+
+    /**
+     * @param incremental <code>true</code> to keep the classes each class file of the projects depends on in their
+     *            build directory, and only parse the class files changed since the previous analysis.
+     */
+    public void setIncremental( boolean incremental )
+    {
+        this.incremental = incremental;
+    }
+
+    @Override
+    protected Map<Artifact, Set<String>> buildArtifactClassMap( MavenProject project )
+        throws IOException
+    {
+        Map<Artifact, Set<String>> artifactClassMap = new LinkedHashMap<>();
+
+        for ( Artifact artifact : project.getArtifacts() )
+        {
+            File file = artifact.getFile();
+
+            if ( file != null && file.getName().endsWith( ".jar" ) )
+            {
+                artifactClassMap.put( artifact, jarClassIndex.getClasses( file ) );
+            }
+            else if ( file != null && file.isDirectory() )
+            {
+                artifactClassMap.put( artifact, directoryClassAnalyzer.analyze( file.toURI().toURL() ) );
+            }
+        }
+
+        return artifactClassMap;
+    }
+
+    @Override
+    protected Set<String> buildDependencyClasses( MavenProject project )
+        throws IOException
+    {
+        if ( !incremental )
+        {
+            return super.buildDependencyClasses( project );
+        }
+
+        Build build = project.getBuild();
+        ClassDependencyIndex index = new ClassDependencyIndex( new File( build.getDirectory(), INDEX_FILE ) );
+
+        Set<String> dependencyClasses = new HashSet<>();
+        dependencyClasses.addAll( index.getDependencies( new File( build.getOutputDirectory() ) ) );
+        dependencyClasses.addAll( index.getDependencies( new File( build.getTestOutputDirectory() ) ) );
+
+        index.save();
+        return dependencyClasses;
+    }
+}
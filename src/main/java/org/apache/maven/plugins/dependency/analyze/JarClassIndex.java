@@ -0,0 +1,478 @@
+package org.apache.maven.plugins.dependency.analyze;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the names of the classes of the jars, so a jar shared by several modules is only read once. A jar is read
+ * again if its length or modification time changed, and concurrent requests for the same jar wait for a single read.
+ * <p>
+ * The index can be saved to a file, so the next builds do not read the jars at all. The file is read at once when
+ * loaded and the class names of a jar are only decoded when they are asked for, after checking their checksum. Each
+ * jar takes its path, length, modification time, the checksum and the sorted class names, each one stored as the
+ * length of the prefix it shares with the previous one and the rest of the name. The entries saved by concurrent builds
+ * in the meantime are merged when saving.
+ * </p>
+ */
+public class JarClassIndex
+{
+    private static final int MAGIC = 0x4A434958;
+
+    private static final int VERSION = 1;
+
+    /**
+     * The indexes in use, held weakly so they are dropped once no mojo uses them, in a JVM running several builds.
+     */
+    private static final Map<File, WeakReference<JarClassIndex>> INSTANCES = new HashMap<>();
+
+    private final File file;
+
+    private final Map<String, IndexedJar> jars = new LinkedHashMap<>();
+
+    private boolean modified;
+
+    /**
+     * Creates an index kept in memory only.
+     */
+    public JarClassIndex()
+    {
+        this( null );
+    }
+
+    /**
+     * Creates an index loaded from a file, if it exists and is valid, and saved to it by {@link #save()}.
+     *
+     * @param file the file of the index, or <code>null</code> to keep the index in memory only.
+     */
+    public JarClassIndex( File file )
+    {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Returns the index of a file, shared by the mojos using it at the same time. Once none uses it, the index is
+     * loaded again from its file.
+     *
+     * @param file the file of the index, or <code>null</code> for the index kept in memory only.
+     * @return the index of the file.
+     */
+    public static JarClassIndex getInstance( File file )
+    {
+        synchronized ( INSTANCES )
+        {
+            WeakReference<JarClassIndex> reference = INSTANCES.get( file );
+            JarClassIndex index = reference != null ? reference.get() : null;
+            if ( index == null )
+            {
+                index = new JarClassIndex( file );
+                INSTANCES.put( file, new WeakReference<>( index ) );
+            }
+            return index;
+        }
+    }
+
+    /**
+     * @param jar the jar.
+     * @return the names of the classes of the jar, unmodifiable.
+     * @throws IOException if the jar can not be read.
+     */
+    public Set<String> getClasses( File jar )
+        throws IOException
+    {
+        IndexedJar indexedJar = getIndexedJar( jar );
+        Set<String> classes = indexedJar.getClasses();
+        if ( classes == null )
+        {
+            // not saved, or saved with a wrong checksum
+            classes = indexedJar.readClasses( jar );
+            setModified();
+        }
+        return classes;
+    }
+
+    /**
+     * Saves the index to its file, if jars were read since it was loaded. The file is read again first, to keep the
+     * jars other builds saved since, and replaced atomically, so concurrent builds never see a partial index.
+     *
+     * @throws IOException if the file can not be written.
+     */
+    public synchronized void save()
+        throws IOException
+    {
+        if ( file == null || !modified )
+        {
+            return;
+        }
+
+        Map<String, IndexedJar> merged = read( file );
+        for ( Map.Entry<String, IndexedJar> entry : jars.entrySet() )
+        {
+            if ( entry.getValue().getData() != null )
+            {
+                merged.put( entry.getKey(), entry.getValue() );
+            }
+        }
+
+        List<Map.Entry<String, IndexedJar>> entries = new ArrayList<>();
+        for ( Map.Entry<String, IndexedJar> entry : merged.entrySet() )
+        {
+            // the jars deleted from the repository are forgotten
+            if ( new File( entry.getKey() ).isFile() )
+            {
+                entries.add( entry );
+            }
+        }
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if ( !directory.isDirectory() && !directory.mkdirs() )
+        {
+            throw new IOException( "Cannot create directory " + directory );
+        }
+
+        File tempFile = File.createTempFile( file.getName(), ".tmp", directory );
+        try
+        {
+            try ( DataOutputStream out =
+                new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( tempFile.toPath() ) ) ) )
+            {
+                out.writeInt( MAGIC );
+                out.writeInt( VERSION );
+                out.writeInt( entries.size() );
+                for ( Map.Entry<String, IndexedJar> entry : entries )
+                {
+                    IndexedJar indexedJar = entry.getValue();
+                    ByteBuffer data = indexedJar.getData();
+                    writeString( out, entry.getKey() );
+                    out.writeLong( indexedJar.length );
+                    out.writeLong( indexedJar.lastModified );
+                    out.writeInt( indexedJar.checksum );
+                    out.writeInt( data.remaining() );
+                    while ( data.hasRemaining() )
+                    {
+                        out.write( data.get() );
+                    }
+                }
+            }
+
+            try
+            {
+                Files.move( tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            }
+            modified = false;
+        }
+        finally
+        {
+            Files.deleteIfExists( tempFile.toPath() );
+        }
+    }
+
+    private synchronized IndexedJar getIndexedJar( File jar )
+    {
+        String key = jar.getAbsolutePath();
+        long length = jar.length();
+        long lastModified = jar.lastModified();
+
+        IndexedJar indexedJar = jars.get( key );
+        if ( indexedJar == null || indexedJar.length != length || indexedJar.lastModified != lastModified )
+        {
+            indexedJar = new IndexedJar( length, lastModified );
+            jars.put( key, indexedJar );
+        }
+        return indexedJar;
+    }
+
+    private synchronized void setModified()
+    {
+        modified = true;
+    }
+
+    private void load()
+    {
+        if ( file != null )
+        {
+            jars.putAll( read( file ) );
+        }
+    }
+
+    /**
+     * @param file the file of an index.
+     * @return the jars of the index, empty if the file is missing or invalid.
+     */
+    private static Map<String, IndexedJar> read( File file )
+    {
+        Map<String, IndexedJar> jars = new LinkedHashMap<>();
+        if ( !file.isFile() )
+        {
+            return jars;
+        }
+
+        try
+        {
+            // not memory-mapped, a mapping would prevent replacing the file on Windows as long as the index is kept
+            ByteBuffer buffer = ByteBuffer.wrap( Files.readAllBytes( file.toPath() ) );
+            if ( buffer.getInt() != MAGIC || buffer.getInt() != VERSION )
+            {
+                return jars;
+            }
+
+            int count = buffer.getInt();
+            for ( int i = 0; i < count; i++ )
+            {
+                String path = readString( buffer );
+                long length = buffer.getLong();
+                long lastModified = buffer.getLong();
+                int checksum = buffer.getInt();
+                int dataLength = buffer.getInt();
+
+                if ( dataLength < 0 || dataLength > buffer.remaining() )
+                {
+                    throw new BufferUnderflowException();
+                }
+
+                // copied, so the whole file is not kept for the jars replaced since
+                byte[] data = new byte[dataLength];
+                buffer.get( data );
+
+                jars.put( path, new IndexedJar( length, lastModified, checksum, ByteBuffer.wrap( data ) ) );
+            }
+        }
+        catch ( IOException | BufferUnderflowException | IllegalArgumentException e )
+        {
+            // a missing or truncated index only means the jars are read again
+            jars.clear();
+        }
+        return jars;
+    }
+
+    /**
+     * Reads the names of the classes of a jar, like <code>DefaultProjectDependencyAnalyzer</code> does.
+     *
+     * @param jar the jar.
+     * @return the names of the classes of the jar.
+     * @throws IOException if the jar can not be read.
+     */
+    private static Set<String> readClasses( File jar )
+        throws IOException
+    {
+        Set<String> classes = new HashSet<>();
+        try ( JarFile jarFile = new JarFile( jar ) )
+        {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while ( entries.hasMoreElements() )
+            {
+                String entry = entries.nextElement().getName();
+                if ( entry.endsWith( ".class" ) )
+                {
+                    String className = entry.replace( '/', '.' );
+                    classes.add( className.substring( 0, className.length() - ".class".length() ) );
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static ByteBuffer encode( Set<String> classes )
+        throws IOException
+    {
+        List<String> names = new ArrayList<>( classes );
+        Collections.sort( names );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try ( DataOutputStream out = new DataOutputStream( bytes ) )
+        {
+            out.writeInt( names.size() );
+            String previous = "";
+            for ( String name : names )
+            {
+                int prefix = 0;
+                int max = Math.min( Math.min( previous.length(), name.length() ), 0xFFFF );
+                while ( prefix < max && previous.charAt( prefix ) == name.charAt( prefix ) )
+                {
+                    prefix++;
+                }
+                if ( prefix > 0 && Character.isHighSurrogate( name.charAt( prefix - 1 ) ) )
+                {
+                    // never split a character
+                    prefix--;
+                }
+
+                out.writeShort( prefix );
+                writeString( out, name.substring( prefix ) );
+                previous = name;
+            }
+        }
+        return ByteBuffer.wrap( bytes.toByteArray() );
+    }
+
+    private static Set<String> decode( ByteBuffer data )
+    {
+        int count = data.getInt();
+        Set<String> classes = new HashSet<>( count * 4 / 3 + 1 );
+        String previous = "";
+        for ( int i = 0; i < count; i++ )
+        {
+            int prefix = data.getShort() & 0xFFFF;
+            String name = previous.substring( 0, prefix ) + readString( data );
+            classes.add( name );
+            previous = name;
+        }
+        return classes;
+    }
+
+    private static int checksum( ByteBuffer data )
+    {
+        CRC32 crc = new CRC32();
+        byte[] bytes = new byte[data.remaining()];
+        data.get( bytes );
+        crc.update( bytes );
+        return (int) crc.getValue();
+    }
+
+    private static void writeString( DataOutputStream out, String s )
+        throws IOException
+    {
+        byte[] bytes = s.getBytes( StandardCharsets.UTF_8 );
+        if ( bytes.length > 0xFFFF )
+        {
+            throw new IOException( "Name too long to be indexed: " + s );
+        }
+        out.writeShort( bytes.length );
+        out.write( bytes );
+    }
+
+    private static String readString( ByteBuffer buffer )
+    {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get( bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * The classes of a jar, read from the jar or loaded from the index file and decoded when needed.
+     */
+    private static class IndexedJar
+    {
+        private final long length;
+
+        private final long lastModified;
+
+        private int checksum;
+
+        private ByteBuffer data;
+
+        private Set<String> classes;
+
+        IndexedJar( long length, long lastModified )
+        {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        IndexedJar( long length, long lastModified, int checksum, ByteBuffer data )
+        {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+            this.data = data;
+        }
+
+        /**
+         * @return the classes, or <code>null</code> if they have to be read from the jar.
+         */
+        synchronized Set<String> getClasses()
+        {
+            if ( classes == null && data != null )
+            {
+                try
+                {
+                    if ( checksum( data.duplicate() ) == checksum )
+                    {
+                        classes = Collections.unmodifiableSet( decode( data.duplicate() ) );
+                    }
+                }
+                catch ( BufferUnderflowException | IndexOutOfBoundsException e )
+                {
+                    // same as a wrong checksum
+                }
+
+                if ( classes == null )
+                {
+                    data = null;
+                }
+            }
+            return classes;
+        }
+
+        synchronized Set<String> readClasses( File jar )
+            throws IOException
+        {
+            if ( classes == null )
+            {
+                classes = Collections.unmodifiableSet( JarClassIndex.readClasses( jar ) );
+            }
+            return classes;
+        }
+
+        /**
+         * @return the encoded classes, or <code>null</code> if they are not known.
+         * @throws IOException if the classes can not be encoded.
+         */
+        synchronized ByteBuffer getData()
+            throws IOException
+        {
+            if ( data == null && classes != null )
+            {
+                data = encode( classes );
+                checksum = checksum( data.duplicate() );
+            }
+            return data != null ? data.duplicate() : null;
+        }
+    }
+}
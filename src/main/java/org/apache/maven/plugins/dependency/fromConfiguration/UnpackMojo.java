@@ -24,6 +24,7 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.dependency.utils.filters.ArtifactItemFilter;
 import org.apache.maven.plugins.dependency.utils.filters.MarkerFileFilter;
 import org.apache.maven.plugins.dependency.utils.markers.MarkerHandler;
+import org.apache.maven.plugins.dependency.utils.markers.MarkerIndex;
 import org.apache.maven.plugins.dependency.utils.markers.UnpackFileMarkerHandler;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -51,6 +52,18 @@ public class UnpackMojo
     @Parameter( defaultValue = "${project.build.directory}/dependency-maven-plugin-markers" )
     private File markersDirectory;
 
+    /**
+     * Keep the markers in a single index file in the {@link #markersDirectory}, instead of one file per artifact. The
+     * index is read once and written when the goal completes. Marker files written without the index are imported
+     * the first time the index is used.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.useMarkerIndex", defaultValue = "false" )
+    private boolean useMarkerIndex;
+
+    private MarkerIndex markerIndex;
+
     /**
      * A comma separated list of file patterns to include when unpacking the artifact. i.e.
      * <code>**&#47;*.xml,**&#47;*.properties</code> NOTE: Excludes patterns override the includes. (component code =
@@ -120,6 +133,11 @@ public class UnpackMojo
                 this.getLog().info( artifactItem.getArtifact().getFile().getName() + " already unpacked." );
             }
         }
+
+        if ( getMarkerIndex() != null )
+        {
+            getMarkerIndex().save();
+        }
     }
 
     /**
@@ -132,7 +150,7 @@ public class UnpackMojo
     private void unpackArtifact( ArtifactItem artifactItem )
         throws MojoExecutionException
     {
-        MarkerHandler handler = new UnpackFileMarkerHandler( artifactItem, this.markersDirectory );
+        MarkerHandler handler = newMarkerHandler( artifactItem );
 
         unpack( artifactItem.getArtifact(), artifactItem.getType(), artifactItem.getOutputDirectory(),
                 artifactItem.getIncludes(), artifactItem.getExcludes(), artifactItem.getEncoding(),
@@ -143,12 +161,28 @@ public class UnpackMojo
     @Override
     ArtifactItemFilter getMarkedArtifactFilter( ArtifactItem item )
     {
-        MarkerHandler handler = new UnpackFileMarkerHandler( item, this.markersDirectory );
+        MarkerHandler handler = newMarkerHandler( item );
 
         return new MarkerFileFilter( this.isOverWriteReleases(), this.isOverWriteSnapshots(), this.isOverWriteIfNewer(),
                                      handler );
     }
 
+    private MarkerHandler newMarkerHandler( ArtifactItem item )
+    {
+        UnpackFileMarkerHandler handler = new UnpackFileMarkerHandler( item, this.markersDirectory );
+        handler.setMarkerIndex( getMarkerIndex() );
+        return handler;
+    }
+
+    private MarkerIndex getMarkerIndex()
+    {
+        if ( useMarkerIndex && markerIndex == null )
+        {
+            markerIndex = new MarkerIndex( this.markersDirectory );
+        }
+        return markerIndex;
+    }
+
     /**
      * @param removeVersion removeVersion.
      * @return list of {@link ArtifactItem}
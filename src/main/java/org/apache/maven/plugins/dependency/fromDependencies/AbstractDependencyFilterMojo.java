@@ -22,8 +22,12 @@ package org.apache.maven.plugins.dependency.fromDependencies;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
@@ -33,6 +37,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.dependency.AbstractDependencyMojo;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelExecutor;
+import org.apache.maven.plugins.dependency.utils.ResolutionCache;
+import org.apache.maven.plugins.dependency.utils.filters.CompiledArtifactsFilter;
+import org.apache.maven.plugins.dependency.utils.markers.MarkerIndex;
 import org.apache.maven.plugins.dependency.utils.translators.ArtifactTranslator;
 import org.apache.maven.plugins.dependency.utils.translators.ClassifierTypeTranslator;
 import org.apache.maven.project.MavenProject;
@@ -40,15 +48,10 @@ import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactFilterException;
-import org.apache.maven.shared.artifact.filter.collection.ArtifactIdFilter;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactsFilter;
-import org.apache.maven.shared.artifact.filter.collection.ClassifierFilter;
 import org.apache.maven.shared.artifact.filter.collection.FilterArtifacts;
-import org.apache.maven.shared.artifact.filter.collection.GroupIdFilter;
-import org.apache.maven.shared.artifact.filter.collection.ProjectTransitivityFilter;
-import org.apache.maven.shared.artifact.filter.collection.ScopeFilter;
-import org.apache.maven.shared.artifact.filter.collection.TypeFilter;
 import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
+import org.apache.maven.shared.transfer.artifact.DefaultArtifactCoordinate;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
 import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
@@ -219,6 +222,16 @@ public abstract class AbstractDependencyFilterMojo
     //CHECKSTYLE_ON: LineLength
     protected File markersDirectory;
 
+    /**
+     * Keep the markers in a single index file in the {@link #markersDirectory}, instead of one file per artifact. The
+     * index is read once and written when the goal completes. Marker files written without the index are imported
+     * the first time the index is used.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.useMarkerIndex", defaultValue = "false" )
+    protected boolean useMarkerIndex;
+
     /**
      * Prepend the groupId during copy.
      *
@@ -227,9 +240,32 @@ public abstract class AbstractDependencyFilterMojo
     @Parameter( property = "mdep.prependGroupId", defaultValue = "false" )
     protected boolean prependGroupId = false;
 
+    /**
+     * The number of threads used to resolve artifacts, like the ones translated with {@link #classifier} and
+     * {@link #type}, and by <code>dependency:resolve</code> to read the module descriptors of the dependencies. A value
+     * of zero or less means one thread per available processor, <code>1</code> resolves the artifacts one after
+     * another.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.resolveThreads", defaultValue = "0" )
+    protected int resolveThreads;
+
+    /**
+     * The maximum number of resolved artifacts, like the ones translated with {@link #classifier} and {@link #type},
+     * kept for the whole session, so the other modules of the reactor do not resolve them again. The size is the one
+     * of the first module using the cache, and a value of zero or less disables the cache.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.resolutionCacheSize", defaultValue = "10000" )
+    protected int resolutionCacheSize = 10000;
+
     @Component
     private ProjectBuilder projectBuilder;
 
+    private MarkerIndex markerIndex;
+
     @Component
     private ArtifactHandlerManager artifactHandlerManager;
 
@@ -279,26 +315,24 @@ public abstract class AbstractDependencyFilterMojo
     protected DependencyStatusSets getDependencySets( boolean stopOnFailure, boolean includeParents )
         throws MojoExecutionException
     {
-        // add filters in well known order, least specific to most specific
-        FilterArtifacts filter = new FilterArtifacts();
-
-        filter.addFilter( new ProjectTransitivityFilter( getProject().getDependencyArtifacts(),
-                                                         this.excludeTransitive ) );
+        // all the filters in one pass, in the well known order, least specific to most specific
+        CompiledArtifactsFilter filter =
+            new CompiledArtifactsFilter( getProject().getDependencyArtifacts(), this.excludeTransitive );
 
-        filter.addFilter( new ScopeFilter( DependencyUtil.cleanToBeTokenizedString( this.includeScope ),
-                                           DependencyUtil.cleanToBeTokenizedString( this.excludeScope ) ) );
+        filter.setScopes( DependencyUtil.cleanToBeTokenizedString( this.includeScope ),
+                          DependencyUtil.cleanToBeTokenizedString( this.excludeScope ) );
 
-        filter.addFilter( new TypeFilter( DependencyUtil.cleanToBeTokenizedString( this.includeTypes ),
-                                          DependencyUtil.cleanToBeTokenizedString( this.excludeTypes ) ) );
+        filter.setTypes( DependencyUtil.cleanToBeTokenizedString( this.includeTypes ),
+                         DependencyUtil.cleanToBeTokenizedString( this.excludeTypes ) );
 
-        filter.addFilter( new ClassifierFilter( DependencyUtil.cleanToBeTokenizedString( this.includeClassifiers ),
-                                                DependencyUtil.cleanToBeTokenizedString( this.excludeClassifiers ) ) );
+        filter.setClassifiers( DependencyUtil.cleanToBeTokenizedString( this.includeClassifiers ),
+                               DependencyUtil.cleanToBeTokenizedString( this.excludeClassifiers ) );
 
-        filter.addFilter( new GroupIdFilter( DependencyUtil.cleanToBeTokenizedString( this.includeGroupIds ),
-                                             DependencyUtil.cleanToBeTokenizedString( this.excludeGroupIds ) ) );
+        filter.setGroupIds( DependencyUtil.cleanToBeTokenizedString( this.includeGroupIds ),
+                            DependencyUtil.cleanToBeTokenizedString( this.excludeGroupIds ) );
 
-        filter.addFilter( new ArtifactIdFilter( DependencyUtil.cleanToBeTokenizedString( this.includeArtifactIds ),
-                                                DependencyUtil.cleanToBeTokenizedString( this.excludeArtifactIds ) ) );
+        filter.setArtifactIds( DependencyUtil.cleanToBeTokenizedString( this.includeArtifactIds ),
+                               DependencyUtil.cleanToBeTokenizedString( this.excludeArtifactIds ) );
 
         // start with all artifacts.
         Set<Artifact> artifacts = getProject().getArtifacts();
@@ -368,8 +402,15 @@ public abstract class AbstractDependencyFilterMojo
             {
                 ProjectBuildingRequest buildingRequest = newResolveArtifactProjectBuildingRequest();
 
-                Artifact resolvedArtifact =
-                    artifactResolver.resolveArtifact( buildingRequest, project.getArtifact() ).getArtifact();
+                Artifact parentArtifact = project.getArtifact();
+                DefaultArtifactCoordinate coordinate = new DefaultArtifactCoordinate();
+                coordinate.setGroupId( parentArtifact.getGroupId() );
+                coordinate.setArtifactId( parentArtifact.getArtifactId() );
+                coordinate.setVersion( parentArtifact.getVersion() );
+                coordinate.setExtension( parentArtifact.getArtifactHandler().getExtension() );
+                coordinate.setClassifier( parentArtifact.getClassifier() );
+
+                Artifact resolvedArtifact = resolveArtifact( buildingRequest, coordinate );
 
                 artifacts.add( resolvedArtifact );
             }
@@ -467,30 +508,115 @@ public abstract class AbstractDependencyFilterMojo
     protected Set<Artifact> resolve( Set<ArtifactCoordinate> coordinates, boolean stopOnFailure )
         throws MojoExecutionException
     {
-        ProjectBuildingRequest buildingRequest = newResolveArtifactProjectBuildingRequest();
+        final ProjectBuildingRequest buildingRequest = newResolveArtifactProjectBuildingRequest();
 
         Set<Artifact> resolvedArtifacts = new LinkedHashSet<>();
-        for ( ArtifactCoordinate coordinate : coordinates )
+        try ( ParallelExecutor executor = new ParallelExecutor( resolveThreads, "mdep-resolve" ) )
         {
-            try
+            if ( !executor.isParallel() || coordinates.size() < 2 )
             {
-                Artifact artifact = artifactResolver.resolveArtifact( buildingRequest, coordinate ).getArtifact();
-                resolvedArtifacts.add( artifact );
+                for ( ArtifactCoordinate coordinate : coordinates )
+                {
+                    try
+                    {
+                        resolvedArtifacts.add( resolveArtifact( buildingRequest, coordinate ) );
+                    }
+                    catch ( ArtifactResolverException ex )
+                    {
+                        handleResolveFailure( coordinate, ex, stopOnFailure );
+                    }
+                }
+                return resolvedArtifacts;
             }
-            catch ( ArtifactResolverException ex )
+
+            // submit all coordinates at once, then gather the results in the original order
+            Map<ArtifactCoordinate, Future<Artifact>> resolutions = new LinkedHashMap<>();
+            for ( final ArtifactCoordinate coordinate : coordinates )
             {
-                // an error occurred during resolution, log it an continue
-                getLog().debug( "error resolving: " + coordinate );
-                getLog().debug( ex );
-                if ( stopOnFailure )
+                resolutions.put( coordinate, executor.submit( new Callable<Artifact>()
                 {
-                    throw new MojoExecutionException( "error resolving: " + coordinate, ex );
+                    @Override
+                    public Artifact call()
+                        throws ArtifactResolverException
+                    {
+                        return resolveArtifact( buildingRequest, coordinate );
+                    }
+                } ) );
+            }
+
+            for ( Map.Entry<ArtifactCoordinate, Future<Artifact>> entry : resolutions.entrySet() )
+            {
+                try
+                {
+                    resolvedArtifacts.add( ParallelExecutor.await( entry.getValue(),
+                                                                   ArtifactResolverException.class ) );
+                }
+                catch ( ArtifactResolverException ex )
+                {
+                    handleResolveFailure( entry.getKey(), ex, stopOnFailure );
                 }
             }
         }
         return resolvedArtifacts;
     }
 
+    /**
+     * Resolves an artifact, or takes it from the artifacts already resolved during the session. This method can be
+     * called from worker threads.
+     *
+     * @param buildingRequest the request to resolve the artifact with.
+     * @param coordinate the coordinate of the artifact.
+     * @return the resolved artifact.
+     * @throws ArtifactResolverException if the artifact can not be resolved.
+     */
+    protected Artifact resolveArtifact( ProjectBuildingRequest buildingRequest, ArtifactCoordinate coordinate )
+        throws ArtifactResolverException
+    {
+        ResolutionCache cache = getResolutionCache();
+        if ( cache == null )
+        {
+            return artifactResolver.resolveArtifact( buildingRequest, coordinate ).getArtifact();
+        }
+
+        String key = ResolutionCache.getKey( coordinate, ResolutionCache.getRepositoriesKey( buildingRequest ) );
+        Artifact artifact = cache.get( key );
+        if ( artifact == null )
+        {
+            artifact = artifactResolver.resolveArtifact( buildingRequest, coordinate ).getArtifact();
+            cache.put( key, artifact );
+        }
+        else if ( getLog().isDebugEnabled() )
+        {
+            getLog().debug( "Reusing " + artifact + " resolved by another module." );
+        }
+        return artifact;
+    }
+
+    /**
+     * @return the resolution cache of the session, <code>null</code> if it is disabled.
+     */
+    protected ResolutionCache getResolutionCache()
+    {
+        if ( resolutionCacheSize <= 0 || session == null )
+        {
+            return null;
+        }
+        return ResolutionCache.getInstance( session, resolutionCacheSize );
+    }
+
+    private void handleResolveFailure( ArtifactCoordinate coordinate, ArtifactResolverException ex,
+                                       boolean stopOnFailure )
+        throws MojoExecutionException
+    {
+        // an error occurred during resolution, log it an continue
+        getLog().debug( "error resolving: " + coordinate );
+        getLog().debug( ex );
+        if ( stopOnFailure )
+        {
+            throw new MojoExecutionException( "error resolving: " + coordinate, ex );
+        }
+    }
+
     /**
      * @return Returns the markersDirectory.
      */
@@ -507,6 +633,19 @@ public abstract class AbstractDependencyFilterMojo
         this.markersDirectory = theMarkersDirectory;
     }
 
+    /**
+     * @return the index holding the markers of the {@link #markersDirectory}, or <code>null</code> if
+     *         {@link #useMarkerIndex} is not set.
+     */
+    protected MarkerIndex getMarkerIndex()
+    {
+        if ( useMarkerIndex && markerIndex == null )
+        {
+            markerIndex = new MarkerIndex( this.markersDirectory );
+        }
+        return markerIndex;
+    }
+
     // TODO: Set marker files.
 
     /**
@@ -19,14 +19,21 @@ package org.apache.maven.plugins.dependency.fromDependencies;
  * under the License.
  */
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -41,7 +48,9 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.dependency.utils.ArtifactComparator;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.ManifestClassPathWriter;
 import org.apache.maven.project.MavenProjectHelper;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactsFilter;
 import org.apache.maven.shared.transfer.repository.RepositoryManager;
@@ -61,6 +70,11 @@ public class BuildClasspathMojo
     extends AbstractDependencyFilterMojo
     implements Comparator<Artifact>
 {
+    private static final String OUTPUT_FORMAT_CLASSPATH = "classpath";
+
+    private static final String OUTPUT_FORMAT_ARGFILE = "argfile";
+
+    private static final String OUTPUT_FORMAT_MANIFEST = "manifest";
 
     /**
      * Strip artifact version during copy (only works if prefix is set)
@@ -88,7 +102,9 @@ public class BuildClasspathMojo
     private String outputProperty;
 
     /**
-     * The file to write the classpath string. If undefined, it just prints the classpath as [INFO].
+     * The file to write the classpath string. If undefined, it just prints the classpath as [INFO]. The inputs of the
+     * classpath are fingerprinted in a <code>.fingerprint</code> file next to it, so the classpath is not even rebuilt
+     * while they do not change.
      */
     @Parameter( property = "mdep.outputFile" )
     private File outputFile;
@@ -129,6 +145,17 @@ public class BuildClasspathMojo
     @Parameter( property = "mdep.localRepoProperty", defaultValue = "" )
     private String localRepoProperty;
 
+    /**
+     * The format of the output file: <code>classpath</code> for the classpath string, <code>argfile</code> for a java
+     * argument file setting the classpath, to be used as <code>java @file</code>, or <code>manifest</code> for a jar
+     * manifest <code>Class-Path</code> attribute, with relative URLs when a prefix is set. The separators and the
+     * filtering format only apply to the classpath string.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.outputFormat", defaultValue = "classpath" )
+    private String outputFormat = OUTPUT_FORMAT_CLASSPATH;
+
     /**
      * Attach the classpath file to the main artifact so it can be installed and deployed.
      *
@@ -173,9 +200,12 @@ public class BuildClasspathMojo
     protected void doExecute()
         throws MojoExecutionException
     {
-        // initialize the separators.
-        boolean isFileSepSet = StringUtils.isNotEmpty( fileSeparator );
-        boolean isPathSepSet = StringUtils.isNotEmpty( pathSeparator );
+        if ( !OUTPUT_FORMAT_CLASSPATH.equals( outputFormat ) && !OUTPUT_FORMAT_ARGFILE.equals( outputFormat )
+            && !OUTPUT_FORMAT_MANIFEST.equals( outputFormat ) )
+        {
+            throw new MojoExecutionException( "Unknown output format '" + outputFormat + "', use one of "
+                + OUTPUT_FORMAT_CLASSPATH + ", " + OUTPUT_FORMAT_ARGFILE + " or " + OUTPUT_FORMAT_MANIFEST + "." );
+        }
 
         // don't allow them to have absolute paths when they attach.
         if ( attach && StringUtils.isEmpty( localRepoProperty ) )
@@ -183,6 +213,19 @@ public class BuildClasspathMojo
             localRepoProperty = "${M2_REPO}";
         }
 
+        // the classpath only needs to be rebuilt if it is not used by anything else than the file, and if the
+        // artifacts are known without resolving their classifier variants
+        String fingerprint = null;
+        if ( outputFile != null && outputProperty == null && !attach && StringUtils.isEmpty( classifier ) )
+        {
+            fingerprint = computeFingerprint();
+            if ( !regenerateFile && isFingerprintUpToDate( fingerprint ) )
+            {
+                this.getLog().info( "Skipped writing classpath file '" + outputFile + "'.  No changes found." );
+                return;
+            }
+        }
+
         Set<Artifact> artifacts = getResolvedDependencies( true );
 
         if ( artifacts == null || artifacts.isEmpty() )
@@ -192,8 +235,68 @@ public class BuildClasspathMojo
 
         List<Artifact> artList = new ArrayList<>( artifacts );
 
+        // the other formats are streamed to the file, the string is only needed for the property, the log or the
+        // attached file
+        boolean classpathFormat = OUTPUT_FORMAT_CLASSPATH.equals( outputFormat );
+        String cpString = null;
+        if ( classpathFormat || outputFile == null || outputProperty != null || attach )
+        {
+            cpString = buildClasspathString( artList );
+        }
+
+        if ( outputProperty != null )
+        {
+            getProject().getProperties().setProperty( outputProperty, cpString );
+            if ( getLog().isDebugEnabled() )
+            {
+                getLog().debug( outputProperty + " = " + cpString );
+            }
+        }
+
+        if ( outputFile == null )
+        {
+            getLog().info( "Dependencies classpath:" + System.lineSeparator() + cpString );
+        }
+        else
+        {
+            if ( !classpathFormat )
+            {
+                writeClasspathFile( artList );
+            }
+            else if ( regenerateFile || !isUpdToDate( cpString ) )
+            {
+                storeClasspathFile( cpString, outputFile );
+            }
+            else
+            {
+                this.getLog().info( "Skipped writing classpath file '" + outputFile + "'.  No changes found." );
+            }
+
+            if ( fingerprint != null )
+            {
+                storeFingerprint( fingerprint );
+            }
+        }
+        if ( attach )
+        {
+            attachFile( cpString );
+        }
+    }
+
+    /**
+     * Builds the classpath string, with the separators and the prefix for filtering.
+     *
+     * @param artifacts the artifacts of the classpath.
+     * @return the classpath string.
+     */
+    private String buildClasspathString( List<Artifact> artifacts )
+    {
+        // initialize the separators.
+        boolean isFileSepSet = StringUtils.isNotEmpty( fileSeparator );
+        boolean isPathSepSet = StringUtils.isNotEmpty( pathSeparator );
+
         StringBuilder sb = new StringBuilder();
-        Iterator<Artifact> i = artList.iterator();
+        Iterator<Artifact> i = artifacts.iterator();
 
         if ( i.hasNext() )
         {
@@ -224,33 +327,74 @@ public class BuildClasspathMojo
             cpString = "classpath=" + cpString;
         }
 
-        if ( outputProperty != null )
-        {
-            getProject().getProperties().setProperty( outputProperty, cpString );
-            if ( getLog().isDebugEnabled() )
-            {
-                getLog().debug( outputProperty + " = " + cpString );
-            }
-        }
+        return cpString;
+    }
 
-        if ( outputFile == null )
-        {
-            getLog().info( "Dependencies classpath:" + System.lineSeparator() + cpString );
-        }
-        else
+    /**
+     * Streams the classpath into the output file as a java argument file or as a manifest attribute, one artifact at a
+     * time.
+     *
+     * @param artifacts the artifacts of the classpath.
+     * @throws MojoExecutionException in case of an error.
+     */
+    private void writeClasspathFile( List<Artifact> artifacts )
+        throws MojoExecutionException
+    {
+        // make sure the parent path exists.
+        outputFile.getParentFile().mkdirs();
+
+        StringBuilder entry = new StringBuilder();
+        try
         {
-            if ( regenerateFile || !isUpdToDate( cpString ) )
+            if ( OUTPUT_FORMAT_MANIFEST.equals( outputFormat ) )
             {
-                storeClasspathFile( cpString, outputFile );
+                try ( ManifestClassPathWriter w =
+                    new ManifestClassPathWriter( new BufferedOutputStream( new FileOutputStream( outputFile ) ) ) )
+                {
+                    for ( Artifact artifact : artifacts )
+                    {
+                        entry.setLength( 0 );
+                        appendArtifactPath( artifact, entry );
+                        w.addEntry( entry );
+                    }
+                }
             }
             else
             {
-                this.getLog().info( "Skipped writing classpath file '" + outputFile + "'.  No changes found." );
+                // the java launcher reads argument files with the platform charset
+                try ( Writer w = new BufferedWriter( new FileWriter( outputFile ) ) )
+                {
+                    w.write( "-classpath" );
+                    w.write( System.lineSeparator() );
+                    w.write( '"' );
+                    for ( int i = 0; i < artifacts.size(); i++ )
+                    {
+                        if ( i > 0 )
+                        {
+                            w.write( File.pathSeparator );
+                        }
+                        entry.setLength( 0 );
+                        appendArtifactPath( artifacts.get( i ), entry );
+                        for ( int j = 0; j < entry.length(); j++ )
+                        {
+                            char c = entry.charAt( j );
+                            if ( c == '\\' || c == '"' )
+                            {
+                                w.write( '\\' );
+                            }
+                            w.write( c );
+                        }
+                    }
+                    w.write( '"' );
+                    w.write( System.lineSeparator() );
+                }
             }
+            getLog().info( "Wrote classpath file '" + outputFile + "'." );
         }
-        if ( attach )
+        catch ( IOException ex )
         {
-            attachFile( cpString );
+            throw new MojoExecutionException( "Error while writing to classpath file '" + outputFile + "': "
+                + ex.toString(), ex );
         }
     }
 
@@ -320,6 +464,116 @@ public class BuildClasspathMojo
         }
     }
 
+    /**
+     * Computes a fingerprint of everything the classpath file depends on: the artifacts of the project, before they are
+     * filtered, and the parameters of the mojo.
+     *
+     * @return the fingerprint, in hexadecimal.
+     * @throws MojoExecutionException if no digest is available.
+     */
+    private String computeFingerprint()
+        throws MojoExecutionException
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-1" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+
+        Set<Artifact> directArtifacts = getProject().getDependencyArtifacts();
+        StringBuilder sb = new StringBuilder();
+        for ( Artifact artifact : getProject().getArtifacts() )
+        {
+            boolean direct = directArtifacts != null && directArtifacts.contains( artifact );
+            appendFingerprintValues( sb, artifact.getId(), artifact.getBaseVersion(), artifact.getScope(),
+                                     artifact.getFile(), direct );
+        }
+        appendFingerprintValues( sb, prefix, stripVersion, stripClassifier, prependGroupId, useBaseVersion,
+                                 fileSeparator, pathSeparator, localRepoProperty, outputFilterFile, outputFormat, type,
+                                 excludeTransitive, includeScope, excludeScope, includeTypes, excludeTypes,
+                                 includeClassifiers, excludeClassifiers, includeGroupIds, excludeGroupIds,
+                                 includeArtifactIds, excludeArtifactIds, File.separator, File.pathSeparator );
+
+        byte[] hash = digest.digest( sb.toString().getBytes( StandardCharsets.UTF_8 ) );
+        StringBuilder hex = new StringBuilder( hash.length * 2 );
+        for ( byte b : hash )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return hex.toString();
+    }
+
+    private static void appendFingerprintValues( StringBuilder sb, Object... values )
+    {
+        for ( Object value : values )
+        {
+            sb.append( value ).append( '|' );
+        }
+        sb.append( '\n' );
+    }
+
+    /**
+     * @return the file, next to the classpath file, which keeps the fingerprint of the last written classpath.
+     */
+    private File getFingerprintFile()
+    {
+        return new File( outputFile.getPath() + ".fingerprint" );
+    }
+
+    /**
+     * Checks that the classpath file was written from the same inputs, and was not changed since.
+     *
+     * @param fingerprint the fingerprint of the current inputs.
+     * @return true if the classpath file is up to date, false otherwise.
+     */
+    private boolean isFingerprintUpToDate( String fingerprint )
+    {
+        File fingerprintFile = getFingerprintFile();
+        if ( !outputFile.isFile() || !fingerprintFile.isFile() )
+        {
+            return false;
+        }
+
+        try
+        {
+            List<String> lines = Files.readAllLines( fingerprintFile.toPath(), StandardCharsets.UTF_8 );
+            return lines.size() == 3 && fingerprint.equals( lines.get( 0 ) )
+                && Long.parseLong( lines.get( 1 ) ) == outputFile.length()
+                && Long.parseLong( lines.get( 2 ) ) == outputFile.lastModified();
+        }
+        catch ( IOException | NumberFormatException e )
+        {
+            this.getLog().debug( "Error while reading fingerprint file '" + fingerprintFile + "': " + e );
+
+            return false;
+        }
+    }
+
+    /**
+     * Stores the fingerprint along with the size and timestamp of the classpath file, so a changed file is rewritten.
+     *
+     * @param fingerprint the fingerprint of the current inputs.
+     */
+    private void storeFingerprint( String fingerprint )
+    {
+        File fingerprintFile = getFingerprintFile();
+        try
+        {
+            Files.write( fingerprintFile.toPath(),
+                         Arrays.asList( fingerprint, String.valueOf( outputFile.length() ),
+                                        String.valueOf( outputFile.lastModified() ) ),
+                         StandardCharsets.UTF_8 );
+        }
+        catch ( IOException e )
+        {
+            this.getLog().warn( "Error while writing fingerprint file '" + fingerprintFile + "': " + e );
+        }
+    }
+
     /**
      * It stores the specified string into that file.
      *
@@ -396,34 +650,17 @@ public class BuildClasspathMojo
     }
 
     /**
-     * Compares artifacts lexicographically, using pattern [group_id][artifact_id][version].
+     * Compares artifacts field by field, with {@link ArtifactComparator}.
      *
      * @param art1 first object
      * @param art2 second object
-     * @return the value <code>0</code> if the argument string is equal to this string; a value less than <code>0</code>
-     *         if this string is lexicographically less than the string argument; and a value greater than
-     *         <code>0</code> if this string is lexicographically greater than the string argument.
+     * @return a negative integer, zero, or a positive integer as the first artifact is less than, equal to, or greater
+     *         than the second.
      */
     @Override
     public int compare( Artifact art1, Artifact art2 )
     {
-        if ( art1 == art2 )
-        {
-            return 0;
-        }
-        else if ( art1 == null )
-        {
-            return -1;
-        }
-        else if ( art2 == null )
-        {
-            return +1;
-        }
-
-        String s1 = art1.getGroupId() + art1.getArtifactId() + art1.getVersion();
-        String s2 = art2.getGroupId() + art2.getArtifactId() + art2.getVersion();
-
-        return s1.compareTo( s2 );
+        return ArtifactComparator.INSTANCE.compare( art1, art2 );
     }
 
     @Override
@@ -440,6 +677,14 @@ public class BuildClasspathMojo
         this.outputFile = outputFile;
     }
 
+    /**
+     * @param outputFormat the outputFormat to set
+     */
+    public void setOutputFormat( String outputFormat )
+    {
+        this.outputFormat = outputFormat;
+    }
+
     /**
      * @param theOutputProperty the outputProperty to set
      */
@@ -20,11 +20,20 @@ package org.apache.maven.plugins.dependency.fromDependencies;
  */
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.repository.layout.ArtifactRepositoryLayout;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Component;
@@ -34,6 +43,8 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.IncrementalCopyState;
+import org.apache.maven.plugins.dependency.utils.ParallelExecutor;
 import org.apache.maven.plugins.dependency.utils.filters.DestFileFilter;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactsFilter;
@@ -91,6 +102,28 @@ public class CopyDependenciesMojo
     @Parameter( property = "mdep.addParentPoms", defaultValue = "false" )
     protected boolean addParentPoms;
 
+    /**
+     * The number of threads used to copy the dependencies. A value of zero or less means one thread per available
+     * processor, <code>1</code> copies the dependencies one after another. Not used with
+     * {@link #useRepositoryLayout}.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.copyDependencies.threads", defaultValue = "0" )
+    protected int threads;
+
+    /**
+     * Copy only the dependencies that changed since the previous build. The source file, size, modification time and
+     * destination file of each copied dependency are kept in a state file in the {@link #markersDirectory}, the
+     * dependencies matching it are skipped without looking at the destination directory, and the files copied for
+     * dependencies that were removed are deleted. {@link #overWriteIfNewer} is not used in this mode. Not used with
+     * {@link #useRepositoryLayout}.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.copyDependencies.incremental", defaultValue = "false" )
+    protected boolean incremental;
+
     /**
      * <i>not used in this goal</i>
      */
@@ -116,14 +149,19 @@ public class CopyDependenciesMojo
     {
         DependencyStatusSets dss = getDependencySets( this.failOnMissingClassifierArtifact, addParentPoms );
         Set<Artifact> artifacts = dss.getResolvedDependencies();
+        Set<Artifact> skippedArtifacts = dss.getSkippedDependencies();
 
-        if ( !useRepositoryLayout )
+        if ( !useRepositoryLayout && incremental )
         {
-            for ( Artifact artifact : artifacts )
-            {
-                copyArtifact( artifact, isStripVersion(), this.prependGroupId, this.useBaseVersion,
-                              this.stripClassifier );
-            }
+            Set<Artifact> upToDateArtifacts = copyArtifactsIncrementally( artifacts );
+            artifacts = new LinkedHashSet<>( artifacts );
+            artifacts.removeAll( upToDateArtifacts );
+            skippedArtifacts = new LinkedHashSet<>( skippedArtifacts );
+            skippedArtifacts.addAll( upToDateArtifacts );
+        }
+        else if ( !useRepositoryLayout )
+        {
+            copyArtifacts( artifacts );
         }
         else
         {
@@ -137,7 +175,6 @@ public class CopyDependenciesMojo
             }
         }
 
-        Set<Artifact> skippedArtifacts = dss.getSkippedDependencies();
         for ( Artifact artifact : skippedArtifacts )
         {
             getLog().info( artifact.getId() + " already exists in destination." );
@@ -154,6 +191,138 @@ public class CopyDependenciesMojo
         }
     }
 
+    /**
+     * Copies the artifacts on a pool of {@link #threads} worker threads. The destination files are computed and their
+     * directories created up front, and the copies are logged and awaited in the order of the artifacts, so the output
+     * and the reported failure do not depend on the scheduling of the workers. Artifacts sharing a destination file
+     * are copied by a single task in their original order.
+     *
+     * @param artifacts the artifacts to copy.
+     * @throws MojoExecutionException with a message if an error occurs.
+     */
+    private void copyArtifacts( Set<Artifact> artifacts )
+        throws MojoExecutionException
+    {
+        try ( ParallelExecutor executor = new ParallelExecutor( threads, "mdep-copy" ) )
+        {
+            if ( !executor.isParallel() )
+            {
+                for ( Artifact artifact : artifacts )
+                {
+                    copyArtifact( artifact, isStripVersion(), this.prependGroupId, this.useBaseVersion,
+                                  this.stripClassifier );
+                }
+                return;
+            }
+
+            Map<Artifact, File> destFiles = new LinkedHashMap<>();
+            Map<File, List<File>> sourcesByDestFile = new LinkedHashMap<>();
+            for ( Artifact artifact : artifacts )
+            {
+                File destFile = getDestFile( artifact, isStripVersion(), this.prependGroupId, this.useBaseVersion,
+                                             this.stripClassifier );
+                destFiles.put( artifact, destFile );
+
+                List<File> sources = sourcesByDestFile.get( destFile );
+                if ( sources == null )
+                {
+                    sources = new ArrayList<>();
+                    sourcesByDestFile.put( destFile, sources );
+                    destFile.getParentFile().mkdirs();
+                }
+                sources.add( artifact.getFile() );
+            }
+
+            Map<File, Future<Void>> copies = new HashMap<>();
+            for ( Map.Entry<File, List<File>> entry : sourcesByDestFile.entrySet() )
+            {
+                copies.put( entry.getKey(), executor.submit( newCopyTask( entry.getValue(), entry.getKey() ) ) );
+            }
+
+            for ( Map.Entry<Artifact, File> entry : destFiles.entrySet() )
+            {
+                logCopy( entry.getKey().getFile(), entry.getValue() );
+                ParallelExecutor.await( copies.get( entry.getValue() ) );
+            }
+        }
+    }
+
+    /**
+     * Copies the artifacts which changed since the state saved by the previous build, and deletes the files copied for
+     * artifacts which are no longer dependencies. The state is only saved once all the copies succeeded.
+     *
+     * @param artifacts the artifacts to copy.
+     * @return the artifacts which were already up to date in the destination.
+     * @throws MojoExecutionException with a message if an error occurs.
+     */
+    private Set<Artifact> copyArtifactsIncrementally( Set<Artifact> artifacts )
+        throws MojoExecutionException
+    {
+        File stateFile = getIncrementalStateFile();
+        try
+        {
+            IncrementalCopyState state = new IncrementalCopyState( stateFile );
+
+            Set<Artifact> changedArtifacts = new LinkedHashSet<>();
+            Set<Artifact> upToDateArtifacts = new LinkedHashSet<>();
+            for ( Artifact artifact : artifacts )
+            {
+                File destFile = getDestFile( artifact, isStripVersion(), this.prependGroupId, this.useBaseVersion,
+                                             this.stripClassifier );
+                boolean overWrite = artifact.isSnapshot() ? this.overWriteSnapshots : this.overWriteReleases;
+                if ( state.isUpToDate( artifact.getId(), artifact.getFile(), destFile ) && !overWrite )
+                {
+                    upToDateArtifacts.add( artifact );
+                }
+                else
+                {
+                    changedArtifacts.add( artifact );
+                }
+            }
+
+            for ( File staleFile : state.getStaleFiles() )
+            {
+                if ( staleFile.delete() )
+                {
+                    getLog().info( "Deleted " + staleFile + ", it is no longer a dependency." );
+                }
+            }
+
+            copyArtifacts( changedArtifacts );
+            state.save();
+
+            return upToDateArtifacts;
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Error updating the incremental copy state " + stateFile, e );
+        }
+    }
+
+    private File getIncrementalStateFile()
+    {
+        // one state per output directory, several executions may copy to different directories
+        String key = Integer.toHexString( outputDirectory.getAbsolutePath().hashCode() );
+        return new File( markersDirectory, "copy-dependencies-" + key + ".state" );
+    }
+
+    private Callable<Void> newCopyTask( final List<File> sources, final File destFile )
+    {
+        return new Callable<Void>()
+        {
+            @Override
+            public Void call()
+                throws MojoExecutionException
+            {
+                for ( File source : sources )
+                {
+                    doCopyFile( source, destFile );
+                }
+                return null;
+            }
+        };
+    }
+
     /**
      * install the artifact and the corresponding pom if copyPoms=true
      * 
@@ -188,16 +357,10 @@ public class CopyDependenciesMojo
     {
         if ( artifact.isSnapshot() && !artifact.getBaseVersion().equals( artifact.getVersion() ) )
         {
-            String version = artifact.getVersion();
-            try
-            {
-                artifact.setVersion( artifact.getBaseVersion() );
-                installer.install( buildingRequest, Collections.singletonList( artifact ) );
-            }
-            finally
-            {
-                artifact.setVersion( version );
-            }
+            // install a copy, the artifact may be shared with the other modules of a parallel build
+            Artifact baseSnapshot = ArtifactUtils.copyArtifact( artifact );
+            baseSnapshot.setVersion( artifact.getBaseVersion() );
+            installer.install( buildingRequest, Collections.singletonList( baseSnapshot ) );
         }
     }
 
@@ -236,7 +399,14 @@ public class CopyDependenciesMojo
                                  boolean theUseBaseVersion, boolean removeClassifier )
         throws MojoExecutionException
     {
+        File destFile = getDestFile( artifact, removeVersion, prependGroupId, theUseBaseVersion, removeClassifier );
+
+        copyFile( artifact.getFile(), destFile );
+    }
 
+    private File getDestFile( Artifact artifact, boolean removeVersion, boolean prependGroupId,
+                              boolean theUseBaseVersion, boolean removeClassifier )
+    {
         String destFileName = DependencyUtil.getFormattedFileName( artifact, removeVersion, prependGroupId,
                                                                    theUseBaseVersion, removeClassifier );
 
@@ -244,9 +414,7 @@ public class CopyDependenciesMojo
         destDir = DependencyUtil.getFormattedOutputDirectory( useSubDirectoryPerScope, useSubDirectoryPerType,
                                                               useSubDirectoryPerArtifact, useRepositoryLayout,
                                                               stripVersion, outputDirectory, artifact );
-        File destFile = new File( destDir, destFileName );
-
-        copyFile( artifact.getFile(), destFile );
+        return new File( destDir, destFileName );
     }
 
     /**
@@ -313,7 +481,7 @@ public class CopyDependenciesMojo
         {
             ProjectBuildingRequest buildingRequest = newResolveArtifactProjectBuildingRequest();
 
-            pomArtifact = getArtifactResolver().resolveArtifact( buildingRequest, coordinate ).getArtifact();
+            pomArtifact = resolveArtifact( buildingRequest, coordinate );
         }
         catch ( ArtifactResolverException e )
         {
@@ -325,6 +493,11 @@ public class CopyDependenciesMojo
     @Override
     protected ArtifactsFilter getMarkedArtifactFilter()
     {
+        if ( incremental && !useRepositoryLayout )
+        {
+            // the incremental state decides what to copy
+            return null;
+        }
         return new DestFileFilter( this.overWriteReleases, this.overWriteSnapshots, this.overWriteIfNewer,
                                    this.useSubDirectoryPerArtifact, this.useSubDirectoryPerType,
                                    this.useSubDirectoryPerScope, this.useRepositoryLayout, this.stripVersion,
@@ -21,8 +21,10 @@ package org.apache.maven.plugins.dependency.fromDependencies;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.utils.ArchiveOverlaps;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelExecutor;
 import org.apache.maven.plugins.dependency.utils.filters.MarkerFileFilter;
 import org.apache.maven.plugins.dependency.utils.markers.DefaultFileMarkerHandler;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -31,8 +33,18 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactsFilter;
 import org.codehaus.plexus.components.io.filemappers.FileMapper;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 /**
  * Goal that unpacks the project dependencies from the repository to a defined location.
@@ -82,6 +94,18 @@ public class UnpackDependenciesMojo
     @Parameter( property = "mdep.unpack.filemappers" )
     private FileMapper[] fileMappers;
 
+    /**
+     * The number of threads used to unpack the dependencies. A value of zero or less means one thread per available
+     * processor, <code>1</code> unpacks the dependencies one after another. Archives unpacked into the same directory
+     * skip the entries a later archive overwrites, so the result is the same as with a sequential unpack. If the
+     * entries of such archives can not be listed up front, or {@link #fileMappers} are used, they are unpacked one
+     * after another.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.unpack.threads", defaultValue = "0" )
+    private int threads;
+
     /**
      * Main entry into mojo. This method gets the dependencies and iterates through each one passing it to
      * DependencyUtil.unpackFile().
@@ -96,14 +120,26 @@ public class UnpackDependenciesMojo
     {
         DependencyStatusSets dss = getDependencySets( this.failOnMissingClassifierArtifact );
 
-        for ( Artifact artifact : dss.getResolvedDependencies() )
+        try ( ParallelExecutor executor = new ParallelExecutor( threads, "mdep-unpack" ) )
         {
-            File destDir = DependencyUtil.getFormattedOutputDirectory( useSubDirectoryPerScope, useSubDirectoryPerType,
-                                                                  useSubDirectoryPerArtifact, useRepositoryLayout,
-                                                                  stripVersion, outputDirectory, artifact );
-            unpack( artifact, destDir, getIncludes(), getExcludes(), getEncoding(), getFileMappers() );
-            DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler( artifact, this.markersDirectory );
-            handler.setMarker();
+            if ( executor.isParallel() )
+            {
+                unpackArtifacts( executor, dss.getResolvedDependencies() );
+            }
+            else
+            {
+                for ( Artifact artifact : dss.getResolvedDependencies() )
+                {
+                    unpack( artifact, getDestDir( artifact ), getIncludes(), getExcludes(), getEncoding(),
+                            getFileMappers() );
+                    newMarkerHandler( artifact ).setMarker();
+                }
+            }
+        }
+
+        if ( getMarkerIndex() != null )
+        {
+            getMarkerIndex().save();
         }
 
         for ( Artifact artifact : dss.getSkippedDependencies() )
@@ -112,11 +148,119 @@ public class UnpackDependenciesMojo
         }
     }
 
+    /**
+     * Unpacks the artifacts on the worker threads of the given executor. The unpacking is logged, awaited and marked
+     * in the order of the artifacts, so the output and the reported failure do not depend on the scheduling of the
+     * workers.
+     *
+     * @param executor the executor to unpack with.
+     * @param artifacts the artifacts to unpack.
+     * @throws MojoExecutionException with a message if an error occurs.
+     */
+    private void unpackArtifacts( ParallelExecutor executor, Set<Artifact> artifacts )
+        throws MojoExecutionException
+    {
+        Map<File, List<Artifact>> artifactsByDestDir = new LinkedHashMap<>();
+        for ( Artifact artifact : artifacts )
+        {
+            File destDir = getDestDir( artifact );
+            List<Artifact> group = artifactsByDestDir.get( destDir );
+            if ( group == null )
+            {
+                group = new ArrayList<>();
+                artifactsByDestDir.put( destDir, group );
+            }
+            group.add( artifact );
+        }
+
+        Map<Artifact, Future<Void>> unpacks = new HashMap<>();
+        for ( Map.Entry<File, List<Artifact>> entry : artifactsByDestDir.entrySet() )
+        {
+            File destDir = entry.getKey();
+            List<Artifact> group = entry.getValue();
+
+            List<Set<String>> overwritten = null;
+            if ( group.size() > 1 && getFileMappers() == null )
+            {
+                List<File> archives = new ArrayList<>( group.size() );
+                for ( Artifact artifact : group )
+                {
+                    archives.add( artifact.getFile() );
+                }
+                overwritten =
+                    ArchiveOverlaps.findOverwrittenEntries( archives, getIncludes(), getExcludes(), getEncoding() );
+            }
+
+            if ( group.size() > 1 && overwritten == null )
+            {
+                getLog().debug( "Unpacking the archives for " + destDir + " one after another" );
+                Future<Void> unpack = executor.submit( newUnpackTask( group, destDir, null ) );
+                for ( Artifact artifact : group )
+                {
+                    unpacks.put( artifact, unpack );
+                }
+                continue;
+            }
+
+            for ( int i = 0; i < group.size(); i++ )
+            {
+                Artifact artifact = group.get( i );
+                FileSelector selector = null;
+                if ( overwritten != null && !overwritten.get( i ).isEmpty() )
+                {
+                    selector = ArchiveOverlaps.newSkippingSelector( overwritten.get( i ) );
+                }
+                unpacks.put( artifact, executor.submit( newUnpackTask( Collections.singletonList( artifact ),
+                                                                       destDir, selector ) ) );
+            }
+        }
+
+        for ( Artifact artifact : artifacts )
+        {
+            logUnpack( artifact.getFile(), getDestDir( artifact ), getIncludes(), getExcludes() );
+            ParallelExecutor.await( unpacks.get( artifact ) );
+            newMarkerHandler( artifact ).setMarker();
+        }
+    }
+
+    private Callable<Void> newUnpackTask( final List<Artifact> group, final File destDir,
+                                          final FileSelector selector )
+    {
+        return new Callable<Void>()
+        {
+            @Override
+            public Void call()
+                throws MojoExecutionException
+            {
+                for ( Artifact artifact : group )
+                {
+                    doUnpack( artifact.getFile(), artifact.getType(), destDir, getIncludes(), getExcludes(),
+                              getEncoding(), getFileMappers(), selector );
+                }
+                return null;
+            }
+        };
+    }
+
+    private File getDestDir( Artifact artifact )
+    {
+        return DependencyUtil.getFormattedOutputDirectory( useSubDirectoryPerScope, useSubDirectoryPerType,
+                                                           useSubDirectoryPerArtifact, useRepositoryLayout,
+                                                           stripVersion, outputDirectory, artifact );
+    }
+
+    private DefaultFileMarkerHandler newMarkerHandler( Artifact artifact )
+    {
+        DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler( artifact, this.markersDirectory );
+        handler.setMarkerIndex( getMarkerIndex() );
+        return handler;
+    }
+
     @Override
     protected ArtifactsFilter getMarkedArtifactFilter()
     {
         return new MarkerFileFilter( this.overWriteReleases, this.overWriteSnapshots, this.overWriteIfNewer,
-                                     new DefaultFileMarkerHandler( this.markersDirectory ) );
+                                     newMarkerHandler( null ) );
     }
 
     /**
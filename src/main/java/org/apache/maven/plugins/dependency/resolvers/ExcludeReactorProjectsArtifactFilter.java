@@ -29,7 +29,6 @@ import org.apache.maven.shared.artifact.filter.collection.ArtifactFilterExceptio
 
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -45,11 +44,7 @@ public class ExcludeReactorProjectsArtifactFilter extends AbstractArtifactsFilte
     public ExcludeReactorProjectsArtifactFilter( final List<MavenProject> reactorProjects, final Log log )
     {
         this.log = log;
-        this.reactorArtifactKeys = new HashSet<>( reactorProjects.size() );
-        for ( final MavenProject project : reactorProjects )
-        {
-            this.reactorArtifactKeys.add( ArtifactUtils.key( project.getArtifact() ) );
-        }
+        this.reactorArtifactKeys = ReactorArtifactKeys.of( reactorProjects );
     }
 
     @Override
@@ -59,7 +54,9 @@ public class ExcludeReactorProjectsArtifactFilter extends AbstractArtifactsFilte
 
         for ( final Artifact artifact : artifacts )
         {
-            if ( !isArtifactInReactor( artifact ) )
+            // This check only includes GAV. Should we take a look at the types, too?
+            final String artifactKey = ArtifactUtils.key( artifact );
+            if ( !reactorArtifactKeys.contains( artifactKey ) )
             {
                 results.add( artifact );
             }
@@ -68,7 +65,7 @@ public class ExcludeReactorProjectsArtifactFilter extends AbstractArtifactsFilte
                 if ( log.isDebugEnabled() )
                 {
                     log.debug( "Skipped artifact "
-                            + ArtifactUtils.key( artifact )
+                            + artifactKey
                             + " because it is present in the reactor" );
                 }
             }
@@ -76,19 +73,4 @@ public class ExcludeReactorProjectsArtifactFilter extends AbstractArtifactsFilte
 
         return results;
     }
-
-    private boolean isArtifactInReactor( final Artifact artifact )
-    {
-        for ( final String reactorArtifactKey : this.reactorArtifactKeys )
-        {
-            final String artifactKey = ArtifactUtils.key( artifact );
-
-            // This check only includes GAV. Should we take a look at the types, too?
-            if ( reactorArtifactKey.equals( artifactKey ) )
-            {
-                return true;
-            }
-        }
-        return false;
-    }
 }
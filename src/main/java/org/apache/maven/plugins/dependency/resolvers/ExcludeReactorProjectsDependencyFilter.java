@@ -27,7 +27,6 @@ import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
 import org.apache.maven.shared.artifact.filter.resolve.Node;
 import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -44,11 +43,7 @@ public class ExcludeReactorProjectsDependencyFilter extends AbstractFilter
     public ExcludeReactorProjectsDependencyFilter( final List<MavenProject> reactorProjects, final Log log )
     {
         this.log = log;
-        this.reactorArtifactKeys = new HashSet<>( reactorProjects.size() );
-        for ( final MavenProject project : reactorProjects )
-        {
-            this.reactorArtifactKeys.add( ArtifactUtils.key( project.getArtifact() ) );
-        }
+        this.reactorArtifactKeys = ReactorArtifactKeys.of( reactorProjects );
     }
 
     @Override
@@ -60,7 +55,8 @@ public class ExcludeReactorProjectsDependencyFilter extends AbstractFilter
             final String dependencyArtifactKey = ArtifactUtils.key(
                     dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion() );
 
-            final boolean result = isDependencyArtifactInReactor( dependencyArtifactKey );
+            // This check only includes GAV. Should we take a look at the types, too?
+            final boolean result = reactorArtifactKeys.contains( dependencyArtifactKey );
 
             if ( log.isDebugEnabled() && result )
             {
@@ -73,17 +69,4 @@ public class ExcludeReactorProjectsDependencyFilter extends AbstractFilter
         }
         return true;
     }
-
-    private boolean isDependencyArtifactInReactor( final String dependencyArtifactKey )
-    {
-        for ( final String reactorArtifactKey : this.reactorArtifactKeys )
-        {
-            // This check only includes GAV. Should we take a look at the types, too?
-            if ( reactorArtifactKey.equals( dependencyArtifactKey ) )
-            {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -23,6 +23,7 @@ import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelExecutor;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingRequest;
@@ -33,10 +34,16 @@ import org.apache.maven.shared.transfer.dependencies.DefaultDependableCoordinate
 import org.apache.maven.shared.transfer.dependencies.DependableCoordinate;
 import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolverException;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 /**
  * Goal that resolves all project dependencies, including plugins and reports and their dependencies.
@@ -95,45 +102,103 @@ public class GoOfflineMojo
      *
      * @return set of resolved dependency artifacts.
      * @throws DependencyResolverException in case of an error while resolving the artifacts.
+     * @throws MojoExecutionException in case of an error while waiting for the worker threads.
      */
     protected Set<Artifact> resolveDependencyArtifacts()
-            throws DependencyResolverException
+            throws DependencyResolverException, MojoExecutionException
     {
         final Collection<Dependency> dependencies = getProject().getDependencies();
-        final Set<DependableCoordinate> dependableCoordinates = new HashSet<>();
+        final Map<String, DependableCoordinate> dependableCoordinates = new LinkedHashMap<>();
         final ProjectBuildingRequest buildingRequest =
                 new DefaultProjectBuildingRequest( session.getProjectBuildingRequest() );
 
         for ( Dependency dependency : dependencies )
         {
-            dependableCoordinates.add( createDependendableCoordinateFromDependency( dependency ) );
+            addDependableCoordinate( dependableCoordinates,
+                                     createDependendableCoordinateFromDependency( dependency ) );
         }
 
-        return resolveDependableCoordinate( buildingRequest, dependableCoordinates );
+        return resolveDependableCoordinate( buildingRequest, dependableCoordinates.values() );
     }
 
+    /**
+     * Resolves the dependencies of each coordinate, on {@link #resolveThreads} worker threads. The graphs of the
+     * coordinates mostly share their nodes, the POMs of those are read once per session thanks to the repository
+     * cache of the session, and the artifacts are downloaded once to the local repository.
+     */
     private Set<Artifact> resolveDependableCoordinate( final ProjectBuildingRequest buildingRequest,
                                                         final Collection<DependableCoordinate> dependableCoordinates )
-            throws DependencyResolverException
+            throws DependencyResolverException, MojoExecutionException
     {
         final TransformableFilter filter = getTransformableFilter();
 
         final Set<Artifact> results = new HashSet<>();
 
-        for ( DependableCoordinate dependableCoordinate : dependableCoordinates )
+        try ( ParallelExecutor executor = new ParallelExecutor( resolveThreads, "mdep-go-offline" ) )
         {
-            final Iterable<ArtifactResult> artifactResults = getDependencyResolver().resolveDependencies(
-                    buildingRequest, dependableCoordinate, filter );
+            if ( !executor.isParallel() )
+            {
+                for ( DependableCoordinate dependableCoordinate : dependableCoordinates )
+                {
+                    results.addAll( resolveDependencies( buildingRequest, dependableCoordinate, filter ) );
+                }
+                return results;
+            }
 
-            for ( final ArtifactResult artifactResult : artifactResults )
+            final List<Future<List<Artifact>>> resolutions = new ArrayList<>( dependableCoordinates.size() );
+            for ( final DependableCoordinate dependableCoordinate : dependableCoordinates )
             {
-                results.add( artifactResult.getArtifact() );
+                resolutions.add( executor.submit( new Callable<List<Artifact>>()
+                {
+                    @Override
+                    public List<Artifact> call()
+                        throws DependencyResolverException
+                    {
+                        return resolveDependencies( buildingRequest, dependableCoordinate, filter );
+                    }
+                } ) );
+            }
+
+            for ( Future<List<Artifact>> resolution : resolutions )
+            {
+                results.addAll( ParallelExecutor.await( resolution, DependencyResolverException.class ) );
             }
         }
 
         return results;
     }
 
+    private List<Artifact> resolveDependencies( final ProjectBuildingRequest buildingRequest,
+                                                final DependableCoordinate dependableCoordinate,
+                                                final TransformableFilter filter )
+            throws DependencyResolverException
+    {
+        final Iterable<ArtifactResult> artifactResults = getDependencyResolver().resolveDependencies(
+                buildingRequest, dependableCoordinate, filter );
+
+        final List<Artifact> artifacts = new ArrayList<>();
+        for ( final ArtifactResult artifactResult : artifactResults )
+        {
+            artifacts.add( artifactResult.getArtifact() );
+        }
+        return artifacts;
+    }
+
+    /**
+     * Adds a coordinate unless an equal one was already added, as {@link DependableCoordinate} has no equality.
+     */
+    private static void addDependableCoordinate( final Map<String, DependableCoordinate> dependableCoordinates,
+                                                 final DependableCoordinate dependableCoordinate )
+    {
+        final String key = dependableCoordinate.getGroupId() + ":" + dependableCoordinate.getArtifactId() + ":"
+            + dependableCoordinate.getType() + ":" + dependableCoordinate.getClassifier() + ":"
+            + dependableCoordinate.getVersion();
+        if ( !dependableCoordinates.containsKey( key ) )
+        {
+            dependableCoordinates.put( key, dependableCoordinate );
+        }
+    }
+
     private TransformableFilter getTransformableFilter()
     {
         if ( this.excludeReactor )
@@ -151,11 +216,12 @@ public class GoOfflineMojo
      *
      * @return set of resolved plugin artifacts.
      * @throws DependencyResolverException in case of an error while resolving the artifacts.
+     * @throws MojoExecutionException in case of an error while waiting for the worker threads.
      */
     protected Set<Artifact> resolvePluginArtifacts()
-            throws DependencyResolverException
+            throws DependencyResolverException, MojoExecutionException
     {
-        final Set<DependableCoordinate> dependableCoordinates = new HashSet<>();
+        final Map<String, DependableCoordinate> dependableCoordinates = new LinkedHashMap<>();
 
         final Set<Artifact> plugins = getProject().getPluginArtifacts();
         final Set<Artifact> reports = getProject().getReportArtifacts();
@@ -169,10 +235,10 @@ public class GoOfflineMojo
 
         for ( Artifact artifact : artifacts )
         {
-            dependableCoordinates.add( createDependendableCoordinateFromArtifact( artifact ) );
+            addDependableCoordinate( dependableCoordinates, createDependendableCoordinateFromArtifact( artifact ) );
         }
 
-        return resolveDependableCoordinate( buildingRequest, dependableCoordinates );
+        return resolveDependableCoordinate( buildingRequest, dependableCoordinates.values() );
     }
 
     private DependableCoordinate createDependendableCoordinateFromArtifact( final Artifact artifact )
@@ -0,0 +1,527 @@
+package org.apache.maven.plugins.dependency.resolvers;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.utils.ParallelExecutor;
+
+/**
+ * Keeps the module descriptors of the artifacts, so a jar is only read once by the Java 9 <code>ModuleFinder</code>.
+ * The descriptor of a jar is read again if its length or modification time changed, and the descriptors missing from
+ * the index are read on a pool of threads. Directories, like the output directories of a reactor, are never indexed.
+ * <p>
+ * The index can be saved to a file, so the next builds do not read the jars at all. Each jar takes its path, length,
+ * modification time and the descriptor read from it. The descriptors depend on the Java version reading them, like
+ * the ones of multi-release jars, so the file records the Java specification version and is ignored by another one.
+ * </p>
+ */
+public class ModuleDescriptorIndex
+{
+    private static final int MAGIC = 0x4D444958;
+
+    private static final int VERSION = 2;
+
+    private static final Map<File, ModuleDescriptorIndex> INSTANCES = new HashMap<>();
+
+    /**
+     * The methods of the module API, looked up once, or <code>null</code> before Java 9.
+     */
+    private static final ModuleMethods METHODS = ModuleMethods.lookup();
+
+    private final File file;
+
+    private final String javaVersion;
+
+    private final Map<String, IndexedJar> jars = new LinkedHashMap<>();
+
+    private boolean modified;
+
+    /**
+     * Creates an index kept in memory only.
+     */
+    public ModuleDescriptorIndex()
+    {
+        this( null );
+    }
+
+    /**
+     * Creates an index loaded from a file, if it exists and is valid, and saved to it by {@link #save()}.
+     *
+     * @param file the file of the index, or <code>null</code> to keep the index in memory only.
+     */
+    public ModuleDescriptorIndex( File file )
+    {
+        this( file, System.getProperty( "java.specification.version" ) );
+    }
+
+    /**
+     * @param file the file of the index, or <code>null</code> to keep the index in memory only.
+     * @param javaVersion the Java specification version the descriptors are read with.
+     */
+    ModuleDescriptorIndex( File file, String javaVersion )
+    {
+        this.file = file;
+        this.javaVersion = String.valueOf( javaVersion );
+        load();
+    }
+
+    /**
+     * Returns the index of a file, shared by all the mojos of the JVM.
+     *
+     * @param file the file of the index, or <code>null</code> for the index kept in memory only.
+     * @return the index of the file.
+     */
+    public static ModuleDescriptorIndex getInstance( File file )
+    {
+        synchronized ( INSTANCES )
+        {
+            ModuleDescriptorIndex index = INSTANCES.get( file );
+            if ( index == null )
+            {
+                index = new ModuleDescriptorIndex( file );
+                INSTANCES.put( file, index );
+            }
+            return index;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the module descriptors can be read, that is on Java 9 or later.
+     */
+    public static boolean isSupported()
+    {
+        return METHODS != null;
+    }
+
+    /**
+     * @param files the jars or directories of the artifacts.
+     * @param threads the number of threads reading the descriptors missing from the index, a value of zero or less
+     *            means one per available processor.
+     * @return the descriptors of the files, in the order of the files, or an empty map before Java 9.
+     * @throws MojoExecutionException if the wait for a thread was interrupted.
+     */
+    public Map<File, ModuleDescriptor> getModuleDescriptors( Collection<File> files, int threads )
+        throws MojoExecutionException
+    {
+        Map<File, ModuleDescriptor> descriptors = new LinkedHashMap<>();
+        if ( METHODS == null )
+        {
+            return descriptors;
+        }
+
+        List<File> missingFiles = new ArrayList<>();
+        for ( File file : new LinkedHashSet<>( files ) )
+        {
+            ModuleDescriptor descriptor = getIndexedDescriptor( file );
+            descriptors.put( file, descriptor );
+            if ( descriptor == null )
+            {
+                missingFiles.add( file );
+            }
+        }
+        if ( missingFiles.isEmpty() )
+        {
+            return descriptors;
+        }
+
+        try ( ParallelExecutor executor =
+            new ParallelExecutor( Math.min( ParallelExecutor.getThreadCount( threads ), missingFiles.size() ),
+                                  "mdep-module-descriptors" ) )
+        {
+            List<Future<ModuleDescriptor>> futures = new ArrayList<>();
+            for ( final File file : missingFiles )
+            {
+                futures.add( executor.submit( new Callable<ModuleDescriptor>()
+                {
+                    @Override
+                    public ModuleDescriptor call()
+                    {
+                        return readModuleDescriptor( file );
+                    }
+                } ) );
+            }
+
+            for ( int i = 0; i < missingFiles.size(); i++ )
+            {
+                File file = missingFiles.get( i );
+                ModuleDescriptor descriptor = ParallelExecutor.await( futures.get( i ) );
+                descriptors.put( file, descriptor );
+                putIndexedDescriptor( file, descriptor );
+            }
+        }
+        return descriptors;
+    }
+
+    /**
+     * Saves the index to its file, if descriptors were read since it was loaded. The file is replaced atomically, so
+     * concurrent builds never see a partial index.
+     *
+     * @throws IOException if the file can not be written.
+     */
+    public synchronized void save()
+        throws IOException
+    {
+        if ( file == null || !modified )
+        {
+            return;
+        }
+
+        List<Map.Entry<String, IndexedJar>> entries = new ArrayList<>();
+        for ( Map.Entry<String, IndexedJar> entry : jars.entrySet() )
+        {
+            // the jars deleted from the repository are forgotten
+            if ( new File( entry.getKey() ).isFile() )
+            {
+                entries.add( entry );
+            }
+        }
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if ( !directory.isDirectory() && !directory.mkdirs() )
+        {
+            throw new IOException( "Cannot create directory " + directory );
+        }
+
+        File tempFile = File.createTempFile( file.getName(), ".tmp", directory );
+        try
+        {
+            try ( DataOutputStream out =
+                new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( tempFile.toPath() ) ) ) )
+            {
+                out.writeInt( MAGIC );
+                out.writeInt( VERSION );
+                out.writeUTF( javaVersion );
+                out.writeInt( entries.size() );
+                for ( Map.Entry<String, IndexedJar> entry : entries )
+                {
+                    IndexedJar indexedJar = entry.getValue();
+                    ModuleDescriptor descriptor = indexedJar.descriptor;
+                    out.writeUTF( entry.getKey() );
+                    out.writeLong( indexedJar.length );
+                    out.writeLong( indexedJar.lastModified );
+                    writeString( out, descriptor.name );
+                    out.writeBoolean( descriptor.automatic );
+                    writeString( out, descriptor.moduleNameSource );
+                    writeString( out, descriptor.failure );
+                }
+            }
+
+            try
+            {
+                Files.move( tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            }
+            modified = false;
+        }
+        finally
+        {
+            Files.deleteIfExists( tempFile.toPath() );
+        }
+    }
+
+    /**
+     * @param file a jar or directory.
+     * @return the indexed descriptor of the file, or <code>null</code> if it has to be read.
+     */
+    private synchronized ModuleDescriptor getIndexedDescriptor( File file )
+    {
+        IndexedJar indexedJar = jars.get( file.getAbsolutePath() );
+        if ( indexedJar == null || indexedJar.length != file.length()
+            || indexedJar.lastModified != file.lastModified() || !file.isFile() )
+        {
+            return null;
+        }
+        return indexedJar.descriptor;
+    }
+
+    private synchronized void putIndexedDescriptor( File file, ModuleDescriptor descriptor )
+    {
+        if ( file.isFile() )
+        {
+            jars.put( file.getAbsolutePath(), new IndexedJar( file.length(), file.lastModified(), descriptor ) );
+            modified = true;
+        }
+    }
+
+    private void load()
+    {
+        if ( file == null || !file.isFile() )
+        {
+            return;
+        }
+
+        try ( DataInputStream in =
+            new DataInputStream( new BufferedInputStream( Files.newInputStream( file.toPath() ) ) ) )
+        {
+            if ( in.readInt() != MAGIC || in.readInt() != VERSION || !javaVersion.equals( in.readUTF() ) )
+            {
+                return;
+            }
+
+            int count = in.readInt();
+            for ( int i = 0; i < count; i++ )
+            {
+                String path = in.readUTF();
+                long length = in.readLong();
+                long lastModified = in.readLong();
+                String name = readString( in );
+                boolean automatic = in.readBoolean();
+                String moduleNameSource = readString( in );
+                String failure = readString( in );
+                jars.put( path, new IndexedJar( length, lastModified,
+                                                new ModuleDescriptor( name, automatic, moduleNameSource, failure ) ) );
+            }
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            // a missing or truncated index only means the jars are read again
+            jars.clear();
+        }
+    }
+
+    /**
+     * Reads the descriptor of a jar or directory with the Java 9 <code>ModuleFinder</code>, rather than with an own
+     * implementation. For an automatic module the manifest tells where its name comes from.
+     *
+     * @param file a jar or directory.
+     * @return the descriptor of the file.
+     */
+    private static ModuleDescriptor readModuleDescriptor( File file )
+    {
+        try
+        {
+            Object moduleFinder = METHODS.of.invoke( null, new Object[] { new Path[] { file.toPath() } } );
+            Set<?> moduleReferences = (Set<?>) METHODS.findAll.invoke( moduleFinder );
+
+            // moduleReferences can be empty when referring to target/classes without module-info.class
+            if ( moduleReferences.isEmpty() )
+            {
+                return ModuleDescriptor.NONE;
+            }
+
+            Object descriptor = METHODS.descriptor.invoke( moduleReferences.iterator().next() );
+            String name = (String) METHODS.name.invoke( descriptor );
+            boolean automatic = (Boolean) METHODS.isAutomatic.invoke( descriptor );
+
+            String moduleNameSource = null;
+            if ( automatic && file.isFile() )
+            {
+                moduleNameSource = readModuleNameSource( file );
+            }
+            return new ModuleDescriptor( name, automatic, moduleNameSource, null );
+        }
+        catch ( IllegalAccessException | IllegalArgumentException | SecurityException e )
+        {
+            return ModuleDescriptor.NONE;
+        }
+        catch ( InvocationTargetException e )
+        {
+            Throwable cause = e.getCause();
+            while ( cause.getCause() != null )
+            {
+                cause = cause.getCause();
+            }
+            return new ModuleDescriptor( null, false, null, String.valueOf( cause.getMessage() ) );
+        }
+    }
+
+    /**
+     * @param jar the jar of an automatic module.
+     * @return <code>MANIFEST</code> if the manifest of the jar has an <code>Automatic-Module-Name</code>,
+     *         <code>FILENAME</code> if it has none, or <code>null</code> if the jar can not be read.
+     */
+    private static String readModuleNameSource( File jar )
+    {
+        // the signatures are not verified, only the main attributes are needed
+        try ( JarFile jarFile = new JarFile( jar, false ) )
+        {
+            Manifest manifest = jarFile.getManifest();
+            if ( manifest != null && manifest.getMainAttributes().getValue( "Automatic-Module-Name" ) != null )
+            {
+                return "MANIFEST";
+            }
+            return "FILENAME";
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+    }
+
+    private static void writeString( DataOutputStream out, String s )
+        throws IOException
+    {
+        out.writeBoolean( s != null );
+        if ( s != null )
+        {
+            out.writeUTF( s );
+        }
+    }
+
+    private static String readString( DataInputStream in )
+        throws IOException
+    {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * The module descriptor of an artifact, as far as the output of the resolve goals needs it.
+     */
+    public static class ModuleDescriptor
+    {
+        static final ModuleDescriptor NONE = new ModuleDescriptor( null, false, null, null );
+
+        private final String name;
+
+        private final boolean automatic;
+
+        private final String moduleNameSource;
+
+        private final String failure;
+
+        ModuleDescriptor( String name, boolean automatic, String moduleNameSource, String failure )
+        {
+            this.name = name;
+            this.automatic = automatic;
+            this.moduleNameSource = moduleNameSource;
+            this.failure = failure;
+        }
+
+        /**
+         * @return the name of the module, or <code>null</code> if the artifact is not a module.
+         */
+        public String getName()
+        {
+            return name;
+        }
+
+        /**
+         * @return <code>true</code> if the artifact is an automatic module.
+         */
+        public boolean isAutomatic()
+        {
+            return automatic;
+        }
+
+        /**
+         * @return <code>MANIFEST</code> or <code>FILENAME</code> for an automatic module, depending on where its name
+         *         comes from, or <code>null</code> if it is not known.
+         */
+        public String getModuleNameSource()
+        {
+            return moduleNameSource;
+        }
+
+        /**
+         * @return the reason the descriptor could not be read, or <code>null</code>.
+         */
+        public String getFailure()
+        {
+            return failure;
+        }
+    }
+
+    private static class IndexedJar
+    {
+        private final long length;
+
+        private final long lastModified;
+
+        private final ModuleDescriptor descriptor;
+
+        IndexedJar( long length, long lastModified, ModuleDescriptor descriptor )
+        {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.descriptor = descriptor;
+        }
+    }
+
+    /**
+     * The methods of <code>ModuleFinder</code>, <code>ModuleReference</code> and <code>ModuleDescriptor</code>,
+     * looked up on the public types so they can be invoked whatever the implementation classes are.
+     */
+    private static class ModuleMethods
+    {
+        private Method of;
+
+        private Method findAll;
+
+        private Method descriptor;
+
+        private Method name;
+
+        private Method isAutomatic;
+
+        /**
+         * @return the methods, or <code>null</code> before Java 9.
+         */
+        static ModuleMethods lookup()
+        {
+            try
+            {
+                Class<?> moduleFinderClass = Class.forName( "java.lang.module.ModuleFinder" );
+                Class<?> moduleReferenceClass = Class.forName( "java.lang.module.ModuleReference" );
+                Class<?> moduleDescriptorClass = Class.forName( "java.lang.module.ModuleDescriptor" );
+
+                ModuleMethods methods = new ModuleMethods();
+                methods.of = moduleFinderClass.getMethod( "of", Path[].class );
+                methods.findAll = moduleFinderClass.getMethod( "findAll" );
+                methods.descriptor = moduleReferenceClass.getMethod( "descriptor" );
+                methods.name = moduleDescriptorClass.getMethod( "name" );
+                methods.isAutomatic = moduleDescriptorClass.getMethod( "isAutomatic" );
+                return methods;
+            }
+            catch ( ClassNotFoundException | NoSuchMethodException | SecurityException e )
+            {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.apache.maven.plugins.dependency.resolvers;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.project.MavenProject;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The GAV keys of the reactor projects. The reactor projects are the same list for every mojo execution of a session,
+ * so the keys of the last reactor are kept and only computed again for another list.
+ */
+final class ReactorArtifactKeys
+{
+    private static WeakReference<List<MavenProject>> lastReactorProjects;
+
+    private static Set<String> lastKeys;
+
+    private ReactorArtifactKeys()
+    {
+        // no op
+    }
+
+    /**
+     * @param reactorProjects the reactor projects.
+     * @return the keys of the artifacts of the reactor projects, see {@link ArtifactUtils#key(String, String, String)}.
+     */
+    static synchronized Set<String> of( final List<MavenProject> reactorProjects )
+    {
+        if ( lastReactorProjects != null && lastReactorProjects.get() == reactorProjects
+            && lastKeys.size() == reactorProjects.size() )
+        {
+            return lastKeys;
+        }
+
+        final Set<String> keys = new HashSet<>( reactorProjects.size() * 2 );
+        for ( final MavenProject project : reactorProjects )
+        {
+            keys.add( ArtifactUtils.key( project.getArtifact() ) );
+        }
+
+        lastReactorProjects = new WeakReference<>( reactorProjects );
+        lastKeys = Collections.unmodifiableSet( keys );
+        return lastKeys;
+    }
+}
@@ -22,6 +22,8 @@ package org.apache.maven.plugins.dependency.resolvers;
 import org.apache.maven.artifact.Artifact;
 
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.resolvers.ModuleDescriptorIndex.ModuleDescriptor;
+import org.apache.maven.plugins.dependency.utils.ArtifactComparator;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
 import org.apache.maven.plugins.dependency.utils.filters.ResolveFileFilter;
@@ -36,15 +38,13 @@ import org.apache.maven.shared.utils.logging.MessageUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
 
 /**
  * Goal that resolves the project dependencies from the repository. When using this goal while running on Java 9 the
@@ -74,7 +74,8 @@ public class ResolveDependenciesMojo
     DependencyStatusSets results;
 
     /**
-     * Sort the output list of resolved artifacts alphabetically. The default ordering matches the classpath order.
+     * Sort the output list of resolved artifacts by groupId, artifactId, type, classifier and version. The default
+     * ordering matches the classpath order.
      * 
      * @since 2.8
      */
@@ -89,6 +90,19 @@ public class ResolveDependenciesMojo
     @Parameter( property = "includeParents", defaultValue = "false" )
     boolean includeParents;
 
+    /**
+     * The file the module descriptors of the dependency jars are kept in, so they are not read again by the next
+     * builds. A jar is read again if its length or modification time changed, and all of them when the build runs on
+     * another Java version than the one the file was written with.
+     *
+     * @since 3.1.3
+     */
+    @Parameter( property = "mdep.resolve.moduleDescriptorIndexFile",
+                defaultValue = "${settings.localRepository}/.cache/maven-dependency-plugin/module-descriptors" )
+    private File moduleDescriptorIndexFile;
+
+    private Map<File, ModuleDescriptor> moduleDescriptors = Collections.emptyMap();
+
     /**
      * Main entry into mojo. Gets the list of dependencies and iterates through displaying the resolved version.
      *
@@ -101,6 +115,8 @@ public class ResolveDependenciesMojo
         // get sets of dependencies
         results = this.getDependencySets( false, includeParents );
 
+        readModuleDescriptors();
+
         String output = getOutput( outputAbsoluteArtifactFilename, outputScope, sort );
         try
         {
@@ -119,6 +135,56 @@ public class ResolveDependenciesMojo
         }
     }
 
+    private void readModuleDescriptors()
+        throws MojoExecutionException
+    {
+        if ( !ModuleDescriptorIndex.isSupported() )
+        {
+            return;
+        }
+
+        // dependencies:collect won't download jars
+        List<File> files = new ArrayList<>();
+        addFiles( results.getResolvedDependencies(), files );
+        addFiles( results.getSkippedDependencies(), files );
+        addFiles( results.getUnResolvedDependencies(), files );
+
+        ModuleDescriptorIndex index = ModuleDescriptorIndex.getInstance( moduleDescriptorIndexFile );
+        moduleDescriptors = index.getModuleDescriptors( files, resolveThreads );
+        for ( Map.Entry<File, ModuleDescriptor> entry : moduleDescriptors.entrySet() )
+        {
+            if ( entry.getValue().getFailure() != null )
+            {
+                getLog().info( "Can't extract module name from " + entry.getKey().getName() + ": "
+                    + entry.getValue().getFailure() );
+            }
+        }
+
+        try
+        {
+            index.save();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Cannot save the module descriptor index " + moduleDescriptorIndexFile + ": "
+                + e.getMessage() );
+        }
+    }
+
+    private static void addFiles( Collection<Artifact> artifacts, List<File> files )
+    {
+        if ( artifacts != null )
+        {
+            for ( Artifact artifact : artifacts )
+            {
+                if ( artifact.getFile() != null )
+                {
+                    files.add( artifact.getFile() );
+                }
+            }
+        }
+    }
+
     /**
      * @return Returns the results.
      */
@@ -130,7 +196,9 @@ public class ResolveDependenciesMojo
     @Override
     protected ArtifactsFilter getMarkedArtifactFilter()
     {
-        return new ResolveFileFilter( new SourcesFileMarkerHandler( this.markersDirectory ) );
+        SourcesFileMarkerHandler handler = new SourcesFileMarkerHandler( this.markersDirectory );
+        handler.setMarkerIndex( getMarkerIndex() );
+        return new ResolveFileFilter( handler );
     }
 
     /**
@@ -186,8 +254,15 @@ public class ResolveDependenciesMojo
                                                    boolean theOutputScope, boolean theSort )
     {
         StringBuilder sb = new StringBuilder();
-        List<String> artifactStringList = new ArrayList<>();
-        for ( Artifact artifact : artifacts )
+        Collection<Artifact> sortedArtifacts = artifacts;
+        if ( theSort )
+        {
+            // sorted on the fields rather than on the rendered lines
+            List<Artifact> artifactList = new ArrayList<>( artifacts );
+            Collections.sort( artifactList, ArtifactComparator.INSTANCE );
+            sortedArtifacts = artifactList;
+        }
+        for ( Artifact artifact : sortedArtifacts )
         {
             MessageBuilder messageBuilder = MessageUtils.buffer();
 
@@ -225,14 +300,14 @@ public class ResolveDependenciesMojo
             // dependencies:collect won't download jars
             if ( artifact.getFile() != null )
             {
-                ModuleDescriptor moduleDescriptor = getModuleDescriptor( artifact.getFile() );
-                if ( moduleDescriptor != null )
+                ModuleDescriptor moduleDescriptor = moduleDescriptors.get( artifact.getFile() );
+                if ( moduleDescriptor != null && moduleDescriptor.getName() != null )
                 {
-                    messageBuilder.project( " -- module " + moduleDescriptor.name );
+                    messageBuilder.project( " -- module " + moduleDescriptor.getName() );
 
-                    if ( moduleDescriptor.automatic )
+                    if ( moduleDescriptor.isAutomatic() )
                     {
-                        if ( "MANIFEST".equals( moduleDescriptor.moduleNameSource ) )
+                        if ( "MANIFEST".equals( moduleDescriptor.getModuleNameSource() ) )
                         {
                             messageBuilder.strong( " [auto]" );
                         }
@@ -243,120 +318,8 @@ public class ResolveDependenciesMojo
                     }
                 }
             }
-            artifactStringList.add( messageBuilder.toString() + System.lineSeparator() );
-        }
-        if ( theSort )
-        {
-            Collections.sort( artifactStringList );
-        }
-        for ( String artifactString : artifactStringList )
-        {
-            sb.append( artifactString );
+            sb.append( messageBuilder.toString() ).append( System.lineSeparator() );
         }
         return sb;
     }
-
-    private ModuleDescriptor getModuleDescriptor( File artifactFile )
-    {
-        ModuleDescriptor moduleDescriptor = null;
-        try
-        {
-            // Use Java9 code to get moduleName, don't try to do it better with own implementation
-            Class<?> moduleFinderClass = Class.forName( "java.lang.module.ModuleFinder" );
-
-            java.nio.file.Path path = artifactFile.toPath();
-
-            Method ofMethod = moduleFinderClass.getMethod( "of", java.nio.file.Path[].class );
-            Object moduleFinderInstance = ofMethod.invoke( null, new Object[] { new java.nio.file.Path[] { path } } );
-
-            Method findAllMethod = moduleFinderClass.getMethod( "findAll" );
-            Set<Object> moduleReferences = (Set<Object>) findAllMethod.invoke( moduleFinderInstance );
-
-            // moduleReferences can be empty when referring to target/classes without module-info.class
-            if ( !moduleReferences.isEmpty() )
-            {
-                Object moduleReference = moduleReferences.iterator().next();
-                Method descriptorMethod = moduleReference.getClass().getMethod( "descriptor" );
-                Object moduleDescriptorInstance = descriptorMethod.invoke( moduleReference );
-
-                Method nameMethod = moduleDescriptorInstance.getClass().getMethod( "name" );
-                String name = (String) nameMethod.invoke( moduleDescriptorInstance );
-
-                moduleDescriptor = new ModuleDescriptor();
-                moduleDescriptor.name = name;
-
-                Method isAutomaticMethod = moduleDescriptorInstance.getClass().getMethod( "isAutomatic" );
-                moduleDescriptor.automatic = (Boolean) isAutomaticMethod.invoke( moduleDescriptorInstance );
-
-                if ( moduleDescriptor.automatic )
-                {
-                    if ( artifactFile.isFile() )
-                    {
-                        JarFile jarFile = null;
-                        try
-                        {
-                            jarFile = new JarFile( artifactFile );
-
-                            Manifest manifest = jarFile.getManifest();
-
-                            if ( manifest != null
-                                && manifest.getMainAttributes().getValue( "Automatic-Module-Name" ) != null )
-                            {
-                                moduleDescriptor.moduleNameSource = "MANIFEST";
-                            }
-                            else
-                            {
-                                moduleDescriptor.moduleNameSource = "FILENAME";
-                            }
-                        }
-                        catch ( IOException e )
-                        {
-                            // noop
-                        }
-                        finally
-                        {
-                            if ( jarFile != null )
-                            {
-                                try
-                                {
-                                    jarFile.close();
-                                }
-                                catch ( IOException e )
-                                {
-                                    // noop
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        catch ( ClassNotFoundException | SecurityException | IllegalAccessException | IllegalArgumentException e )
-        {
-            // do nothing
-        }
-        catch ( NoSuchMethodException e )
-        {
-            e.printStackTrace();
-        }
-        catch ( InvocationTargetException e )
-        {
-            Throwable cause = e.getCause();
-            while ( cause.getCause() != null )
-            {
-                cause = cause.getCause();
-            }
-            getLog().info( "Can't extract module name from " + artifactFile.getName() + ": " + cause.getMessage() );
-        }
-        return moduleDescriptor;
-    }
-
-    private class ModuleDescriptor
-    {
-        String name;
-
-        boolean automatic = true;
-
-        String moduleNameSource;
-    }
 }
@@ -55,16 +55,27 @@ public class DOTDependencyNodeVisitor
     {
         if ( node.getParent() == null || node.getParent() == node )
         {
-            writer.write( "digraph \"" + node.toNodeString() + "\" { " + System.lineSeparator() );
+            writer.write( "digraph \"" );
+            writer.write( node.toNodeString() );
+            writer.write( "\" { " );
+            writer.write( System.lineSeparator() );
         }
 
         // Generate "currentNode -> Child" lines
 
         List<DependencyNode> children = node.getChildren();
 
-        for ( DependencyNode child : children )
+        if ( !children.isEmpty() )
         {
-            writer.println( "\t\"" + node.toNodeString() + "\" -> \"" + child.toNodeString() + "\" ; " );
+            String nodeString = node.toNodeString();
+            for ( DependencyNode child : children )
+            {
+                writer.print( "\t\"" );
+                writer.print( nodeString );
+                writer.print( "\" -> \"" );
+                writer.print( child.toNodeString() );
+                writer.println( "\" ; " );
+            }
         }
 
         return true;
@@ -76,12 +76,17 @@ public class GraphmlDependencyNodeVisitor
         else
         {
             DependencyNode p = node.getParent();
-            writer.print( "<edge source=\"" + generateId( p ) + "\" target=\"" + generateId( node ) + "\">" );
+            writer.print( "<edge source=\"" );
+            writer.print( generateId( p ) );
+            writer.print( "\" target=\"" );
+            writer.print( generateId( node ) );
+            writer.print( "\">" );
             if ( node.getArtifact().getScope() != null )
             {
                 // add Edge label
-                writer.print( "<data key=\"d1\"><y:PolyLineEdge><y:EdgeLabel>" + node.getArtifact().getScope()
-                    + "</y:EdgeLabel></y:PolyLineEdge></data>" );
+                writer.print( "<data key=\"d1\"><y:PolyLineEdge><y:EdgeLabel>" );
+                writer.print( node.getArtifact().getScope() );
+                writer.print( "</y:EdgeLabel></y:PolyLineEdge></data>" );
             }
             writer.println( "</edge>" );
         }
@@ -99,10 +104,13 @@ public class GraphmlDependencyNodeVisitor
             writer.write( GRAPHML_HEADER );
         }
         // write node
-        writer.print( "<node id=\"" + generateId( node ) + "\">" );
+        writer.print( "<node id=\"" );
+        writer.print( generateId( node ) );
+        writer.print( "\">" );
         // add node label
-        writer.print( "<data key=\"d0\"><y:ShapeNode><y:NodeLabel>" + node.toNodeString()
-            + "</y:NodeLabel></y:ShapeNode></data>" );
+        writer.print( "<data key=\"d0\"><y:ShapeNode><y:NodeLabel>" );
+        writer.print( node.toNodeString() );
+        writer.print( "</y:NodeLabel></y:ShapeNode></data>" );
         writer.println( "</node>" );
         return true;
     }
@@ -19,6 +19,7 @@ package org.apache.maven.plugins.dependency.tree;
  * under the License.
  */
 
+import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
@@ -90,10 +91,28 @@ public class TGFDependencyNodeVisitor
             return result.toString();
         }
 
+        /**
+         * Writes the edge, without building its string first.
+         *
+         * @param writer the writer to write to.
+         */
+        void writeTo( PrintWriter writer )
+        {
+            writer.print( generateId( from ) );
+            writer.print( ' ' );
+            writer.print( generateId( to ) );
+            if ( label != null )
+            {
+                writer.print( ' ' );
+                writer.print( label );
+            }
+            writer.println();
+        }
+
     }
 
     /**
-     * List of edges.
+     * List of edges, written after all the nodes as TGF requires.
      */
     private List<EdgeAppender> edges = new ArrayList<>();
 
@@ -119,7 +138,7 @@ public class TGFDependencyNodeVisitor
             writer.println( "#" );
             for ( EdgeAppender edge : edges )
             {
-                writer.println( edge.toString() );
+                edge.writeTo( writer );
             }
         }
         else
@@ -21,7 +21,7 @@ package org.apache.maven.plugins.dependency.tree;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -225,7 +225,6 @@ public class TreeMojo
 
         try
         {
-            String dependencyTreeString;
 
             // TODO: note that filter does not get applied due to MSHARED-4
             ArtifactFilter artifactFilter = createResolvingArtifactFilter();
@@ -246,17 +245,26 @@ public class TreeMojo
             // running
             rootNode = dependencyGraphBuilder.buildDependencyGraph( buildingRequest, artifactFilter, reactorProjects );
 
-            dependencyTreeString = serializeDependencyTree( rootNode );
-
-            if ( outputFile != null )
+            // the tree is streamed rather than built as a string first, holding the lock of DependencyUtil.write and
+            // DependencyUtil.log so the trees of parallel modules do not interleave
+            synchronized ( DependencyUtil.class )
             {
-                DependencyUtil.write( dependencyTreeString, outputFile, this.appendOutput, getLog() );
+                if ( outputFile != null )
+                {
+                    try ( Writer writer = DependencyUtil.newWriter( outputFile, this.appendOutput ) )
+                    {
+                        serializeDependencyTree( rootNode, writer );
+                    }
 
-                getLog().info( "Wrote dependency tree to: " + outputFile );
-            }
-            else
-            {
-                DependencyUtil.log( dependencyTreeString, getLog() );
+                    getLog().info( "Wrote dependency tree to: " + outputFile );
+                }
+                else
+                {
+                    try ( Writer writer = DependencyUtil.newLogWriter( getLog() ) )
+                    {
+                        serializeDependencyTree( rootNode, writer );
+                    }
+                }
             }
         }
         catch ( DependencyGraphBuilderException exception )
@@ -334,16 +342,19 @@ public class TreeMojo
     }
 
     /**
-     * Serializes the specified dependency tree to a string.
+     * Serializes the specified dependency tree to a writer, as the nodes are visited.
      *
      * @param theRootNode the dependency tree root node to serialize
-     * @return the serialized dependency tree
+     * @param writer the writer to serialize to
+     * @throws IOException if an I/O error occurs
      */
-    private String serializeDependencyTree( DependencyNode theRootNode )
+    private void serializeDependencyTree( DependencyNode theRootNode, Writer writer )
+        throws IOException
     {
-        StringWriter writer = new StringWriter();
+        // without autoflush, the text serializer would otherwise flush the writer after each line
+        PrintWriter printWriter = new PrintWriter( writer );
 
-        DependencyNodeVisitor visitor = getSerializingDependencyNodeVisitor( writer );
+        DependencyNodeVisitor visitor = getSerializingDependencyNodeVisitor( printWriter );
 
         // TODO: remove the need for this when the serializer can calculate last nodes from visitor calls only
         visitor = new BuildingDependencyNodeVisitor( visitor );
@@ -363,7 +374,11 @@ public class TreeMojo
 
         theRootNode.accept( visitor );
 
-        return writer.toString();
+        printWriter.flush();
+        if ( printWriter.checkError() )
+        {
+            throw new IOException( "Cannot write the dependency tree" );
+        }
     }
 
     /**
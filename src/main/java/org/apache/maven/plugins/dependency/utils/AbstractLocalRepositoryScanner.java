@@ -0,0 +1,149 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Walks a local repository directly, without resolving any dependency graph, and collects an entry for each version
+ * directory a subclass is interested in. The directories two levels below the repository root are walked in parallel,
+ * and the entries are returned in path order whatever the scheduling of the workers.
+ *
+ * @param <T> the type of the entries.
+ */
+public abstract class AbstractLocalRepositoryScanner<T>
+{
+    private final int threads;
+
+    /**
+     * @param threads the number of worker threads, a value of zero or less means one per available processor.
+     */
+    protected AbstractLocalRepositoryScanner( int threads )
+    {
+        this.threads = threads;
+    }
+
+    /**
+     * @param repository the base directory of the local repository.
+     * @return the entries of the version directories, in path order.
+     * @throws IOException if the repository cannot be read.
+     * @throws MojoExecutionException if a worker thread failed unexpectedly or the wait was interrupted.
+     */
+    public List<T> scan( File repository )
+        throws IOException, MojoExecutionException
+    {
+        // a version directory is at least three levels deep, groupId/artifactId/version
+        List<Path> roots = new ArrayList<>();
+        for ( Path group : listDirectories( repository.toPath() ) )
+        {
+            roots.addAll( listDirectories( group ) );
+        }
+        Collections.sort( roots );
+
+        List<T> entries = new ArrayList<>();
+        try ( ParallelExecutor executor = new ParallelExecutor( threads, "mdep-repository-scan" ) )
+        {
+            List<Future<Map<Path, T>>> scans = new ArrayList<>( roots.size() );
+            for ( final Path root : roots )
+            {
+                scans.add( executor.submit( new Callable<Map<Path, T>>()
+                {
+                    @Override
+                    public Map<Path, T> call()
+                        throws IOException
+                    {
+                        return scanTree( root );
+                    }
+                } ) );
+            }
+
+            for ( Future<Map<Path, T>> scan : scans )
+            {
+                entries.addAll( ParallelExecutor.await( scan, IOException.class ).values() );
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Called for each directory below the roots of the walk, the tree of a directory with an entry is not walked.
+     *
+     * @param directory a directory of the repository.
+     * @return the entry of the directory if it is a version directory of interest, <code>null</code> otherwise.
+     * @throws IOException if the directory cannot be read.
+     */
+    protected abstract T scanDirectory( Path directory )
+        throws IOException;
+
+    private Map<Path, T> scanTree( final Path root )
+        throws IOException
+    {
+        final Map<Path, T> entries = new TreeMap<>();
+        Files.walkFileTree( root, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory( Path dir, BasicFileAttributes attrs )
+                throws IOException
+            {
+                T entry = dir.equals( root ) ? null : scanDirectory( dir );
+                if ( entry != null )
+                {
+                    entries.put( dir, entry );
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        } );
+        return entries;
+    }
+
+    private static List<Path> listDirectories( Path directory )
+        throws IOException
+    {
+        List<Path> directories = new ArrayList<>();
+        try ( DirectoryStream<Path> entries = Files.newDirectoryStream( directory ) )
+        {
+            for ( Path entry : entries )
+            {
+                if ( Files.isDirectory( entry ) )
+                {
+                    directories.add( entry );
+                }
+            }
+        }
+        return directories;
+    }
+}
@@ -0,0 +1,191 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.codehaus.plexus.components.io.fileselectors.FileInfo;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelector;
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * Finds the entries of archives unpacked into the same directory that a later archive overwrites. Skipping those
+ * entries when unpacking the earlier archives gives the same result as unpacking the archives one after another, and
+ * makes it safe to unpack them at the same time.
+ */
+public final class ArchiveOverlaps
+{
+    private ArchiveOverlaps()
+    {
+        // no op
+    }
+
+    /**
+     * @param archives the archives, in the order they would be unpacked sequentially.
+     * @param includes comma separated list of file patterns to include, may be <code>null</code>.
+     * @param excludes comma separated list of file patterns to exclude, may be <code>null</code>.
+     * @param encoding encoding of the entry names, <code>null</code> for the default.
+     * @return for each archive the names of the entries overwritten by a later archive, or <code>null</code> if the
+     *         entries of an archive can not be listed or two entries only differ by case.
+     */
+    public static List<Set<String>> findOverwrittenEntries( List<File> archives, String includes, String excludes,
+                                                            String encoding )
+    {
+        IncludeExcludeFileSelector selector = new IncludeExcludeFileSelector();
+        if ( StringUtils.isNotEmpty( includes ) )
+        {
+            selector.setIncludes( includes.split( "," ) );
+        }
+        if ( StringUtils.isNotEmpty( excludes ) )
+        {
+            selector.setExcludes( excludes.split( "," ) );
+        }
+
+        List<Set<String>> entries = new ArrayList<>( archives.size() );
+        for ( File archive : archives )
+        {
+            Set<String> names = listFileEntries( archive, selector, encoding );
+            if ( names == null )
+            {
+                return null;
+            }
+            entries.add( names );
+        }
+
+        // walk backwards, so every name seen so far is written by a later archive
+        Map<String, String> written = new HashMap<>();
+        List<Set<String>> overwritten = new ArrayList<>( archives.size() );
+        for ( int i = archives.size() - 1; i >= 0; i-- )
+        {
+            Set<String> shadowed = new HashSet<>();
+            for ( String name : entries.get( i ) )
+            {
+                String previous = written.put( name.toLowerCase( Locale.ENGLISH ), name );
+                if ( previous == null )
+                {
+                    continue;
+                }
+                if ( !previous.equals( name ) )
+                {
+                    // would collide on a case insensitive file system only
+                    return null;
+                }
+                shadowed.add( name );
+            }
+            overwritten.add( 0, shadowed );
+        }
+        return overwritten;
+    }
+
+    /**
+     * @param names entry names to skip.
+     * @return a {@link FileSelector} rejecting the given entry names.
+     */
+    public static FileSelector newSkippingSelector( final Set<String> names )
+    {
+        return new FileSelector()
+        {
+            @Override
+            public boolean isSelected( FileInfo fileInfo )
+            {
+                return !names.contains( fileInfo.getName() );
+            }
+        };
+    }
+
+    private static Set<String> listFileEntries( File archive, FileSelector selector, String encoding )
+    {
+        Charset charset = encoding != null ? Charset.forName( encoding ) : Charset.forName( "UTF-8" );
+        try ( ZipFile zipFile = new ZipFile( archive, charset ) )
+        {
+            Set<String> names = new HashSet<>();
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while ( zipEntries.hasMoreElements() )
+            {
+                ZipEntry zipEntry = zipEntries.nextElement();
+                if ( !zipEntry.isDirectory() && selector.isSelected( new EntryInfo( zipEntry.getName() ) ) )
+                {
+                    names.add( zipEntry.getName() );
+                }
+            }
+            return names;
+        }
+        catch ( IOException | IllegalArgumentException e )
+        {
+            // not a zip archive, or names not readable with this encoding
+            return null;
+        }
+    }
+
+    private static class EntryInfo
+        implements FileInfo
+    {
+        private final String name;
+
+        EntryInfo( String name )
+        {
+            this.name = name;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public InputStream getContents()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isFile()
+        {
+            return true;
+        }
+
+        @Override
+        public boolean isDirectory()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isSymbolicLink()
+        {
+            return false;
+        }
+    }
+}
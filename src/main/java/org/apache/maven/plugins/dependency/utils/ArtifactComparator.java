@@ -0,0 +1,86 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Comparator;
+
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * Orders artifacts field by field, in the order of their id: groupId, artifactId, type, classifier and version, then
+ * scope. The fields are compared as they are, without building any string, and a missing field comes first.
+ */
+public class ArtifactComparator
+    implements Comparator<Artifact>
+{
+    /**
+     * The shared instance, the comparator has no state.
+     */
+    public static final ArtifactComparator INSTANCE = new ArtifactComparator();
+
+    @Override
+    public int compare( Artifact art1, Artifact art2 )
+    {
+        if ( art1 == art2 )
+        {
+            return 0;
+        }
+        else if ( art1 == null )
+        {
+            return -1;
+        }
+        else if ( art2 == null )
+        {
+            return +1;
+        }
+
+        int result = compare( art1.getGroupId(), art2.getGroupId() );
+        if ( result == 0 )
+        {
+            result = compare( art1.getArtifactId(), art2.getArtifactId() );
+        }
+        if ( result == 0 )
+        {
+            result = compare( art1.getType(), art2.getType() );
+        }
+        if ( result == 0 )
+        {
+            result = compare( art1.getClassifier(), art2.getClassifier() );
+        }
+        if ( result == 0 )
+        {
+            result = compare( art1.getVersion(), art2.getVersion() );
+        }
+        if ( result == 0 )
+        {
+            result = compare( art1.getScope(), art2.getScope() );
+        }
+        return result;
+    }
+
+    private static int compare( String s1, String s2 )
+    {
+        if ( s1 == null )
+        {
+            return s2 == null ? 0 : -1;
+        }
+        return s2 == null ? +1 : s1.compareTo( s2 );
+    }
+}
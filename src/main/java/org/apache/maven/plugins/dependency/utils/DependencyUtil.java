@@ -24,6 +24,11 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
 import org.apache.maven.artifact.Artifact;
@@ -268,6 +273,39 @@ public final class DependencyUtil
         reader.close();
     }
 
+    /**
+     * Opens a buffered writer on the specified file, in the platform encoding like
+     * {@link #write(String, File, boolean, Log)}, to stream an output too large to be built as a string first.
+     *
+     * @param file the file to write to
+     * @param append append to existing file or not.
+     * @return the writer, to be closed by the caller.
+     * @throws IOException if an I/O error occurs
+     */
+    public static Writer newWriter( File file, boolean append )
+        throws IOException
+    {
+        file.getParentFile().mkdirs();
+
+        OpenOption[] options = append
+                        ? new OpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.APPEND }
+                        : new OpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.WRITE };
+        return Files.newBufferedWriter( file.toPath(), Charset.defaultCharset(), options );
+    }
+
+    /**
+     * Creates a writer sending each line written to it to the log at info level, like
+     * {@link #log(String, Log)}. The last line is logged when the writer is closed.
+     *
+     * @param log where to log information.
+     * @return the writer, to be closed by the caller.
+     */
+    public static Writer newLogWriter( Log log )
+    {
+        return new LogWriter( log );
+    }
+
     /**
      * mainly used to parse excludes,includes configuration
      * @param str The string to be split.
@@ -294,4 +332,68 @@ public final class DependencyUtil
 
         return ret;
     }
+
+    /**
+     * Logs the lines written to it, split like {@link BufferedReader#readLine()} does.
+     */
+    private static class LogWriter
+        extends Writer
+    {
+        private final Log log;
+
+        private final StringBuilder line = new StringBuilder();
+
+        private boolean skipLineFeed;
+
+        LogWriter( Log log )
+        {
+            this.log = log;
+        }
+
+        @Override
+        public void write( char[] cbuf, int off, int len )
+        {
+            int start = off;
+            int end = off + len;
+            for ( int i = off; i < end; i++ )
+            {
+                char c = cbuf[i];
+                if ( c == '\n' || c == '\r' )
+                {
+                    if ( skipLineFeed && c == '\n' && i == start )
+                    {
+                        start++;
+                    }
+                    else
+                    {
+                        line.append( cbuf, start, i - start );
+                        log.info( line.toString() );
+                        line.setLength( 0 );
+                        start = i + 1;
+                    }
+                    skipLineFeed = c == '\r';
+                }
+                else
+                {
+                    skipLineFeed = false;
+                }
+            }
+            line.append( cbuf, start, end - start );
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+            if ( line.length() > 0 )
+            {
+                log.info( line.toString() );
+                line.setLength( 0 );
+            }
+        }
+    }
 }
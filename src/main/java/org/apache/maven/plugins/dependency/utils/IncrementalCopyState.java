@@ -0,0 +1,221 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Records which source file was copied to which destination file, with the size and modification time of the source,
+ * so a later copy of the same artifacts can skip the unchanged ones and delete the destinations that are no longer
+ * copied. The state is kept in a small text file with one line per artifact.
+ */
+public class IncrementalCopyState
+{
+    private static final String HEADER = "# maven-dependency-plugin incremental copy state, version 1";
+
+    private final File stateFile;
+
+    private final Map<String, Entry> previous;
+
+    private final Map<String, Entry> current = new LinkedHashMap<>();
+
+    /**
+     * @param stateFile the file holding the state of the previous copy, it does not need to exist.
+     * @throws IOException if the state file exists but can not be read.
+     */
+    public IncrementalCopyState( File stateFile )
+        throws IOException
+    {
+        this.stateFile = stateFile;
+        this.previous = read( stateFile );
+    }
+
+    /**
+     * Records the copy of an artifact, and tells whether the previous copy of it is still up to date.
+     *
+     * @param key the key of the artifact, see {@link org.apache.maven.artifact.Artifact#getId()}.
+     * @param source the file of the artifact.
+     * @param destFile the destination file.
+     * @return <code>true</code> if the same source file, with the same size and modification time, was copied to the
+     *         same destination file which still exists.
+     * @throws IOException if the attributes of the source file can not be read.
+     */
+    public boolean isUpToDate( String key, File source, File destFile )
+        throws IOException
+    {
+        BasicFileAttributes attributes = Files.readAttributes( source.toPath(), BasicFileAttributes.class );
+        Entry entry = new Entry( source.getPath(), attributes.size(), attributes.lastModifiedTime().toMillis(),
+                                 destFile.getPath() );
+        current.put( key, entry );
+
+        return entry.equals( previous.get( key ) ) && destFile.exists();
+    }
+
+    /**
+     * @return the destination files of the previous copy which are not destinations of the recorded copies.
+     */
+    public List<File> getStaleFiles()
+    {
+        Set<String> destinations = new HashSet<>();
+        for ( Entry entry : current.values() )
+        {
+            destinations.add( entry.destPath );
+        }
+
+        List<File> staleFiles = new ArrayList<>();
+        for ( Entry entry : previous.values() )
+        {
+            if ( !destinations.contains( entry.destPath ) )
+            {
+                staleFiles.add( new File( entry.destPath ) );
+            }
+        }
+        return staleFiles;
+    }
+
+    /**
+     * Replaces the state file with the recorded copies, through a temporary file so an interrupted build never leaves
+     * a truncated state behind.
+     *
+     * @throws IOException if the state file can not be written.
+     */
+    public void save()
+        throws IOException
+    {
+        Path target = stateFile.toPath();
+        Files.createDirectories( target.getParent() );
+        Path temp = target.resolveSibling( stateFile.getName() + ".tmp" );
+
+        try ( BufferedWriter writer = Files.newBufferedWriter( temp, StandardCharsets.UTF_8 ) )
+        {
+            writer.write( HEADER );
+            writer.newLine();
+            for ( Map.Entry<String, Entry> entry : current.entrySet() )
+            {
+                Entry value = entry.getValue();
+                writer.write( entry.getKey() + '\t' + value.size + '\t' + value.lastModified + '\t'
+                    + value.sourcePath + '\t' + value.destPath );
+                writer.newLine();
+            }
+        }
+
+        try
+        {
+            Files.move( temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        }
+        catch ( AtomicMoveNotSupportedException e )
+        {
+            Files.move( temp, target, StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+
+    private static Map<String, Entry> read( File stateFile )
+        throws IOException
+    {
+        Map<String, Entry> entries = new HashMap<>();
+        try ( BufferedReader reader = Files.newBufferedReader( stateFile.toPath(), StandardCharsets.UTF_8 ) )
+        {
+            String line = reader.readLine();
+            if ( !HEADER.equals( line ) )
+            {
+                // unknown format, start over
+                return entries;
+            }
+
+            while ( ( line = reader.readLine() ) != null )
+            {
+                String[] fields = line.split( "\t" );
+                if ( fields.length != 5 )
+                {
+                    continue;
+                }
+                try
+                {
+                    entries.put( fields[0], new Entry( fields[3], Long.parseLong( fields[1] ),
+                                                       Long.parseLong( fields[2] ), fields[4] ) );
+                }
+                catch ( NumberFormatException e )
+                {
+                    // skip the damaged line, the artifact will be copied again
+                }
+            }
+        }
+        catch ( NoSuchFileException e )
+        {
+            // first copy
+        }
+        return entries;
+    }
+
+    private static class Entry
+    {
+        private final String sourcePath;
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final String destPath;
+
+        Entry( String sourcePath, long size, long lastModified, String destPath )
+        {
+            this.sourcePath = sourcePath;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.destPath = destPath;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( !( obj instanceof Entry ) )
+            {
+                return false;
+            }
+            Entry other = (Entry) obj;
+            return size == other.size && lastModified == other.lastModified
+                && sourcePath.equals( other.sourcePath ) && destPath.equals( other.destPath );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash( sourcePath, size, lastModified, destPath );
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Reads the POMs of the local repository to find the POMs they reference: their parent and the BOMs they import in
+ * their dependency management. Nothing is resolved, only the POMs already in the local repository are read, and the
+ * versions of the imports are interpolated with the properties of the POM and of its parents, like
+ * <code>${project.version}</code> or a version property.
+ */
+public class LocalRepositoryPoms
+{
+    private static final Pattern EXPRESSION = Pattern.compile( "\\$\\{([^}]+)\\}" );
+
+    private final File basedir;
+
+    private final Map<File, Properties> properties = new HashMap<>();
+
+    /**
+     * @param basedir the base directory of the local repository.
+     */
+    public LocalRepositoryPoms( File basedir )
+    {
+        this.basedir = basedir;
+    }
+
+    /**
+     * Adds the version directories of the POMs referenced by the POMs of the given version directories, and of the
+     * POMs they reference in turn.
+     *
+     * @param directories the version directories, to add the referenced ones to.
+     */
+    public void addReferencedDirectories( Set<File> directories )
+    {
+        Deque<File> pending = new ArrayDeque<>( directories );
+        while ( !pending.isEmpty() )
+        {
+            for ( File referenced : getReferencedDirectories( pending.pop() ) )
+            {
+                if ( directories.add( referenced ) )
+                {
+                    pending.push( referenced );
+                }
+            }
+        }
+    }
+
+    /**
+     * @param directory a version directory.
+     * @return the version directories of the parent and of the imported BOMs of its POM.
+     */
+    private List<File> getReferencedDirectories( File directory )
+    {
+        List<File> referenced = new ArrayList<>();
+        Model model = readModel( directory );
+        if ( model == null )
+        {
+            return referenced;
+        }
+
+        Parent parent = model.getParent();
+        if ( parent != null )
+        {
+            referenced.add( getDirectory( parent.getGroupId(), parent.getArtifactId(), parent.getVersion() ) );
+        }
+
+        if ( model.getDependencyManagement() != null )
+        {
+            Properties modelProperties = getProperties( directory, model );
+            for ( Dependency dependency : model.getDependencyManagement().getDependencies() )
+            {
+                if ( "import".equals( dependency.getScope() ) )
+                {
+                    String groupId = interpolate( dependency.getGroupId(), modelProperties );
+                    String version = interpolate( dependency.getVersion(), modelProperties );
+                    if ( groupId != null && version != null )
+                    {
+                        referenced.add( getDirectory( groupId, dependency.getArtifactId(), version ) );
+                    }
+                }
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * @param directory a version directory.
+     * @param model the POM of the directory.
+     * @return the properties of the POM, with the ones of its parents and the coordinates of the project.
+     */
+    private Properties getProperties( File directory, Model model )
+    {
+        Properties result = properties.get( directory );
+        if ( result != null )
+        {
+            return result;
+        }
+
+        result = new Properties();
+        Parent parent = model.getParent();
+        if ( parent != null )
+        {
+            File parentDirectory = getDirectory( parent.getGroupId(), parent.getArtifactId(), parent.getVersion() );
+            Model parentModel = readModel( parentDirectory );
+            if ( parentModel != null )
+            {
+                result.putAll( getProperties( parentDirectory, parentModel ) );
+            }
+            result.setProperty( "project.parent.groupId", parent.getGroupId() );
+            result.setProperty( "project.parent.version", parent.getVersion() );
+        }
+        result.putAll( model.getProperties() );
+
+        String groupId = model.getGroupId() != null ? model.getGroupId() : parent != null ? parent.getGroupId() : null;
+        String version = model.getVersion() != null ? model.getVersion() : parent != null ? parent.getVersion() : null;
+        if ( groupId != null )
+        {
+            result.setProperty( "project.groupId", groupId );
+        }
+        if ( version != null )
+        {
+            result.setProperty( "project.version", version );
+        }
+
+        properties.put( directory, result );
+        return result;
+    }
+
+    /**
+     * @param value a value, with expressions or not.
+     * @param modelProperties the properties of the POM.
+     * @return the interpolated value, or <code>null</code> if an expression can not be interpolated.
+     */
+    private static String interpolate( String value, Properties modelProperties )
+    {
+        if ( value == null )
+        {
+            return null;
+        }
+
+        StringBuffer result = new StringBuffer();
+        Matcher matcher = EXPRESSION.matcher( value );
+        while ( matcher.find() )
+        {
+            String property = modelProperties.getProperty( matcher.group( 1 ) );
+            if ( property == null || property.contains( "${" ) )
+            {
+                return null;
+            }
+            matcher.appendReplacement( result, Matcher.quoteReplacement( property ) );
+        }
+        matcher.appendTail( result );
+        return result.toString();
+    }
+
+    private File getDirectory( String groupId, String artifactId, String version )
+    {
+        return new File( basedir, groupId.replace( '.', '/' ) + '/' + artifactId + '/' + version ).getAbsoluteFile();
+    }
+
+    /**
+     * @param directory a version directory.
+     * @return the POM of the directory, or <code>null</code> if it has none or it can not be read.
+     */
+    private static Model readModel( File directory )
+    {
+        File artifactDirectory = directory.getParentFile();
+        if ( artifactDirectory == null )
+        {
+            return null;
+        }
+        File pom = new File( directory, artifactDirectory.getName() + '-' + directory.getName() + ".pom" );
+        if ( !pom.isFile() )
+        {
+            return null;
+        }
+
+        try ( InputStream in = Files.newInputStream( pom.toPath() ) )
+        {
+            return new MavenXpp3Reader().read( in, false );
+        }
+        catch ( IOException | XmlPullParserException e )
+        {
+            // not a POM this goal can read, it references nothing
+            return null;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Deletes files and directory trees of the local repository on a bounded pool of worker threads, and reports the
+ * outcome of the whole batch at once. A location nested in another location of the batch is deleted with it, and a
+ * file that cannot be deleted right away is deleted when the JVM exits.
+ */
+public class LocalRepositoryPurger
+{
+    private final int threads;
+
+    /**
+     * @param threads the number of worker threads, a value of zero or less means one per available processor.
+     */
+    public LocalRepositoryPurger( int threads )
+    {
+        this.threads = threads;
+    }
+
+    /**
+     * @param locations the files and directories to delete.
+     * @return the outcome of the deletions.
+     * @throws MojoExecutionException if a worker thread failed unexpectedly or the wait was interrupted.
+     */
+    public Result purge( Collection<File> locations )
+        throws MojoExecutionException
+    {
+        List<Path> roots = getRoots( locations );
+
+        Result result = new Result();
+        if ( roots.isEmpty() )
+        {
+            return result;
+        }
+
+        int poolSize = Math.min( ParallelExecutor.getThreadCount( threads ), roots.size() );
+        try ( ParallelExecutor executor = new ParallelExecutor( poolSize, "mdep-purge" ) )
+        {
+            List<Future<Result>> deletions = new ArrayList<>( roots.size() );
+            for ( final Path root : roots )
+            {
+                deletions.add( executor.submit( new Callable<Result>()
+                {
+                    @Override
+                    public Result call()
+                    {
+                        return delete( root );
+                    }
+                } ) );
+            }
+
+            for ( Future<Result> deletion : deletions )
+            {
+                result.add( ParallelExecutor.await( deletion ) );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param locations the locations to delete.
+     * @return the locations in path order, without duplicates and without the locations nested in another one.
+     */
+    private static List<Path> getRoots( Collection<File> locations )
+    {
+        TreeSet<Path> paths = new TreeSet<>();
+        for ( File location : locations )
+        {
+            paths.add( location.getAbsoluteFile().toPath().normalize() );
+        }
+
+        List<Path> roots = new ArrayList<>( paths.size() );
+        for ( Path path : paths )
+        {
+            // an ancestor sorts before its descendants, but not necessarily right before them
+            boolean nested = false;
+            for ( Path parent = path.getParent(); parent != null && !nested; parent = parent.getParent() )
+            {
+                nested = paths.contains( parent );
+            }
+            if ( !nested )
+            {
+                roots.add( path );
+            }
+        }
+        return roots;
+    }
+
+    private static Result delete( Path root )
+    {
+        final Result result = new Result();
+        final File location = root.toFile();
+        if ( !Files.exists( root, LinkOption.NOFOLLOW_LINKS ) )
+        {
+            result.missing.add( location );
+            return result;
+        }
+
+        final IOException[] failure = new IOException[1];
+        try
+        {
+            Files.walkFileTree( root, new SimpleFileVisitor<Path>()
+            {
+                @Override
+                public FileVisitResult visitFile( Path file, BasicFileAttributes attrs )
+                {
+                    deleteEntry( file, true );
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed( Path file, IOException e )
+                {
+                    if ( !( e instanceof NoSuchFileException ) )
+                    {
+                        fail( e );
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory( Path dir, IOException e )
+                {
+                    if ( e != null && !( e instanceof NoSuchFileException ) )
+                    {
+                        fail( e );
+                    }
+                    else
+                    {
+                        deleteEntry( dir, false );
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                private void deleteEntry( Path path, boolean file )
+                {
+                    try
+                    {
+                        // the entry may be gone already, for instance purged by a concurrent build
+                        if ( Files.deleteIfExists( path ) && file )
+                        {
+                            result.deletedFiles++;
+                        }
+                    }
+                    catch ( IOException e )
+                    {
+                        fail( e );
+                    }
+                }
+
+                private void fail( IOException e )
+                {
+                    // keep deleting the rest of the tree, the first failure is reported
+                    if ( failure[0] == null )
+                    {
+                        failure[0] = e;
+                    }
+                }
+            } );
+        }
+        catch ( IOException e )
+        {
+            failure[0] = e;
+        }
+
+        if ( failure[0] != null )
+        {
+            if ( !Files.isDirectory( root, LinkOption.NOFOLLOW_LINKS ) )
+            {
+                location.deleteOnExit();
+            }
+            result.failures.put( location, failure[0] );
+        }
+        else
+        {
+            result.deleted.add( location );
+        }
+        return result;
+    }
+
+    /**
+     * The outcome of a batch of deletions, with the locations in path order.
+     */
+    public static class Result
+    {
+        private final List<File> deleted = new ArrayList<>();
+
+        private final List<File> missing = new ArrayList<>();
+
+        private final Map<File, IOException> failures = new LinkedHashMap<>();
+
+        private int deletedFiles;
+
+        private void add( Result result )
+        {
+            deleted.addAll( result.deleted );
+            missing.addAll( result.missing );
+            failures.putAll( result.failures );
+            deletedFiles += result.deletedFiles;
+        }
+
+        /**
+         * @return the locations that were deleted.
+         */
+        public List<File> getDeleted()
+        {
+            return Collections.unmodifiableList( deleted );
+        }
+
+        /**
+         * @return the locations that did not exist.
+         */
+        public List<File> getMissing()
+        {
+            return Collections.unmodifiableList( missing );
+        }
+
+        /**
+         * @return the locations that could not be deleted entirely, with the first failure for each of them.
+         */
+        public Map<File, IOException> getFailures()
+        {
+            return Collections.unmodifiableMap( failures );
+        }
+
+        /**
+         * @return the number of files deleted, not counting the directories.
+         */
+        public int getDeletedFiles()
+        {
+            return deletedFiles;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * Finds the <code>*-SNAPSHOT</code> version directories of a local repository, each with the timestamped builds it
+ * holds.
+ */
+public class LocalRepositorySnapshotScanner
+    extends AbstractLocalRepositoryScanner<LocalRepositorySnapshotScanner.SnapshotDirectory>
+{
+    /**
+     * The timestamp and build number of a deployed snapshot, as in <code>a-1.0-20200101.120000-3-sources.jar</code>.
+     */
+    private static final Pattern TIMESTAMPED_VERSION = Pattern.compile( "-(\\d{8}\\.\\d{6})-(\\d+)(?=[-.])" );
+
+    private static final Comparator<String> NEWEST_FIRST = new Comparator<String>()
+    {
+        @Override
+        public int compare( String v1, String v2 )
+        {
+            // timestamp, then build number
+            int separator1 = v1.indexOf( '-' );
+            int separator2 = v2.indexOf( '-' );
+            int result = v2.substring( 0, separator2 ).compareTo( v1.substring( 0, separator1 ) );
+            if ( result == 0 )
+            {
+                result = Long.compare( Long.parseLong( v2.substring( separator2 + 1 ) ),
+                                       Long.parseLong( v1.substring( separator1 + 1 ) ) );
+            }
+            return result;
+        }
+    };
+
+    /**
+     * @param threads the number of worker threads, a value of zero or less means one per available processor.
+     */
+    public LocalRepositorySnapshotScanner( int threads )
+    {
+        super( threads );
+    }
+
+    @Override
+    protected SnapshotDirectory scanDirectory( Path directory )
+        throws IOException
+    {
+        return directory.getFileName().toString().endsWith( Artifact.SNAPSHOT_VERSION ) ? scanVersion( directory )
+                        : null;
+    }
+
+    private static SnapshotDirectory scanVersion( Path dir )
+        throws IOException
+    {
+        SnapshotDirectory snapshot = new SnapshotDirectory( dir.toFile() );
+        try ( DirectoryStream<Path> entries = Files.newDirectoryStream( dir ) )
+        {
+            for ( Path entry : entries )
+            {
+                BasicFileAttributes attrs = Files.readAttributes( entry, BasicFileAttributes.class );
+                if ( !attrs.isRegularFile() )
+                {
+                    continue;
+                }
+                snapshot.lastModified = Math.max( snapshot.lastModified, attrs.lastModifiedTime().toMillis() );
+
+                Matcher matcher = TIMESTAMPED_VERSION.matcher( entry.getFileName().toString() );
+                if ( matcher.find() )
+                {
+                    String version = matcher.group( 1 ) + '-' + matcher.group( 2 );
+                    List<File> files = snapshot.builds.get( version );
+                    if ( files == null )
+                    {
+                        files = new ArrayList<>();
+                        snapshot.builds.put( version, files );
+                    }
+                    files.add( entry.toFile() );
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * A snapshot version directory of the local repository.
+     */
+    public static class SnapshotDirectory
+    {
+        private final File directory;
+
+        private final Map<String, List<File>> builds = new TreeMap<>( NEWEST_FIRST );
+
+        private long lastModified;
+
+        SnapshotDirectory( File directory )
+        {
+            this.directory = directory;
+        }
+
+        /**
+         * @return the version directory.
+         */
+        public File getDirectory()
+        {
+            return directory;
+        }
+
+        /**
+         * @return the last modification time of the newest file of the directory, or zero if it holds no file.
+         */
+        public long getLastModified()
+        {
+            return lastModified;
+        }
+
+        /**
+         * @return the files of the timestamped builds held in the directory, keyed by timestamp and build number such
+         *         as <code>20200101.120000-3</code>, newest first.
+         */
+        public Map<String, List<File>> getTimestampedBuilds()
+        {
+            return Collections.unmodifiableMap( builds );
+        }
+    }
+}
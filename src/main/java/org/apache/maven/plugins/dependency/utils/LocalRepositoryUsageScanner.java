@@ -0,0 +1,123 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Finds the artifact version directories of a local repository, each with the size of its files and the time it was
+ * last used. A directory is a version directory if it holds the pom of its version, or the
+ * <code>_remote.repositories</code> file Maven writes next to the downloaded files.
+ */
+public class LocalRepositoryUsageScanner
+    extends AbstractLocalRepositoryScanner<LocalRepositoryUsageScanner.VersionDirectory>
+{
+    /**
+     * The file where Maven records the repositories the files of a version directory were downloaded from.
+     */
+    public static final String REMOTE_REPOSITORIES = "_remote.repositories";
+
+    /**
+     * @param threads the number of worker threads, a value of zero or less means one per available processor.
+     */
+    public LocalRepositoryUsageScanner( int threads )
+    {
+        super( threads );
+    }
+
+    @Override
+    protected VersionDirectory scanDirectory( Path directory )
+        throws IOException
+    {
+        String pom = directory.getParent().getFileName() + "-" + directory.getFileName() + ".pom";
+        if ( !Files.isRegularFile( directory.resolve( pom ) )
+            && !Files.isRegularFile( directory.resolve( REMOTE_REPOSITORIES ) ) )
+        {
+            return null;
+        }
+
+        VersionDirectory version = new VersionDirectory( directory.toFile() );
+        try ( DirectoryStream<Path> entries = Files.newDirectoryStream( directory ) )
+        {
+            for ( Path entry : entries )
+            {
+                BasicFileAttributes attrs = Files.readAttributes( entry, BasicFileAttributes.class );
+                if ( !attrs.isRegularFile() )
+                {
+                    continue;
+                }
+                version.size += attrs.size();
+
+                // the modification times cover the downloads and installs, the access times the builds reading the
+                // files, unless the file system is mounted with noatime
+                long lastUsed = Math.max( attrs.lastModifiedTime().toMillis(), attrs.lastAccessTime().toMillis() );
+                version.lastUsed = Math.max( version.lastUsed, lastUsed );
+            }
+        }
+        return version;
+    }
+
+    /**
+     * An artifact version directory of the local repository.
+     */
+    public static class VersionDirectory
+    {
+        private final File directory;
+
+        private long size;
+
+        private long lastUsed;
+
+        VersionDirectory( File directory )
+        {
+            this.directory = directory;
+        }
+
+        /**
+         * @return the version directory.
+         */
+        public File getDirectory()
+        {
+            return directory;
+        }
+
+        /**
+         * @return the total size of the files of the directory, in bytes.
+         */
+        public long getSize()
+        {
+            return size;
+        }
+
+        /**
+         * @return the last access or modification time of the most recently used file of the directory, or zero if
+         *         it holds no file.
+         */
+        public long getLastUsed()
+        {
+            return lastUsed;
+        }
+    }
+}
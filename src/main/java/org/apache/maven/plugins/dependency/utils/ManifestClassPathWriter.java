@@ -0,0 +1,186 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a jar manifest <code>Class-Path</code> attribute one entry at a time. The entries are written as relative
+ * URLs, with the characters not allowed in an URL path percent-encoded as UTF-8, and the lines are wrapped at 72 bytes
+ * as required by the jar file specification.
+ */
+public class ManifestClassPathWriter
+    implements Closeable
+{
+    private static final int MAX_LINE_LENGTH = 72;
+
+    private static final byte[] CONTINUATION = { '\r', '\n', ' ' };
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * The characters allowed in an URL path besides the letters and digits, see RFC 3986.
+     */
+    private static final String PATH_CHARACTERS = "-._~!$&'()*+,;=:@/";
+
+    private final OutputStream out;
+
+    private int lineLength;
+
+    private boolean empty = true;
+
+    /**
+     * Writes the name of the attribute.
+     *
+     * @param out the stream to write to, closed by {@link #close()}.
+     * @throws IOException if the stream can not be written.
+     */
+    public ManifestClassPathWriter( OutputStream out )
+        throws IOException
+    {
+        this.out = out;
+        writeAscii( "Class-Path:" );
+    }
+
+    /**
+     * Writes an entry. The file separators are written as slashes and the other characters not allowed in an URL
+     * path, like spaces, <code>%</code>, <code>#</code>, <code>?</code> or non-ASCII characters, are percent-encoded.
+     *
+     * @param path the path of the entry, relative to the jar the manifest will be in, or absolute.
+     * @throws IOException if the stream can not be written.
+     */
+    public void addEntry( CharSequence path )
+        throws IOException
+    {
+        writeAscii( " " );
+        if ( path.length() > 1 && path.charAt( 1 ) == ':' )
+        {
+            // an absolute Windows path, as an URL path
+            writeAscii( "/" );
+        }
+
+        for ( int i = 0; i < path.length(); i++ )
+        {
+            char c = path.charAt( i );
+            if ( c == '\\' )
+            {
+                writeAscii( '/' );
+            }
+            else if ( c < 0x80 && ( Character.isLetterOrDigit( c ) || PATH_CHARACTERS.indexOf( c ) >= 0 ) )
+            {
+                writeAscii( c );
+            }
+            else if ( Character.isHighSurrogate( c ) && i + 1 < path.length() )
+            {
+                writeEncoded( Character.toCodePoint( c, path.charAt( ++i ) ) );
+            }
+            else
+            {
+                writeEncoded( c );
+            }
+        }
+        empty = false;
+    }
+
+    /**
+     * Ends the attribute and closes the stream.
+     *
+     * @throws IOException if the stream can not be written.
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        try
+        {
+            if ( empty )
+            {
+                writeAscii( " " );
+            }
+            out.write( '\r' );
+            out.write( '\n' );
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the percent-encoded UTF-8 bytes of a character.
+     */
+    private void writeEncoded( int codePoint )
+        throws IOException
+    {
+        if ( codePoint < 0x80 )
+        {
+            writeEncodedByte( codePoint );
+        }
+        else if ( codePoint < 0x800 )
+        {
+            writeEncodedByte( 0xC0 | ( codePoint >> 6 ) );
+            writeEncodedByte( 0x80 | ( codePoint & 0x3F ) );
+        }
+        else if ( codePoint < 0x10000 )
+        {
+            writeEncodedByte( 0xE0 | ( codePoint >> 12 ) );
+            writeEncodedByte( 0x80 | ( ( codePoint >> 6 ) & 0x3F ) );
+            writeEncodedByte( 0x80 | ( codePoint & 0x3F ) );
+        }
+        else
+        {
+            writeEncodedByte( 0xF0 | ( codePoint >> 18 ) );
+            writeEncodedByte( 0x80 | ( ( codePoint >> 12 ) & 0x3F ) );
+            writeEncodedByte( 0x80 | ( ( codePoint >> 6 ) & 0x3F ) );
+            writeEncodedByte( 0x80 | ( codePoint & 0x3F ) );
+        }
+    }
+
+    private void writeEncodedByte( int b )
+        throws IOException
+    {
+        writeAscii( '%' );
+        writeAscii( HEX_DIGITS[b >> 4] );
+        writeAscii( HEX_DIGITS[b & 0x0F] );
+    }
+
+    private void writeAscii( String s )
+        throws IOException
+    {
+        for ( int i = 0; i < s.length(); i++ )
+        {
+            writeAscii( s.charAt( i ) );
+        }
+    }
+
+    private void writeAscii( char c )
+        throws IOException
+    {
+        if ( lineLength + 1 > MAX_LINE_LENGTH )
+        {
+            out.write( CONTINUATION );
+            lineLength = 1;
+        }
+        out.write( c );
+        lineLength++;
+    }
+}
@@ -0,0 +1,201 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Runs independent tasks on a bounded pool of worker threads. With a single thread the tasks are run directly on the
+ * calling thread, which keeps the behaviour identical to a plain loop. Callers keep the returned {@link Future}s in
+ * submission order and wait for them in that order, so logging and failure reporting stay deterministic.
+ */
+public class ParallelExecutor
+    implements AutoCloseable
+{
+    private final int threads;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param threads the number of worker threads, a value of zero or less means one per available processor.
+     * @param name the prefix used to name the worker threads.
+     */
+    public ParallelExecutor( int threads, final String name )
+    {
+        this.threads = getThreadCount( threads );
+
+        if ( this.threads > 1 )
+        {
+            final AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool( this.threads, new ThreadFactory()
+            {
+                @Override
+                public Thread newThread( Runnable runnable )
+                {
+                    Thread thread = new Thread( runnable, name + "-" + counter.incrementAndGet() );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            } );
+        }
+        else
+        {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * @param threads the configured number of threads.
+     * @return the given number of threads, or the number of available processors if it is zero or less.
+     */
+    public static int getThreadCount( int threads )
+    {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return the number of worker threads.
+     */
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    /**
+     * @return <code>true</code> if tasks are run on worker threads, <code>false</code> if they are run on the calling
+     *         thread.
+     */
+    public boolean isParallel()
+    {
+        return executor != null;
+    }
+
+    /**
+     * @param task the task to run.
+     * @param <V> the result type of the task.
+     * @return the {@link Future} holding the outcome of the task.
+     */
+    public <V> Future<V> submit( Callable<V> task )
+    {
+        FutureTask<V> future = new FutureTask<>( task );
+        if ( executor != null )
+        {
+            executor.execute( future );
+        }
+        else
+        {
+            future.run();
+        }
+        return future;
+    }
+
+    /**
+     * Waits for a task and rethrows its failure as a {@link MojoExecutionException}.
+     *
+     * @param future the outcome of a task.
+     * @param <V> the result type of the task.
+     * @return the result of the task.
+     * @throws MojoExecutionException if the task failed or the wait was interrupted.
+     */
+    public static <V> V await( Future<V> future )
+        throws MojoExecutionException
+    {
+        return await( future, MojoExecutionException.class );
+    }
+
+    /**
+     * Waits for a task and rethrows its failure as is if it has the given type, or as a
+     * {@link MojoExecutionException} otherwise.
+     *
+     * @param future the outcome of a task.
+     * @param failureType the type of failure to rethrow as is.
+     * @param <V> the result type of the task.
+     * @param <E> the type of failure to rethrow as is.
+     * @return the result of the task.
+     * @throws E if the task failed with this type of failure.
+     * @throws MojoExecutionException if the task failed otherwise or the wait was interrupted.
+     */
+    public static <V, E extends Exception> V await( Future<V> future, Class<E> failureType )
+        throws E, MojoExecutionException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( "Interrupted while waiting for a worker thread", e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( failureType.isInstance( cause ) )
+            {
+                throw failureType.cast( cause );
+            }
+            if ( cause instanceof MojoExecutionException )
+            {
+                throw (MojoExecutionException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new MojoExecutionException( cause.getMessage(), cause );
+        }
+    }
+
+    /**
+     * Cancels the tasks that have not been started yet and waits for the running ones to finish, so no work continues
+     * after the mojo returns.
+     */
+    @Override
+    public void close()
+    {
+        if ( executor == null )
+        {
+            return;
+        }
+
+        executor.shutdownNow();
+        try
+        {
+            while ( !executor.awaitTermination( 1, TimeUnit.SECONDS ) )
+            {
+                // wait for the running tasks, they are not interruptible while doing I/O
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
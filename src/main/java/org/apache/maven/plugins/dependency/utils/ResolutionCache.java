@@ -0,0 +1,145 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
+
+/**
+ * Keeps the artifacts resolved during a session, so the modules of a reactor do not resolve the same artifacts again.
+ * The artifacts are kept per coordinate and set of remote repositories, the least recently used ones are evicted once
+ * the cache is full, and an artifact whose file is gone is resolved again. The cache keeps and hands out copies of the
+ * artifacts, as the modules of a parallel build may change the ones they get.
+ */
+public class ResolutionCache
+{
+    private static final Map<Object, ResolutionCache> SESSION_CACHES = new WeakHashMap<>();
+
+    private final Map<String, Artifact> artifacts;
+
+    /**
+     * @param maxSize the maximum number of artifacts to keep.
+     */
+    public ResolutionCache( final int maxSize )
+    {
+        this.artifacts = new LinkedHashMap<String, Artifact>( 16, 0.75f, true )
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, Artifact> eldest )
+            {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache of a session, created by the first mojo asking for it. Maven gives each project its own copy of
+     * the session, so the cache is kept per execution request, which all the copies share.
+     *
+     * @param session the session, or any copy of it.
+     * @param maxSize the maximum number of artifacts to keep, if the cache is created.
+     * @return the cache of the session.
+     */
+    public static ResolutionCache getInstance( MavenSession session, int maxSize )
+    {
+        Object key = session.getRequest() != null ? session.getRequest() : session;
+        synchronized ( SESSION_CACHES )
+        {
+            ResolutionCache cache = SESSION_CACHES.get( key );
+            if ( cache == null )
+            {
+                cache = new ResolutionCache( maxSize );
+                SESSION_CACHES.put( key, cache );
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * @param buildingRequest the request the artifacts are resolved with.
+     * @return the part of the keys identifying the remote repositories of the request.
+     */
+    public static String getRepositoriesKey( ProjectBuildingRequest buildingRequest )
+    {
+        StringBuilder key = new StringBuilder();
+        List<ArtifactRepository> repositories = buildingRequest.getRemoteRepositories();
+        if ( repositories != null )
+        {
+            for ( ArtifactRepository repository : repositories )
+            {
+                key.append( repository.getId() ).append( '=' ).append( repository.getUrl() ).append( ',' );
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param coordinate the coordinate of an artifact.
+     * @param repositoriesKey the key of the remote repositories, see
+     *            {@link #getRepositoriesKey(ProjectBuildingRequest)}.
+     * @return the key of the artifact.
+     */
+    public static String getKey( ArtifactCoordinate coordinate, String repositoriesKey )
+    {
+        return coordinate.getGroupId() + ':' + coordinate.getArtifactId() + ':' + coordinate.getExtension() + ':'
+            + coordinate.getClassifier() + ':' + coordinate.getVersion() + '@' + repositoriesKey;
+    }
+
+    /**
+     * @param key the key of the artifact.
+     * @return a copy of the resolved artifact, or <code>null</code> if it was not resolved or its file is gone.
+     */
+    public synchronized Artifact get( String key )
+    {
+        Artifact artifact = artifacts.get( key );
+        if ( artifact != null )
+        {
+            File file = artifact.getFile();
+            if ( file == null || !file.exists() )
+            {
+                artifacts.remove( key );
+                return null;
+            }
+            return ArtifactUtils.copyArtifact( artifact );
+        }
+        return null;
+    }
+
+    /**
+     * @param key the key of the artifact.
+     * @param artifact the resolved artifact, a copy of which is kept.
+     */
+    public synchronized void put( String key, Artifact artifact )
+    {
+        artifacts.put( key, ArtifactUtils.copyArtifact( artifact ) );
+    }
+}
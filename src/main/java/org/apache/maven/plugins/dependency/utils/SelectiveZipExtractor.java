@@ -0,0 +1,216 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.archiver.util.ArchiveEntryUtils;
+import org.codehaus.plexus.components.io.fileselectors.FileInfo;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+
+/**
+ * Extracts the selected entries of a zip archive straight from its central directory. The names of all the entries
+ * are matched first, and only the selected ones are read, with a large buffer, into the destination directory. The
+ * result is the same as with the plexus zip unarchiver, which wraps every entry in a resource and resolves the
+ * canonical path of every extracted file.
+ */
+public final class SelectiveZipExtractor
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String DEFAULT_ENCODING = "UTF8";
+
+    private SelectiveZipExtractor()
+    {
+        // no op
+    }
+
+    /**
+     * @param archive the zip archive.
+     * @param destDir the directory to extract the entries into.
+     * @param encoding encoding of the entry names, <code>null</code> for the default.
+     * @param selectors the selectors an entry must pass to be extracted.
+     * @param ignorePermissions <code>true</code> to not set the permissions stored in the archive.
+     * @return <code>false</code> if nothing was extracted because a selected entry is a symbolic link, which is left to
+     *         the plexus unarchiver.
+     * @throws IOException if the archive can not be read or an entry can not be written.
+     * @throws ArchiverException if an entry is outside of the destination directory or its permissions can not be set.
+     */
+    public static boolean extract( File archive, File destDir, String encoding, FileSelector[] selectors,
+                                   boolean ignorePermissions )
+        throws IOException
+    {
+        try ( ZipFile zipFile = new ZipFile( archive, encoding != null ? encoding : DEFAULT_ENCODING, true ) )
+        {
+            List<ZipArchiveEntry> selected = new ArrayList<>();
+            Enumeration<ZipArchiveEntry> entries = zipFile.getEntriesInPhysicalOrder();
+            while ( entries.hasMoreElements() )
+            {
+                ZipArchiveEntry entry = entries.nextElement();
+                if ( isSelected( entry, selectors ) )
+                {
+                    if ( entry.isUnixSymlink() )
+                    {
+                        return false;
+                    }
+                    selected.add( entry );
+                }
+            }
+
+            Path destPath = destDir.getCanonicalFile().toPath();
+            Set<File> checkedDirs = new HashSet<>();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for ( ZipArchiveEntry entry : selected )
+            {
+                File target = resolve( destPath, entry.getName(), checkedDirs );
+                if ( entry.isDirectory() )
+                {
+                    target.mkdirs();
+                }
+                else
+                {
+                    try ( InputStream in = zipFile.getInputStream( entry );
+                          OutputStream out = new FileOutputStream( target ) )
+                    {
+                        int read;
+                        while ( ( read = in.read( buffer ) ) != -1 )
+                        {
+                            out.write( buffer, 0, read );
+                        }
+                    }
+                }
+
+                target.setLastModified( entry.getTime() );
+                if ( !ignorePermissions && entry.getUnixMode() != 0 && !entry.isDirectory() )
+                {
+                    ArchiveEntryUtils.chmod( target, entry.getUnixMode() );
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSelected( ZipArchiveEntry entry, FileSelector[] selectors )
+        throws IOException
+    {
+        if ( selectors == null )
+        {
+            return true;
+        }
+
+        FileInfo fileInfo = new EntryInfo( entry );
+        for ( FileSelector selector : selectors )
+        {
+            if ( !selector.isSelected( fileInfo ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves an entry in the destination directory, and creates its parent directory. The canonical path is only
+     * checked once per parent directory, and for the entries already present as a symbolic link, not for every entry.
+     */
+    private static File resolve( Path destPath, String name, Set<File> checkedDirs )
+        throws IOException
+    {
+        Path targetPath = destPath.resolve( name ).normalize();
+        if ( !targetPath.startsWith( destPath ) || targetPath.equals( destPath ) )
+        {
+            throw new ArchiverException( "Entry is outside of the target directory (" + name + ")" );
+        }
+
+        File target = targetPath.toFile();
+        File parent = target.getParentFile();
+        if ( checkedDirs.add( parent ) )
+        {
+            // a symbolic link in the destination directory could point anywhere
+            if ( !parent.getCanonicalFile().toPath().startsWith( destPath ) )
+            {
+                throw new ArchiverException( "Entry is outside of the target directory (" + name + ")" );
+            }
+            parent.mkdirs();
+        }
+
+        // so is a symbolic link already at the place of the entry, which would be followed when writing it
+        if ( Files.isSymbolicLink( targetPath ) && !target.getCanonicalFile().toPath().startsWith( destPath ) )
+        {
+            throw new ArchiverException( "Entry is outside of the target directory (" + name + ")" );
+        }
+        return target;
+    }
+
+    private static class EntryInfo
+        implements FileInfo
+    {
+        private final ZipArchiveEntry entry;
+
+        EntryInfo( ZipArchiveEntry entry )
+        {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getName()
+        {
+            return entry.getName();
+        }
+
+        @Override
+        public InputStream getContents()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isFile()
+        {
+            return !entry.isDirectory() && !entry.isUnixSymlink();
+        }
+
+        @Override
+        public boolean isDirectory()
+        {
+            return entry.isDirectory();
+        }
+
+        @Override
+        public boolean isSymbolicLink()
+        {
+            return entry.isUnixSymlink();
+        }
+    }
+}
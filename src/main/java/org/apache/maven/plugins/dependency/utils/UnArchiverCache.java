@@ -0,0 +1,175 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.codehaus.plexus.archiver.AbstractUnArchiver;
+import org.codehaus.plexus.archiver.UnArchiver;
+import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * Looks up {@link UnArchiver}s once per archive type or file extension, and keeps the released ones for reuse. An
+ * unarchiver is only handed to one caller at a time, and only reused for the same type or extension and encoding, so
+ * the caller must set the source file, destination, selectors, mappers and permissions handling every time.
+ */
+public class UnArchiverCache
+{
+    private final ArchiverManager archiverManager;
+
+    private final Map<String, Boolean> knownTypes = new HashMap<>();
+
+    private final Map<String, Deque<UnArchiver>> idle = new HashMap<>();
+
+    private final Map<UnArchiver, String> borrowed = new IdentityHashMap<>();
+
+    /**
+     * @param archiverManager the manager to look up the unarchivers with.
+     */
+    public UnArchiverCache( ArchiverManager archiverManager )
+    {
+        this.archiverManager = archiverManager;
+    }
+
+    /**
+     * Returns an unarchiver for the given type or, if there is none for the type, for the extension of the file.
+     *
+     * @param type the type of the archive.
+     * @param file the archive file.
+     * @param encoding the encoding the unarchiver will be configured with, <code>null</code> if none.
+     * @return an unarchiver, to be given back with {@link #release(UnArchiver)} once it is not used anymore.
+     * @throws NoSuchArchiverException if there is no unarchiver for the type nor for the extension of the file.
+     */
+    public synchronized UnArchiver acquire( String type, File file, String encoding )
+        throws NoSuchArchiverException
+    {
+        String name = isKnownType( type ) ? type : getFileExtension( file );
+        String key = name + '|' + encoding;
+
+        UnArchiver unArchiver = null;
+        Deque<UnArchiver> unArchivers = idle.get( key );
+        if ( unArchivers != null )
+        {
+            unArchiver = unArchivers.poll();
+        }
+        if ( unArchiver == null )
+        {
+            unArchiver = lookup( name );
+        }
+        borrowed.put( unArchiver, key );
+        return unArchiver;
+    }
+
+    /**
+     * Gives back an unarchiver which completed its extraction, so it can be reused.
+     *
+     * @param unArchiver an unarchiver returned by {@link #acquire(String, File, String)}.
+     */
+    public synchronized void release( UnArchiver unArchiver )
+    {
+        String key = borrowed.remove( unArchiver );
+        // only the plexus unarchivers are known to be fully reconfigured by their setters
+        if ( key == null || !( unArchiver instanceof AbstractUnArchiver ) )
+        {
+            return;
+        }
+
+        idle( key ).push( unArchiver );
+    }
+
+    /**
+     * Looks up a new unarchiver.
+     *
+     * @param name the type or file extension of the archive.
+     * @return a new unarchiver.
+     * @throws NoSuchArchiverException if there is no unarchiver with this name.
+     */
+    protected UnArchiver lookup( String name )
+        throws NoSuchArchiverException
+    {
+        return archiverManager.getUnArchiver( name );
+    }
+
+    private Deque<UnArchiver> idle( String key )
+    {
+        Deque<UnArchiver> unArchivers = idle.get( key );
+        if ( unArchivers == null )
+        {
+            unArchivers = new ArrayDeque<>();
+            idle.put( key, unArchivers );
+        }
+        return unArchivers;
+    }
+
+    private boolean isKnownType( String type )
+    {
+        if ( type == null )
+        {
+            return false;
+        }
+
+        Boolean known = knownTypes.get( type );
+        if ( known == null )
+        {
+            try
+            {
+                UnArchiver unArchiver = lookup( type );
+                known = Boolean.TRUE;
+
+                // not configured yet, keep it for the first archive of this type
+                idle( type + "|null" ).push( unArchiver );
+            }
+            catch ( NoSuchArchiverException e )
+            {
+                known = Boolean.FALSE;
+            }
+            knownTypes.put( type, known );
+        }
+        return known;
+    }
+
+    /**
+     * Same as the extension used by {@link ArchiverManager#getUnArchiver(File)}.
+     */
+    private static String getFileExtension( File file )
+    {
+        String path = file.getAbsolutePath();
+        String extension = FileUtils.getExtension( path ).toLowerCase( Locale.ENGLISH );
+        if ( "gz".equals( extension ) || "bz2".equals( extension ) || "xz".equals( extension )
+            || "snappy".equals( extension ) )
+        {
+            String[] parts = StringUtils.split( path, "." );
+            if ( parts.length > 2 && "tar".equals( parts[parts.length - 2].toLowerCase( Locale.ENGLISH ) ) )
+            {
+                extension = "tar." + extension;
+            }
+        }
+        return extension;
+    }
+}
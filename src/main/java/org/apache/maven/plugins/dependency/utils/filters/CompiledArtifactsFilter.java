@@ -0,0 +1,414 @@
+package org.apache.maven.plugins.dependency.utils.filters;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
+import org.apache.maven.shared.artifact.filter.collection.AbstractArtifactsFilter;
+import org.apache.maven.shared.artifact.filter.collection.ArtifactFilterException;
+import org.apache.maven.shared.utils.StringUtils;
+
+/**
+ * Applies the transitivity, scope, type, classifier, groupId and artifactId filters of the dependency mojos to each
+ * artifact in a single pass, with the include and exclude lists tokenized once. The result is the same as with the
+ * <code>FilterArtifacts</code> chain of <code>ProjectTransitivityFilter</code>, <code>ScopeFilter</code>,
+ * <code>TypeFilter</code>, <code>ClassifierFilter</code>, <code>GroupIdFilter</code> and
+ * <code>ArtifactIdFilter</code>, down to the order of the artifacts: each filter with includes groups the artifacts by
+ * the first include they match.
+ */
+public class CompiledArtifactsFilter
+    extends AbstractArtifactsFilter
+{
+    private static final Comparator<Entry> INCLUDE_ORDER = new Comparator<Entry>()
+    {
+        @Override
+        public int compare( Entry e1, Entry e2 )
+        {
+            // the last filter of the chain decides, the previous ones break the ties
+            for ( int i = e1.includeIndexes.length - 1; i >= 0; i-- )
+            {
+                int result = Integer.compare( e1.includeIndexes[i], e2.includeIndexes[i] );
+                if ( result != 0 )
+                {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    };
+
+    private final Set<Artifact> directDependencies;
+
+    private final boolean excludeTransitive;
+
+    private String includeScope;
+
+    private String excludeScope;
+
+    private final Feature[] features = { new Feature()
+    {
+        @Override
+        String get( Artifact artifact )
+        {
+            return artifact.getType();
+        }
+    }, new Feature()
+    {
+        @Override
+        String get( Artifact artifact )
+        {
+            return artifact.getClassifier();
+        }
+    }, new Feature()
+    {
+        @Override
+        String get( Artifact artifact )
+        {
+            return artifact.getGroupId();
+        }
+
+        @Override
+        boolean matches( String feature, String pattern )
+        {
+            // like GroupIdFilter, which fails on a missing groupId
+            if ( feature == null )
+            {
+                throw new NullPointerException();
+            }
+            return feature.startsWith( pattern );
+        }
+    }, new Feature()
+    {
+        @Override
+        String get( Artifact artifact )
+        {
+            return artifact.getArtifactId();
+        }
+    } };
+
+    /**
+     * @param directDependencies the direct dependencies of the project.
+     * @param excludeTransitive <code>true</code> to only keep the direct dependencies.
+     */
+    public CompiledArtifactsFilter( Set<Artifact> directDependencies, boolean excludeTransitive )
+    {
+        this.directDependencies = directDependencies;
+        this.excludeTransitive = excludeTransitive;
+    }
+
+    /**
+     * @param include the scope to include, with the scopes it implies, or empty.
+     * @param exclude the scope to exclude, with the scopes it implies, or empty. Ignored if a scope is included.
+     */
+    public void setScopes( String include, String exclude )
+    {
+        this.includeScope = include;
+        this.excludeScope = exclude;
+    }
+
+    /**
+     * @param includes the comma separated types to include, or empty.
+     * @param excludes the comma separated types to exclude, or empty.
+     */
+    public void setTypes( String includes, String excludes )
+    {
+        features[0].set( includes, excludes );
+    }
+
+    /**
+     * @param includes the comma separated classifiers to include, or empty.
+     * @param excludes the comma separated classifiers to exclude, or empty.
+     */
+    public void setClassifiers( String includes, String excludes )
+    {
+        features[1].set( includes, excludes );
+    }
+
+    /**
+     * @param includes the comma separated groupId prefixes to include, or empty.
+     * @param excludes the comma separated groupId prefixes to exclude, or empty.
+     */
+    public void setGroupIds( String includes, String excludes )
+    {
+        features[2].set( includes, excludes );
+    }
+
+    /**
+     * @param includes the comma separated artifactIds to include, or empty.
+     * @param excludes the comma separated artifactIds to exclude, or empty.
+     */
+    public void setArtifactIds( String includes, String excludes )
+    {
+        features[3].set( includes, excludes );
+    }
+
+    @Override
+    public Set<Artifact> filter( Set<Artifact> artifacts )
+        throws ArtifactFilterException
+    {
+        ArtifactFilter scopeFilter = null;
+        String singleScope = null;
+        boolean includeScopes = StringUtils.isNotEmpty( includeScope );
+        if ( includeScopes )
+        {
+            checkScope( includeScope, "includeScope" );
+            if ( isSingleScope( includeScope ) )
+            {
+                singleScope = includeScope;
+            }
+            else
+            {
+                scopeFilter = new ScopeArtifactFilter( includeScope );
+            }
+        }
+        else if ( StringUtils.isNotEmpty( excludeScope ) )
+        {
+            checkScope( excludeScope, "excludeScope" );
+            if ( Artifact.SCOPE_TEST.equals( excludeScope ) )
+            {
+                throw new ArtifactFilterException( " Can't exclude Test scope, this will exclude everything." );
+            }
+            if ( isSingleScope( excludeScope ) )
+            {
+                singleScope = excludeScope;
+            }
+            else
+            {
+                scopeFilter = new ScopeArtifactFilter( excludeScope );
+            }
+        }
+
+        boolean transitivity = excludeTransitive && directDependencies != null;
+        boolean active = transitivity || singleScope != null || scopeFilter != null;
+        for ( Feature feature : features )
+        {
+            active |= feature.isActive();
+        }
+        if ( !active )
+        {
+            // like the chain, where each filter returns the artifacts it has nothing to filter out of
+            return artifacts;
+        }
+
+        boolean[] skipped = new boolean[features.length];
+        while ( true )
+        {
+            try
+            {
+                return filter( artifacts, transitivity, scopeFilter, singleScope, includeScopes, skipped );
+            }
+            catch ( FeatureFailure e )
+            {
+                // like FilterArtifacts, which skips a filter failing with a NullPointerException
+                skipped[e.feature] = true;
+            }
+        }
+    }
+
+    private Set<Artifact> filter( Set<Artifact> artifacts, boolean transitivity, ArtifactFilter scopeFilter,
+                                  String singleScope, boolean includeScopes, boolean[] skipped )
+        throws FeatureFailure
+    {
+        // the order only changes if a filter has several includes
+        boolean reorder = false;
+        for ( int i = 0; i < features.length; i++ )
+        {
+            reorder |= !skipped[i] && features[i].includes.length > 1;
+        }
+
+        Set<Artifact> results = new LinkedHashSet<>();
+        List<Entry> entries = reorder ? new ArrayList<Entry>( artifacts.size() ) : null;
+        int[] includeIndexes = new int[features.length];
+        for ( Artifact artifact : artifacts )
+        {
+            if ( transitivity && !directDependencies.contains( artifact ) )
+            {
+                continue;
+            }
+
+            if ( singleScope != null && singleScope.equals( artifact.getScope() ) != includeScopes )
+            {
+                continue;
+            }
+            if ( scopeFilter != null && scopeFilter.include( artifact ) != includeScopes )
+            {
+                continue;
+            }
+
+            boolean included = true;
+            for ( int i = 0; i < features.length && included; i++ )
+            {
+                if ( skipped[i] )
+                {
+                    continue;
+                }
+                try
+                {
+                    int includeIndex = features[i].getIncludeIndex( artifact );
+                    included = includeIndex >= 0;
+                    includeIndexes[i] = includeIndex;
+                }
+                catch ( NullPointerException e )
+                {
+                    throw new FeatureFailure( i );
+                }
+            }
+
+            if ( included )
+            {
+                if ( entries != null )
+                {
+                    entries.add( new Entry( artifact, includeIndexes.clone() ) );
+                }
+                else
+                {
+                    results.add( artifact );
+                }
+            }
+        }
+
+        if ( entries != null )
+        {
+            // stable, the artifacts matching the same includes keep their order
+            Collections.sort( entries, INCLUDE_ORDER );
+            for ( Entry entry : entries )
+            {
+                results.add( entry.artifact );
+            }
+        }
+        return results;
+    }
+
+    private static boolean isSingleScope( String scope )
+    {
+        return Artifact.SCOPE_PROVIDED.equals( scope ) || Artifact.SCOPE_SYSTEM.equals( scope );
+    }
+
+    private static void checkScope( String scope, String parameter )
+        throws ArtifactFilterException
+    {
+        if ( !Artifact.SCOPE_COMPILE.equals( scope ) && !Artifact.SCOPE_TEST.equals( scope )
+            && !Artifact.SCOPE_PROVIDED.equals( scope ) && !Artifact.SCOPE_RUNTIME.equals( scope )
+            && !Artifact.SCOPE_SYSTEM.equals( scope ) )
+        {
+            throw new ArtifactFilterException( "Invalid Scope in " + parameter + ": " + scope );
+        }
+    }
+
+    /**
+     * A feature of the artifacts, with its tokenized includes and excludes.
+     */
+    private abstract static class Feature
+    {
+        private String[] includes = new String[0];
+
+        private String[] excludes = new String[0];
+
+        void set( String include, String exclude )
+        {
+            includes = StringUtils.isNotEmpty( include ) ? StringUtils.split( include, "," ) : new String[0];
+            excludes = StringUtils.isNotEmpty( exclude ) ? StringUtils.split( exclude, "," ) : new String[0];
+        }
+
+        boolean isActive()
+        {
+            return includes.length > 0 || excludes.length > 0;
+        }
+
+        abstract String get( Artifact artifact );
+
+        boolean matches( String feature, String pattern )
+        {
+            return feature != null && feature.equals( pattern );
+        }
+
+        /**
+         * @return the index of the first include matched by the artifact, zero if there is no include, or
+         *         <code>-1</code> if the artifact is not included or is excluded.
+         */
+        int getIncludeIndex( Artifact artifact )
+        {
+            if ( !isActive() )
+            {
+                return 0;
+            }
+
+            String feature = get( artifact );
+            int includeIndex = includes.length == 0 ? 0 : -1;
+            for ( int i = 0; i < includes.length && includeIndex < 0; i++ )
+            {
+                if ( matches( feature, includes[i] ) )
+                {
+                    includeIndex = i;
+                }
+            }
+            if ( includeIndex < 0 )
+            {
+                return -1;
+            }
+
+            for ( String exclude : excludes )
+            {
+                if ( matches( feature, exclude ) )
+                {
+                    return -1;
+                }
+            }
+            return includeIndex;
+        }
+    }
+
+    private static class Entry
+    {
+        private final Artifact artifact;
+
+        private final int[] includeIndexes;
+
+        Entry( Artifact artifact, int[] includeIndexes )
+        {
+            this.artifact = artifact;
+            this.includeIndexes = includeIndexes;
+        }
+    }
+
+    /**
+     * Thrown when a feature filter would fail with a <code>NullPointerException</code> on an artifact.
+     */
+    private static class FeatureFailure
+        extends Exception
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int feature;
+
+        FeatureFailure( int feature )
+        {
+            this.feature = feature;
+        }
+    }
+}
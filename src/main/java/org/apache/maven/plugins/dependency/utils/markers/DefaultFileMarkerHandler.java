@@ -41,6 +41,11 @@ public class DefaultFileMarkerHandler
      */
     protected File markerFilesDirectory;
 
+    /**
+     * The index holding the markers, or <code>null</code> to use one file per marker.
+     */
+    protected MarkerIndex markerIndex;
+
     /**
      * @param theMarkerFilesDirectory The marker directory.
      */
@@ -83,7 +88,7 @@ public class DefaultFileMarkerHandler
         throws MojoExecutionException
     {
         File marker = getMarkerFile();
-        return marker.exists();
+        return markerExists( marker );
     }
 
     @Override
@@ -91,9 +96,9 @@ public class DefaultFileMarkerHandler
         throws MojoExecutionException
     {
         File marker = getMarkerFile();
-        if ( marker.exists() )
+        if ( markerExists( marker ) )
         {
-            return artifact1.getFile().lastModified() > marker.lastModified();
+            return artifact1.getFile().lastModified() > getMarkerLastModified( marker );
         }
         else
         {
@@ -108,6 +113,22 @@ public class DefaultFileMarkerHandler
         throws MojoExecutionException
     {
         File marker = getMarkerFile();
+        long ts;
+        if ( this.artifact != null && this.artifact.getFile() != null )
+        {
+            ts = this.artifact.getFile().lastModified();
+        }
+        else
+        {
+            ts = System.currentTimeMillis();
+        }
+
+        if ( this.markerIndex != null )
+        {
+            this.markerIndex.set( marker.getName(), ts );
+            return;
+        }
+
         // create marker file
         try
         {
@@ -129,15 +150,6 @@ public class DefaultFileMarkerHandler
         // update marker file timestamp
         try
         {
-            long ts;
-            if ( this.artifact != null && this.artifact.getFile() != null )
-            {
-                ts = this.artifact.getFile().lastModified();
-            }
-            else
-            {
-                ts = System.currentTimeMillis();
-            }
             if ( !marker.setLastModified( ts ) )
             {
                 throw new MojoExecutionException( "Unable to update last modified timestamp on marker file "
@@ -165,7 +177,40 @@ public class DefaultFileMarkerHandler
         throws MojoExecutionException
     {
         File marker = getMarkerFile();
-        return marker.delete();
+        return deleteMarker( marker );
+    }
+
+    /**
+     * @param marker the marker file.
+     * @return <code>true</code> if the marker is set, in the index or as a file.
+     * @throws MojoExecutionException if the index can not be read.
+     */
+    protected boolean markerExists( File marker )
+        throws MojoExecutionException
+    {
+        return this.markerIndex != null ? this.markerIndex.isSet( marker.getName() ) : marker.exists();
+    }
+
+    /**
+     * @param marker the marker file.
+     * @return the timestamp of the marker, or <code>0L</code> if it is not set.
+     * @throws MojoExecutionException if the index can not be read.
+     */
+    protected long getMarkerLastModified( File marker )
+        throws MojoExecutionException
+    {
+        return this.markerIndex != null ? this.markerIndex.getTimestamp( marker.getName() ) : marker.lastModified();
+    }
+
+    /**
+     * @param marker the marker file.
+     * @return <code>true</code> if the marker was cleared.
+     * @throws MojoExecutionException if the index can not be read.
+     */
+    protected boolean deleteMarker( File marker )
+        throws MojoExecutionException
+    {
+        return this.markerIndex != null ? this.markerIndex.clear( marker.getName() ) : marker.delete();
     }
 
     /**
@@ -200,4 +245,20 @@ public class DefaultFileMarkerHandler
     {
         this.markerFilesDirectory = markerFilesDirectory;
     }
+
+    /**
+     * @return Returns the markerIndex.
+     */
+    public MarkerIndex getMarkerIndex()
+    {
+        return this.markerIndex;
+    }
+
+    /**
+     * @param markerIndex The index holding the markers, <code>null</code> to use one file per marker.
+     */
+    public void setMarkerIndex( MarkerIndex markerIndex )
+    {
+        this.markerIndex = markerIndex;
+    }
 }
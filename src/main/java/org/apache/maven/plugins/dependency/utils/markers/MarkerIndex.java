@@ -0,0 +1,239 @@
+package org.apache.maven.plugins.dependency.utils.markers;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Keeps all the markers of a marker directory in a single index file, instead of one file per marker. The index is
+ * read on first use and written back by {@link #save()}. When the index file does not exist yet, the marker files
+ * already in the directory are imported, so switching to the index does not unpack everything again.
+ */
+public class MarkerIndex
+{
+    /**
+     * The name of the index file in the marker directory.
+     */
+    public static final String INDEX_FILE_NAME = "markers.index";
+
+    private static final String HEADER = "# maven-dependency-plugin marker index, version 1";
+
+    private final File markerFilesDirectory;
+
+    private Map<String, Long> markers;
+
+    private boolean modified;
+
+    /**
+     * @param markerFilesDirectory The marker directory.
+     */
+    public MarkerIndex( File markerFilesDirectory )
+    {
+        this.markerFilesDirectory = markerFilesDirectory;
+    }
+
+    /**
+     * @param name the name of the marker.
+     * @return <code>true</code> if the marker is set.
+     * @throws MojoExecutionException if the index can not be read.
+     */
+    public synchronized boolean isSet( String name )
+        throws MojoExecutionException
+    {
+        return getMarkers().containsKey( name );
+    }
+
+    /**
+     * @param name the name of the marker.
+     * @return the timestamp of the marker, or <code>0L</code> if it is not set.
+     * @throws MojoExecutionException if the index can not be read.
+     */
+    public synchronized long getTimestamp( String name )
+        throws MojoExecutionException
+    {
+        Long timestamp = getMarkers().get( name );
+        return timestamp != null ? timestamp : 0L;
+    }
+
+    /**
+     * @param name the name of the marker.
+     * @param timestamp the timestamp of the marker.
+     * @throws MojoExecutionException if the index can not be read.
+     */
+    public synchronized void set( String name, long timestamp )
+        throws MojoExecutionException
+    {
+        Long previous = getMarkers().put( name, timestamp );
+        modified |= previous == null || previous != timestamp;
+    }
+
+    /**
+     * @param name the name of the marker.
+     * @return <code>true</code> if the marker was set.
+     * @throws MojoExecutionException if the index can not be read.
+     */
+    public synchronized boolean clear( String name )
+        throws MojoExecutionException
+    {
+        boolean cleared = getMarkers().remove( name ) != null;
+        modified |= cleared;
+        return cleared;
+    }
+
+    /**
+     * Writes the index if a marker changed, through a temporary file so an interrupted build never leaves a truncated
+     * index behind.
+     *
+     * @throws MojoExecutionException if the index can not be written.
+     */
+    public synchronized void save()
+        throws MojoExecutionException
+    {
+        if ( !modified )
+        {
+            return;
+        }
+
+        File indexFile = getIndexFile();
+        Path target = indexFile.toPath();
+        Path temp = target.resolveSibling( INDEX_FILE_NAME + ".tmp" );
+        try
+        {
+            Files.createDirectories( target.getParent() );
+            try ( BufferedWriter writer = Files.newBufferedWriter( temp, StandardCharsets.UTF_8 ) )
+            {
+                writer.write( HEADER );
+                writer.newLine();
+                for ( Map.Entry<String, Long> marker : markers.entrySet() )
+                {
+                    writer.write( marker.getKey() + '\t' + marker.getValue() );
+                    writer.newLine();
+                }
+            }
+
+            try
+            {
+                Files.move( temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( temp, target, StandardCopyOption.REPLACE_EXISTING );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Unable to write marker index: " + indexFile.getAbsolutePath(), e );
+        }
+        modified = false;
+    }
+
+    /**
+     * @return the index file, which is not guaranteed to exist.
+     */
+    public File getIndexFile()
+    {
+        return new File( markerFilesDirectory, INDEX_FILE_NAME );
+    }
+
+    private Map<String, Long> getMarkers()
+        throws MojoExecutionException
+    {
+        if ( markers == null )
+        {
+            File indexFile = getIndexFile();
+            try
+            {
+                markers = indexFile.exists() ? read( indexFile ) : importMarkerFiles();
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "Unable to read marker index: " + indexFile.getAbsolutePath(), e );
+            }
+        }
+        return markers;
+    }
+
+    private static Map<String, Long> read( File indexFile )
+        throws IOException
+    {
+        Map<String, Long> entries = new TreeMap<>();
+        try ( BufferedReader reader = Files.newBufferedReader( indexFile.toPath(), StandardCharsets.UTF_8 ) )
+        {
+            String line = reader.readLine();
+            if ( !HEADER.equals( line ) )
+            {
+                // unknown format, every artifact is processed again
+                return entries;
+            }
+
+            while ( ( line = reader.readLine() ) != null )
+            {
+                int tab = line.lastIndexOf( '\t' );
+                if ( tab < 0 )
+                {
+                    continue;
+                }
+                try
+                {
+                    entries.put( line.substring( 0, tab ), Long.parseLong( line.substring( tab + 1 ) ) );
+                }
+                catch ( NumberFormatException e )
+                {
+                    // skip the damaged line, the artifact will be processed again
+                }
+            }
+        }
+        return entries;
+    }
+
+    private Map<String, Long> importMarkerFiles()
+    {
+        Map<String, Long> entries = new TreeMap<>();
+        File[] files = markerFilesDirectory.listFiles();
+        if ( files == null )
+        {
+            return entries;
+        }
+
+        for ( File file : files )
+        {
+            String name = file.getName();
+            // the state files of copy-dependencies and leftovers of an interrupted save are not markers
+            if ( file.isFile() && !name.endsWith( ".tmp" ) && !name.endsWith( ".state" ) )
+            {
+                entries.put( name, file.lastModified() );
+            }
+        }
+        modified = !entries.isEmpty();
+        return entries;
+    }
+}
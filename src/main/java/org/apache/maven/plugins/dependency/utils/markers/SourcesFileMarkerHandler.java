@@ -102,7 +102,7 @@ public class SourcesFileMarkerHandler
 
         File marker2 = getMarkerFile( !this.resolved );
 
-        return marker.exists() || marker2.exists();
+        return markerExists( marker ) || markerExists( marker2 );
     }
 
     @Override
@@ -110,16 +110,16 @@ public class SourcesFileMarkerHandler
         throws MojoExecutionException
     {
         File marker = getMarkerFile();
-        if ( marker.exists() )
+        if ( markerExists( marker ) )
         {
-            return theArtifact.getFile().lastModified() > marker.lastModified();
+            return theArtifact.getFile().lastModified() > getMarkerLastModified( marker );
         }
         else
         {
             marker = getMarkerFile( !this.resolved );
-            if ( marker.exists() )
+            if ( markerExists( marker ) )
             {
-                return theArtifact.getFile().lastModified() > marker.lastModified();
+                return theArtifact.getFile().lastModified() > getMarkerLastModified( marker );
             }
             else
             {
@@ -138,6 +138,14 @@ public class SourcesFileMarkerHandler
 
         // get the other file if it exists.
         File clearMarker = getMarkerFile( !this.resolved );
+
+        if ( this.markerIndex != null )
+        {
+            this.markerIndex.set( marker.getName(), System.currentTimeMillis() );
+            this.markerIndex.clear( clearMarker.getName() );
+            return;
+        }
+
         // create marker file
         try
         {
@@ -181,8 +189,8 @@ public class SourcesFileMarkerHandler
     {
         File marker = getMarkerFile();
         File marker2 = getMarkerFile( !this.resolved );
-        boolean markResult = marker.delete();
-        boolean mark2Result = marker2.delete();
+        boolean markResult = deleteMarker( marker );
+        boolean mark2Result = deleteMarker( marker2 );
         return markResult || mark2Result;
     }
 
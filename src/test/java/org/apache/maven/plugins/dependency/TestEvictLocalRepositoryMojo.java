@@ -0,0 +1,262 @@
+package org.apache.maven.plugins.dependency;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
+import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
+import org.mockito.ArgumentMatchers;
+
+public class TestEvictLocalRepositoryMojo
+    extends AbstractDependencyMojoTestCase
+{
+    private File repository;
+
+    private File a;
+
+    private File b;
+
+    private File c;
+
+    private File d;
+
+    protected void setUp()
+        throws Exception
+    {
+        // required for mojo lookups to work
+        super.setUp( "evict", false );
+
+        repository = new File( testDir, "repository" );
+        d = createVersion( "d", 40 );
+        b = createVersion( "b", 30 );
+        a = createVersion( "a", 20 );
+        c = createVersion( "c", 1 );
+    }
+
+    public void testEvictLeastRecentlyUsedToBudget()
+        throws Exception
+    {
+        EvictLocalRepositoryMojo mojo = createMojo();
+        setVariableValueToObject( mojo, "maxSize", "2k" );
+        mojo.execute();
+
+        assertFalse( b.exists() );
+        assertFalse( a.exists() );
+        assertTrue( c.exists() );
+        assertTrue( "referenced by the reactor", d.exists() );
+    }
+
+    public void testEvictByAge()
+        throws Exception
+    {
+        EvictLocalRepositoryMojo mojo = createMojo();
+        setVariableValueToObject( mojo, "maxAge", 10 );
+        mojo.execute();
+
+        assertFalse( b.exists() );
+        assertFalse( a.exists() );
+        assertTrue( c.exists() );
+        assertTrue( d.exists() );
+    }
+
+    public void testDryRun()
+        throws Exception
+    {
+        EvictLocalRepositoryMojo mojo = createMojo();
+        setVariableValueToObject( mojo, "maxSize", "0" );
+        setVariableValueToObject( mojo, "dryRun", true );
+        mojo.execute();
+
+        assertTrue( a.exists() );
+        assertTrue( b.exists() );
+        assertTrue( c.exists() );
+        assertTrue( d.exists() );
+    }
+
+    public void testProtectPluginDependenciesAndReferencedPoms()
+        throws Exception
+    {
+        File parent = createVersion( "parent", 50 );
+        File bom = createVersion( "bom", 50 );
+        File nestedBom = createVersion( "nested-bom", 50 );
+        File plugin = createVersion( "plugin", 50 );
+        File pluginDependency = createVersion( "plugin-dependency", 50 );
+        File running = createVersion( "running", 50 );
+        writePom( d, "<parent><groupId>org.example</groupId><artifactId>parent</artifactId>"
+            + "<version>1.0</version></parent><artifactId>d</artifactId>" );
+        writePom( parent, "<groupId>org.example</groupId><artifactId>parent</artifactId><version>1.0</version>"
+            + "<properties><bom.version>1.0</bom.version></properties>" + importPom( "${bom.version}", "bom" ) );
+        writePom( bom, "<groupId>org.example</groupId><artifactId>bom</artifactId><version>1.0</version>"
+            + importPom( "${project.version}", "nested-bom" ) );
+
+        final Plugin buildPlugin = new Plugin();
+        buildPlugin.setGroupId( "org.example" );
+        buildPlugin.setArtifactId( "plugin" );
+        buildPlugin.setVersion( "1.0" );
+        MavenProject project = new DependencyProjectStub()
+        {
+            @Override
+            public List<Plugin> getBuildPlugins()
+            {
+                return Collections.singletonList( buildPlugin );
+            }
+        };
+        project.setArtifacts( Collections.singleton( stubFactory.createArtifact( "org.example", "d", "1.0" ) ) );
+
+        List<ArtifactResult> results = new ArrayList<>();
+        for ( String artifactId : new String[] { "plugin", "plugin-dependency" } )
+        {
+            ArtifactResult result = mock( ArtifactResult.class );
+            when( result.getArtifact() ).thenReturn( stubFactory.createArtifact( "org.example", artifactId, "1.0" ) );
+            results.add( result );
+        }
+        DependencyResolver dependencyResolver = mock( DependencyResolver.class );
+        when( dependencyResolver.resolveDependencies( any( ProjectBuildingRequest.class ),
+                                                      ArgumentMatchers.<Collection<Dependency>>any(),
+                                                      ArgumentMatchers.<Collection<Dependency>>any(),
+                                                      ArgumentMatchers.<TransformableFilter>any() ) )
+            .thenReturn( results );
+        MavenSession session = mock( MavenSession.class );
+        when( session.getProjectBuildingRequest() ).thenReturn( new DefaultProjectBuildingRequest() );
+
+        EvictLocalRepositoryMojo mojo = createMojo();
+        setVariableValueToObject( mojo, "reactorProjects", Collections.singletonList( project ) );
+        setVariableValueToObject( mojo, "session", session );
+        setVariableValueToObject( mojo, "dependencyResolver", dependencyResolver );
+        setVariableValueToObject( mojo, "pluginArtifacts",
+                                  Collections.singletonList( stubFactory.createArtifact( "org.example", "running",
+                                                                                         "1.0" ) ) );
+        setVariableValueToObject( mojo, "maxSize", "0" );
+        mojo.execute();
+
+        assertFalse( a.exists() );
+        assertFalse( b.exists() );
+        assertFalse( c.exists() );
+        assertTrue( d.exists() );
+        assertTrue( "parent of d", parent.exists() );
+        assertTrue( "imported by the parent of d", bom.exists() );
+        assertTrue( "imported by an imported BOM", nestedBom.exists() );
+        assertTrue( "build plugin", plugin.exists() );
+        assertTrue( "dependency of a build plugin", pluginDependency.exists() );
+        assertTrue( "running plugin", running.exists() );
+    }
+
+    public void testSizes()
+        throws MojoExecutionException
+    {
+        assertEquals( 1500, EvictLocalRepositoryMojo.parseSize( "1500" ) );
+        assertEquals( 2048, EvictLocalRepositoryMojo.parseSize( "2K" ) );
+        assertEquals( 20L << 30, EvictLocalRepositoryMojo.parseSize( " 20g " ) );
+        try
+        {
+            EvictLocalRepositoryMojo.parseSize( "g" );
+            fail( "Expected a MojoExecutionException" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            assertEquals( "Invalid maxSize: g", e.getMessage() );
+        }
+
+        assertEquals( "512 B", EvictLocalRepositoryMojo.formatSize( 512 ) );
+        assertEquals( "1.5 KB", EvictLocalRepositoryMojo.formatSize( 1536 ) );
+        assertEquals( "20.0 GB", EvictLocalRepositoryMojo.formatSize( 20L << 30 ) );
+    }
+
+    private EvictLocalRepositoryMojo createMojo()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), "target/test-classes/unit/evict-test/plugin-config.xml" );
+        EvictLocalRepositoryMojo mojo = (EvictLocalRepositoryMojo) lookupMojo( "evict-local-repository", testPom );
+        assertNotNull( mojo );
+
+        MavenProject project = new DependencyProjectStub();
+        Artifact artifact = stubFactory.createArtifact( "org.example", "d", "1.0" );
+        project.setArtifacts( Collections.singleton( artifact ) );
+
+        setVariableValueToObject( mojo, "reactorProjects", Collections.singletonList( project ) );
+        setVariableValueToObject( mojo, "localRepository",
+                                  new MavenArtifactRepository( "local", repository.toURI().toURL().toExternalForm(),
+                                                               new DefaultRepositoryLayout(),
+                                                               new ArtifactRepositoryPolicy(),
+                                                               new ArtifactRepositoryPolicy() ) );
+        return mojo;
+    }
+
+    private static String importPom( String version, String artifactId )
+    {
+        return "<dependencyManagement><dependencies><dependency><groupId>org.example</groupId><artifactId>"
+            + artifactId + "</artifactId><version>" + version + "</version><type>pom</type><scope>import</scope>"
+            + "</dependency></dependencies></dependencyManagement>";
+    }
+
+    private static void writePom( File directory, String content )
+        throws IOException
+    {
+        File pom = new File( directory, directory.getParentFile().getName() + "-1.0.pom" );
+        String xml = "<project><modelVersion>4.0.0</modelVersion>" + content + "</project>";
+        Files.write( pom.toPath(), xml.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * Creates a version directory of 1 KB, last used the given number of days ago.
+     */
+    private File createVersion( String artifactId, int daysAgo )
+        throws IOException
+    {
+        File directory = new File( repository, "org/example/" + artifactId + "/1.0" );
+        directory.mkdirs();
+        FileTime time = FileTime.fromMillis( System.currentTimeMillis() - TimeUnit.DAYS.toMillis( daysAgo ) );
+        for ( String name : new String[] { artifactId + "-1.0.pom", artifactId + "-1.0.jar" } )
+        {
+            File file = new File( directory, name );
+            Files.write( file.toPath(), new byte[512] );
+            Files.getFileAttributeView( file.toPath(), BasicFileAttributeView.class ).setTimes( time, time, null );
+        }
+        return directory;
+    }
+}
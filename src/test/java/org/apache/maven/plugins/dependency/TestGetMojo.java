@@ -20,19 +20,31 @@ package org.apache.maven.plugins.dependency;
  */
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
 import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.testing.stubs.MavenProjectStub;
+import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.settings.Server;
 import org.apache.maven.settings.Settings;
+import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
 import org.eclipse.jetty.security.ConstraintMapping;
 import org.eclipse.jetty.security.ConstraintSecurityHandler;
 import org.eclipse.jetty.security.HashLoginService;
@@ -142,6 +154,68 @@ public class TestGetMojo
         }
     }
 
+    /**
+     * Test the batch mode, with the artifacts given by parameter and by file
+     *
+     * @throws Exception in case of errors
+     */
+    public void testBatch()
+        throws Exception
+    {
+        final List<String> resolved = Collections.synchronizedList( new ArrayList<String>() );
+        setVariableValueToObject( mojo, "artifactResolver", new ArtifactResolver()
+        {
+            @Override
+            public ArtifactResult resolveArtifact( ProjectBuildingRequest buildingRequest, Artifact artifact )
+            {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ArtifactResult resolveArtifact( ProjectBuildingRequest buildingRequest,
+                                                   ArtifactCoordinate coordinate )
+                throws ArtifactResolverException
+            {
+                if ( "missing".equals( coordinate.getArtifactId() ) )
+                {
+                    throw new ArtifactResolverException( "Could not find artifact\ntest:missing", null );
+                }
+                resolved.add( coordinate.getArtifactId() + "." + coordinate.getExtension() );
+                return null;
+            }
+        } );
+
+        File artifactsFile = new File( testDir, "artifacts.txt" );
+        File statusFile = new File( testDir, "status/get.txt" );
+        testDir.mkdirs();
+        Files.write( artifactsFile.toPath(), Arrays.asList( "# artifacts", "", "test:b:1.0:pom", " test:a:1.0" ),
+                     StandardCharsets.UTF_8 );
+        setVariableValueToObject( mojo, "transitive", Boolean.FALSE );
+        setVariableValueToObject( mojo, "artifacts", "test:a:1.0,test:missing:1.0" );
+        setVariableValueToObject( mojo, "artifactsFile", artifactsFile );
+        setVariableValueToObject( mojo, "statusFile", statusFile );
+        setVariableValueToObject( mojo, "threads", 2 );
+
+        try
+        {
+            mojo.execute();
+            fail( "Expected a MojoExecutionException" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            assertEquals( "Couldn't download 1 of 4 artifacts", e.getMessage() );
+        }
+
+        Collections.sort( resolved );
+        assertEquals( Arrays.asList( "a.jar", "b.pom", "maven-model.jar" ), resolved );
+        // the artifact configured in the pom comes first
+        assertEquals( Arrays.asList( "org.apache.maven:maven-model:2.0.9:jar\tRESOLVED\t",
+                                     "test:a:1.0\tRESOLVED\t",
+                                     "test:missing:1.0\tFAILED\tCould not find artifact test:missing",
+                                     "test:b:1.0:pom\tRESOLVED\t" ),
+                      Files.readAllLines( statusFile.toPath(), StandardCharsets.UTF_8 ) );
+    }
+
     /**
      * Test parsing of the remote repositories parameter
      * 
@@ -0,0 +1,104 @@
+package org.apache.maven.plugins.dependency;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
+import org.apache.maven.project.MavenProject;
+
+public class TestPurgeLocalRepositoryMojo
+    extends AbstractDependencyMojoTestCase
+{
+    private File repository;
+
+    protected void setUp()
+        throws Exception
+    {
+        // required for mojo lookups to work
+        super.setUp( "purge", false );
+
+        repository = new File( testDir, "repository" );
+    }
+
+    public void testSnapshotsScannedOncePerSession()
+        throws Exception
+    {
+        List<MavenProject> reactorProjects =
+            Arrays.<MavenProject>asList( new DependencyProjectStub(), new DependencyProjectStub() );
+        MavenSession session = createSession();
+
+        File snapshot = createSnapshot();
+        createMojo( session, reactorProjects, reactorProjects.get( 0 ) ).execute();
+        assertFalse( snapshot.exists() );
+
+        // the next project of the reactor, with its own copy of the session, does not walk the repository again
+        snapshot = createSnapshot();
+        createMojo( session.clone(), reactorProjects, reactorProjects.get( 1 ) ).execute();
+        assertTrue( snapshot.exists() );
+
+        createMojo( createSession(), reactorProjects, reactorProjects.get( 0 ) ).execute();
+        assertFalse( snapshot.exists() );
+    }
+
+    private static MavenSession createSession()
+    {
+        return new MavenSession( null, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult(),
+                                 Collections.<MavenProject>emptyList() );
+    }
+
+    private PurgeLocalRepositoryMojo createMojo( MavenSession session, List<MavenProject> reactorProjects,
+                                                 MavenProject project )
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), "target/test-classes/unit/purge-test/plugin-config.xml" );
+        PurgeLocalRepositoryMojo mojo = (PurgeLocalRepositoryMojo) lookupMojo( "purge-local-repository", testPom );
+        assertNotNull( mojo );
+
+        setVariableValueToObject( mojo, "session", session );
+        setVariableValueToObject( mojo, "reactorProjects", reactorProjects );
+        setVariableValueToObject( mojo, "project", project );
+        setVariableValueToObject( mojo, "localRepository",
+                                  new MavenArtifactRepository( "local", repository.toURI().toURL().toExternalForm(),
+                                                               new DefaultRepositoryLayout(),
+                                                               new ArtifactRepositoryPolicy(),
+                                                               new ArtifactRepositoryPolicy() ) );
+        return mojo;
+    }
+
+    private File createSnapshot()
+        throws IOException
+    {
+        File directory = new File( repository, "org/example/a/1.0-SNAPSHOT" );
+        assertTrue( directory.mkdirs() );
+        assertTrue( new File( directory, "a-1.0-SNAPSHOT.jar" ).createNewFile() );
+        return directory;
+    }
+}
@@ -80,6 +80,12 @@ public class TestSkip
         doTest( "copy-dependencies" );
     }
 
+    public void testSkipEvictLocalRepository()
+        throws Exception
+    {
+        doSpecialTest( "evict-local-repository" );
+    }
+
     public void testSkipGet()
         throws Exception
     {
@@ -0,0 +1,111 @@
+package org.apache.maven.plugins.dependency.analyze;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+
+import org.apache.maven.plugins.dependency.testUtils.DependencyTestUtils;
+import org.apache.maven.shared.dependency.analyzer.asm.ASMDependencyAnalyzer;
+import org.codehaus.plexus.util.FileUtils;
+
+import junit.framework.TestCase;
+
+public class TestClassDependencyIndex
+    extends TestCase
+{
+    private File classesDirectory;
+
+    private File indexFile;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        File testDir = new File( "target/unit-tests/class-dependency-index" );
+        DependencyTestUtils.removeDirectory( testDir );
+        classesDirectory = new File( testDir, "classes" );
+        indexFile = new File( testDir, "index" );
+
+        // some classes of the plugin itself
+        File analyzeClasses = new File( "target/classes/org/apache/maven/plugins/dependency/analyze" );
+        FileUtils.copyDirectoryStructure( analyzeClasses,
+                                          new File( classesDirectory, "org/apache/maven/plugins/dependency/analyze" ) );
+    }
+
+    public void testSameDependenciesAsAnalyzer()
+        throws IOException
+    {
+        assertEquals( analyze(), new ClassDependencyIndex( indexFile ).getDependencies( classesDirectory ) );
+        assertEquals( 0, new ClassDependencyIndex( indexFile ).getDependencies( new File( "missing" ) ).size() );
+    }
+
+    public void testUnchangedClassesNotParsed()
+        throws IOException
+    {
+        Set<String> expected = analyze();
+        ClassDependencyIndex index = new ClassDependencyIndex( indexFile );
+        index.getDependencies( classesDirectory );
+        index.save();
+
+        // same length and modification time, but not a class file anymore
+        File classFile = getClassFile( "AnalyzeAggregateMojo.class" );
+        long lastModified = classFile.lastModified();
+        Files.write( classFile.toPath(), new byte[(int) classFile.length()] );
+        assertTrue( classFile.setLastModified( lastModified ) );
+
+        assertEquals( expected, new ClassDependencyIndex( indexFile ).getDependencies( classesDirectory ) );
+    }
+
+    public void testChangedClassesParsed()
+        throws IOException
+    {
+        ClassDependencyIndex index = new ClassDependencyIndex( indexFile );
+        index.getDependencies( classesDirectory );
+        index.save();
+
+        assertTrue( getClassFile( "AnalyzeAggregateMojo.class" ).delete() );
+        File classFile = getClassFile( "AnalyzeMojo.class" );
+        Files.copy( getClassFile( "AnalyzeReportMojo.class" ).toPath(), classFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING );
+        assertTrue( classFile.setLastModified( classFile.lastModified() + 2000 ) );
+
+        index = new ClassDependencyIndex( indexFile );
+        assertEquals( analyze(), index.getDependencies( classesDirectory ) );
+        index.save();
+        assertEquals( analyze(), new ClassDependencyIndex( indexFile ).getDependencies( classesDirectory ) );
+    }
+
+    private Set<String> analyze()
+        throws IOException
+    {
+        return new ASMDependencyAnalyzer().analyze( classesDirectory.toURI().toURL() );
+    }
+
+    private File getClassFile( String name )
+    {
+        return new File( classesDirectory, "org/apache/maven/plugins/dependency/analyze/" + name );
+    }
+}
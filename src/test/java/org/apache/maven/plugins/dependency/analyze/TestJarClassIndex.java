@@ -0,0 +1,196 @@
+package org.apache.maven.plugins.dependency.analyze;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.maven.plugins.dependency.testUtils.DependencyTestUtils;
+
+import junit.framework.TestCase;
+
+public class TestJarClassIndex
+    extends TestCase
+{
+    private File testDir;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        testDir = new File( "target/unit-tests/jar-class-index" );
+        DependencyTestUtils.removeDirectory( testDir );
+        assertTrue( testDir.mkdirs() );
+    }
+
+    public void testClassNames()
+        throws IOException
+    {
+        File jar = createJar( "a.jar", "org/example/A.class", "org/example/A$B.class", "org/example/a.properties",
+                              "META-INF/MANIFEST.MF" );
+
+        assertEquals( new HashSet<>( Arrays.asList( "org.example.A", "org.example.A$B" ) ),
+                      new JarClassIndex().getClasses( jar ) );
+    }
+
+    public void testJarReadOnce()
+        throws IOException
+    {
+        JarClassIndex index = new JarClassIndex();
+        File jar = createJar( "a.jar", "org/example/A.class" );
+
+        Set<String> classes = index.getClasses( jar );
+        assertSame( classes, index.getClasses( new File( jar.getPath() ) ) );
+    }
+
+    public void testChangedJarReadAgain()
+        throws IOException
+    {
+        JarClassIndex index = new JarClassIndex();
+        File jar = createJar( "a.jar", "org/example/A.class" );
+        assertEquals( new HashSet<>( Arrays.asList( "org.example.A" ) ), index.getClasses( jar ) );
+
+        createJar( "a.jar", "org/example/A.class", "org/example/B.class" );
+        assertTrue( jar.setLastModified( jar.lastModified() + 2000 ) );
+        assertEquals( new HashSet<>( Arrays.asList( "org.example.A", "org.example.B" ) ), index.getClasses( jar ) );
+    }
+
+    public void testSavedIndexUsedInsteadOfJar()
+        throws IOException
+    {
+        File indexFile = new File( testDir, "index" );
+        File jar = createJar( "a.jar", "org/example/A.class", "org/example/A$B.class", "org/other/C.class" );
+        JarClassIndex index = new JarClassIndex( indexFile );
+        Set<String> classes = index.getClasses( jar );
+        index.save();
+        assertTrue( indexFile.isFile() );
+
+        // same length and modification time, but not a jar anymore
+        long lastModified = jar.lastModified();
+        byte[] garbage = new byte[(int) jar.length()];
+        Files.write( jar.toPath(), garbage );
+        assertTrue( jar.setLastModified( lastModified ) );
+
+        assertEquals( classes, new JarClassIndex( indexFile ).getClasses( jar ) );
+    }
+
+    public void testLoadedIndexSavedAgain()
+        throws IOException
+    {
+        File indexFile = new File( testDir, "index" );
+        File a = createJar( "a.jar", "org/example/A.class" );
+        JarClassIndex index = new JarClassIndex( indexFile );
+        index.getClasses( a );
+        index.save();
+
+        // the next build replaces the file it loaded the index from
+        File b = createJar( "b.jar", "org/example/B.class" );
+        JarClassIndex loaded = new JarClassIndex( indexFile );
+        loaded.getClasses( a );
+        loaded.getClasses( b );
+        loaded.save();
+
+        // same length and modification time, but not a jar anymore
+        long lastModified = b.lastModified();
+        Files.write( b.toPath(), new byte[(int) b.length()] );
+        assertTrue( b.setLastModified( lastModified ) );
+        JarClassIndex reloaded = new JarClassIndex( indexFile );
+        assertEquals( new HashSet<>( Arrays.asList( "org.example.B" ) ), reloaded.getClasses( b ) );
+    }
+
+    public void testConcurrentBuildsMerged()
+        throws IOException
+    {
+        File indexFile = new File( testDir, "index" );
+        File a = createJar( "a.jar", "org/example/A.class" );
+        File b = createJar( "b.jar", "org/example/B.class" );
+
+        // two builds load the same missing index, each reads its own jar and saves
+        JarClassIndex first = new JarClassIndex( indexFile );
+        JarClassIndex second = new JarClassIndex( indexFile );
+        first.getClasses( a );
+        second.getClasses( b );
+        first.save();
+        second.save();
+
+        // same length and modification time, but not jars anymore
+        for ( File jar : new File[] { a, b } )
+        {
+            long lastModified = jar.lastModified();
+            Files.write( jar.toPath(), new byte[(int) jar.length()] );
+            assertTrue( jar.setLastModified( lastModified ) );
+        }
+        JarClassIndex reloaded = new JarClassIndex( indexFile );
+        assertEquals( new HashSet<>( Arrays.asList( "org.example.A" ) ), reloaded.getClasses( a ) );
+        assertEquals( new HashSet<>( Arrays.asList( "org.example.B" ) ), reloaded.getClasses( b ) );
+    }
+
+    public void testSharedInstance()
+    {
+        File indexFile = new File( testDir, "index" );
+        JarClassIndex index = JarClassIndex.getInstance( indexFile );
+        assertSame( index, JarClassIndex.getInstance( new File( testDir, "index" ) ) );
+        assertNotSame( index, JarClassIndex.getInstance( new File( testDir, "other" ) ) );
+    }
+
+    public void testCorruptedIndexIgnored()
+        throws IOException
+    {
+        File indexFile = new File( testDir, "index" );
+        File jar = createJar( "a.jar", "org/example/A.class" );
+        JarClassIndex index = new JarClassIndex( indexFile );
+        index.getClasses( jar );
+        index.save();
+
+        byte[] bytes = Files.readAllBytes( indexFile.toPath() );
+        bytes[bytes.length - 1]++;
+        Files.write( indexFile.toPath(), bytes );
+        assertEquals( new HashSet<>( Arrays.asList( "org.example.A" ) ),
+                      new JarClassIndex( indexFile ).getClasses( jar ) );
+
+        Files.write( indexFile.toPath(), Arrays.copyOf( bytes, bytes.length / 2 ) );
+        assertEquals( new HashSet<>( Arrays.asList( "org.example.A" ) ),
+                      new JarClassIndex( indexFile ).getClasses( jar ) );
+    }
+
+    private File createJar( String name, String... entries )
+        throws IOException
+    {
+        File jar = new File( testDir, name );
+        try ( JarOutputStream out = new JarOutputStream( new FileOutputStream( jar ) ) )
+        {
+            for ( String entry : entries )
+            {
+                out.putNextEntry( new JarEntry( entry ) );
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -24,9 +24,11 @@ import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
 import org.sonatype.aether.impl.internal.SimpleLocalRepositoryManager;
 import org.sonatype.aether.util.DefaultRepositorySystemSession;
 
@@ -112,6 +114,104 @@ public class TestBuildClasspathMojo
 
     }
 
+    public void testFingerprint()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), "target/test-classes/unit/build-classpath-test/plugin-config.xml" );
+        BuildClasspathMojo mojo = (BuildClasspathMojo) lookupMojo( "build-classpath", testPom );
+        MavenProject project = mojo.getProject();
+
+        Set<Artifact> artifacts = this.stubFactory.getScopedArtifacts();
+        Set<Artifact> directArtifacts = this.stubFactory.getReleaseAndSnapshotArtifacts();
+        artifacts.addAll( directArtifacts );
+
+        project.setArtifacts( artifacts );
+        project.setDependencyArtifacts( directArtifacts );
+
+        File outputFile = new File( testDir, "fingerprintClasspath.txt" );
+        mojo.setOutputFile( outputFile );
+        mojo.execute();
+
+        assertTrue( new File( testDir, "fingerprintClasspath.txt.fingerprint" ).isFile() );
+        String classpath = mojo.readClasspathFile();
+
+        // same size and timestamp, the file is not read again
+        long lastModified = outputFile.lastModified();
+        FileUtils.fileWrite( outputFile, classpath.replace( File.pathSeparatorChar, '!' ) );
+        outputFile.setLastModified( lastModified );
+        mojo.execute();
+        assertEquals( classpath.replace( File.pathSeparatorChar, '!' ), mojo.readClasspathFile() );
+
+        // changed file
+        outputFile.setLastModified( lastModified - 10000 );
+        mojo.execute();
+        assertEquals( classpath, mojo.readClasspathFile() );
+
+        // changed parameter
+        mojo.setPrefix( "lib" );
+        mojo.execute();
+        assertTrue( mojo.readClasspathFile().startsWith( "lib" ) );
+
+        // changed artifacts
+        mojo.setPrefix( null );
+        artifacts.add( this.stubFactory.createArtifact( "org.example", "added", "1.0" ) );
+        project.setArtifacts( artifacts );
+        mojo.execute();
+        assertTrue( mojo.readClasspathFile().contains( "added-1.0.jar" ) );
+    }
+
+    public void testOutputFormats()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), "target/test-classes/unit/build-classpath-test/plugin-config.xml" );
+        BuildClasspathMojo mojo = (BuildClasspathMojo) lookupMojo( "build-classpath", testPom );
+        MavenProject project = mojo.getProject();
+
+        Set<Artifact> artifacts = this.stubFactory.getReleaseAndSnapshotArtifacts();
+        project.setArtifacts( artifacts );
+        project.setDependencyArtifacts( artifacts );
+
+        File outputFile = new File( testDir, "classpath.argfile" );
+        mojo.setOutputFile( outputFile );
+        mojo.setOutputFormat( "argfile" );
+        mojo.execute();
+
+        StringBuilder classpath = new StringBuilder();
+        for ( Artifact artifact : artifacts )
+        {
+            if ( classpath.length() > 0 )
+            {
+                classpath.append( File.pathSeparator );
+            }
+            classpath.append( artifact.getFile().getPath() );
+        }
+        String quoted = classpath.toString().replace( "\\", "\\\\" );
+        assertEquals( "-classpath" + System.lineSeparator() + '"' + quoted + '"' + System.lineSeparator(),
+                      FileUtils.fileRead( outputFile ) );
+
+        outputFile = new File( testDir, "classpath.mf" );
+        mojo.setOutputFile( outputFile );
+        mojo.setOutputFormat( "manifest" );
+        mojo.setPrefix( "lib" );
+        mojo.execute();
+
+        String manifest = FileUtils.fileRead( outputFile, "UTF-8" );
+        assertTrue( manifest.startsWith( "Class-Path: lib/" ) );
+        assertTrue( manifest.endsWith( "\r\n" ) );
+
+        mojo.setOutputFormat( "properties" );
+        try
+        {
+            mojo.execute();
+            fail( "Expected a MojoExecutionException" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            assertEquals( "Unknown output format 'properties', use one of classpath, argfile or manifest.",
+                          e.getMessage() );
+        }
+    }
+
     public void testPath()
         throws Exception
     {
@@ -21,7 +21,13 @@ package org.apache.maven.plugins.dependency.fromDependencies;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -34,6 +40,7 @@ import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
 import org.apache.maven.plugins.dependency.utils.markers.DefaultFileMarkerHandler;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.sonatype.aether.impl.internal.SimpleLocalRepositoryManager;
 import org.sonatype.aether.util.DefaultRepositorySystemSession;
@@ -127,6 +134,166 @@ public class TestCopyDependenciesMojo
         }
     }
 
+    public void testSequentialCopy()
+        throws Exception
+    {
+        mojo.threads = 1;
+        mojo.execute();
+
+        Set<Artifact> artifacts = mojo.getProject().getArtifacts();
+        for ( Artifact artifact : artifacts )
+        {
+            String fileName = DependencyUtil.getFormattedFileName( artifact, false );
+            File file = new File( mojo.outputDirectory, fileName );
+            assertTrue( file.exists() );
+        }
+    }
+
+    public void testParallelCopyWithSharedDestFile()
+        throws Exception
+    {
+        mojo.threads = 4;
+        mojo.stripVersion = true;
+        mojo.useSubDirectoryPerScope = true;
+
+        Artifact release = stubFactory.createArtifact( "testGroupId", "shared", "1.0", Artifact.SCOPE_COMPILE );
+        Artifact snapshot =
+            stubFactory.createArtifact( "otherGroupId", "shared", "2.0-SNAPSHOT", Artifact.SCOPE_COMPILE );
+        FileUtils.fileWrite( release.getFile(), "release" );
+        FileUtils.fileWrite( snapshot.getFile(), "snapshot" );
+        Set<Artifact> artifacts = new LinkedHashSet<>( stubFactory.getScopedArtifacts() );
+        artifacts.add( release );
+        artifacts.add( snapshot );
+        mojo.getProject().setArtifacts( artifacts );
+        mojo.execute();
+
+        for ( Artifact artifact : artifacts )
+        {
+            String fileName = DependencyUtil.getFormattedFileName( artifact, true );
+            File file = new File( new File( mojo.outputDirectory, artifact.getScope() ), fileName );
+            assertTrue( file.exists() );
+        }
+
+        // the last artifact in resolution order wins, as with a sequential copy
+        File shared = new File( new File( mojo.outputDirectory, Artifact.SCOPE_COMPILE ), "shared.jar" );
+        assertEquals( "snapshot", FileUtils.fileRead( shared ) );
+    }
+
+    public void testCopyStrategyTransfer()
+        throws Exception
+    {
+        mojo.setCopyStrategy( "transfer" );
+        mojo.execute();
+
+        Set<Artifact> artifacts = mojo.getProject().getArtifacts();
+        for ( Artifact artifact : artifacts )
+        {
+            String fileName = DependencyUtil.getFormattedFileName( artifact, false );
+            File file = new File( mojo.outputDirectory, fileName );
+            assertTrue( file.exists() );
+            assertTrue( FileUtils.contentEquals( artifact.getFile(), file ) );
+            assertEquals( artifact.getFile().lastModified(), file.lastModified() );
+        }
+    }
+
+    public void testCopyStrategyHardlink()
+        throws Exception
+    {
+        mojo.setCopyStrategy( "hardlink" );
+        mojo.execute();
+
+        Set<Artifact> artifacts = mojo.getProject().getArtifacts();
+        for ( Artifact artifact : artifacts )
+        {
+            String fileName = DependencyUtil.getFormattedFileName( artifact, false );
+            File file = new File( mojo.outputDirectory, fileName );
+            assertTrue( file.exists() );
+            assertTrue( Files.isSameFile( artifact.getFile().toPath(), file.toPath() ) );
+        }
+    }
+
+    public void testCopyAfterHardlinkKeepsSource()
+        throws Exception
+    {
+        Set<Artifact> artifacts = mojo.getProject().getArtifacts();
+        Map<Artifact, byte[]> contents = new HashMap<>();
+        for ( Artifact artifact : artifacts )
+        {
+            byte[] content = artifact.getId().getBytes( "UTF-8" );
+            Files.write( artifact.getFile().toPath(), content );
+            contents.put( artifact, content );
+        }
+
+        for ( String copyStrategy : new String[] { "copy", "transfer" } )
+        {
+            mojo.setCopyStrategy( "hardlink" );
+            mojo.execute();
+
+            // the destinations are links to the sources, which must not be truncated by writing through them
+            mojo.setCopyStrategy( copyStrategy );
+            mojo.overWriteReleases = true;
+            mojo.overWriteSnapshots = true;
+            mojo.execute();
+
+            for ( Artifact artifact : artifacts )
+            {
+                File file = new File( mojo.outputDirectory, DependencyUtil.getFormattedFileName( artifact, false ) );
+                assertTrue( copyStrategy, Arrays.equals( contents.get( artifact ),
+                                                         Files.readAllBytes( artifact.getFile().toPath() ) ) );
+                assertTrue( copyStrategy, Arrays.equals( contents.get( artifact ),
+                                                         Files.readAllBytes( file.toPath() ) ) );
+                assertFalse( copyStrategy, Files.isSameFile( artifact.getFile().toPath(), file.toPath() ) );
+            }
+        }
+    }
+
+    public void testIncrementalCopy()
+        throws Exception
+    {
+        mojo.incremental = true;
+        mojo.execute();
+
+        Set<Artifact> artifacts = new LinkedHashSet<>( mojo.getProject().getArtifacts() );
+        Iterator<Artifact> iterator = artifacts.iterator();
+        Artifact removed = iterator.next();
+        Artifact kept = iterator.next();
+        File removedFile = new File( mojo.outputDirectory, DependencyUtil.getFormattedFileName( removed, false ) );
+        File keptFile = new File( mojo.outputDirectory, DependencyUtil.getFormattedFileName( kept, false ) );
+        assertTrue( removedFile.exists() );
+        assertTrue( keptFile.exists() );
+
+        // an unchanged dependency is not copied again
+        FileUtils.fileWrite( keptFile, "modified" );
+        artifacts.remove( removed );
+        mojo.getProject().setArtifacts( artifacts );
+        mojo.execute();
+
+        assertEquals( "modified", FileUtils.fileRead( keptFile ) );
+        assertFalse( removedFile.exists() );
+
+        // a dependency whose destination is gone is copied again
+        assertTrue( keptFile.delete() );
+        mojo.execute();
+
+        assertTrue( keptFile.exists() );
+        assertTrue( FileUtils.contentEquals( kept.getFile(), keptFile ) );
+    }
+
+    public void testUnknownCopyStrategy()
+        throws Exception
+    {
+        mojo.setCopyStrategy( "teleport" );
+        try
+        {
+            mojo.execute();
+            fail( "ExpectedException" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            assertTrue( e.getMessage().contains( "teleport" ) );
+        }
+    }
+
     public void testStripVersion()
         throws Exception
     {
@@ -441,6 +608,20 @@ public class TestCopyDependenciesMojo
         dotestClassifierType( "jdk14", "sources" );
     }
 
+    public void testCDMClassifierTypeConcurrentResolution()
+        throws Exception
+    {
+        mojo.resolveThreads = 4;
+        dotestClassifierType( "jdk14", "sources" );
+    }
+
+    public void testArtifactResolutionExceptionConcurrentResolution()
+        throws MojoFailureException
+    {
+        mojo.resolveThreads = 4;
+        dotestArtifactExceptions();
+    }
+
     public void dotestClassifierType( String testClassifier, String testType )
         throws Exception
     {
@@ -20,10 +20,14 @@ package org.apache.maven.plugins.dependency.fromDependencies;
  */
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
@@ -36,7 +40,9 @@ import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
 import org.apache.maven.plugins.dependency.testUtils.DependencyArtifactStubFactory;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
 import org.apache.maven.plugins.dependency.utils.markers.DefaultFileMarkerHandler;
+import org.apache.maven.plugins.dependency.utils.markers.MarkerIndex;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.sonatype.aether.impl.internal.SimpleLocalRepositoryManager;
 import org.sonatype.aether.util.DefaultRepositorySystemSession;
@@ -140,6 +146,67 @@ public class TestUnpackDependenciesMojo
         }
     }
 
+    public void testMarkerIndex()
+        throws Exception
+    {
+        mojo.useMarkerIndex = true;
+        mojo.execute();
+
+        MarkerIndex index = new MarkerIndex( mojo.markersDirectory );
+        assertTrue( index.getIndexFile().exists() );
+        for ( Artifact artifact : mojo.getProject().getArtifacts() )
+        {
+            DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler( artifact, mojo.markersDirectory );
+            assertFalse( handler.isMarkerSet() );
+            handler.setMarkerIndex( index );
+            assertTrue( handler.isMarkerSet() );
+        }
+    }
+
+    public void testParallelUnpack()
+        throws Exception
+    {
+        setVariableValueToObject( mojo, "threads", 4 );
+        mojo.getProject().setArtifacts( stubFactory.getTypedArchiveArtifacts() );
+        mojo.execute();
+
+        for ( Artifact artifact : (Iterable<Artifact>) mojo.getProject().getArtifacts() )
+        {
+            assertUnpacked( artifact );
+        }
+    }
+
+    public void testParallelUnpackOverlappingArchives()
+        throws Exception
+    {
+        setVariableValueToObject( mojo, "threads", 4 );
+
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for ( int i = 1; i <= 3; i++ )
+        {
+            Artifact artifact = stubFactory.createArtifact( "testGroupId", "overlap" + i, "1.0" );
+            File archive = new File( testDir, "overlap" + i + ".jar" );
+            try ( ZipOutputStream zip = new ZipOutputStream( new FileOutputStream( archive ) ) )
+            {
+                zip.putNextEntry( new ZipEntry( "shared.txt" ) );
+                zip.write( ( "archive" + i ).getBytes( "UTF-8" ) );
+                zip.putNextEntry( new ZipEntry( "own" + i + ".txt" ) );
+                zip.write( ( "archive" + i ).getBytes( "UTF-8" ) );
+            }
+            artifact.setFile( archive );
+            artifacts.add( artifact );
+        }
+        mojo.getProject().setArtifacts( artifacts );
+        mojo.execute();
+
+        for ( int i = 1; i <= 3; i++ )
+        {
+            assertEquals( "archive" + i, FileUtils.fileRead( new File( mojo.outputDirectory, "own" + i + ".txt" ) ) );
+        }
+        // the last archive wins, as with a sequential unpack
+        assertEquals( "archive3", FileUtils.fileRead( new File( mojo.outputDirectory, "shared.txt" ) ) );
+    }
+
     public void testNoTransitive()
         throws Exception
     {
@@ -0,0 +1,66 @@
+package org.apache.maven.plugins.dependency.resolvers;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.testing.stubs.ArtifactStub;
+import org.apache.maven.plugin.testing.stubs.MavenProjectStub;
+import org.apache.maven.project.MavenProject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class ReactorArtifactKeysTest
+        extends TestCase
+{
+
+    public void testKeysComputedOncePerReactor()
+    {
+        List<MavenProject> reactorProjects = new ArrayList<>();
+        reactorProjects.add( createProject( "module-a" ) );
+        reactorProjects.add( createProject( "module-b" ) );
+
+        Set<String> keys = ReactorArtifactKeys.of( reactorProjects );
+        assertEquals( 2, keys.size() );
+        assertTrue( keys.contains( "org.apache.maven.plugins:module-a:1.0" ) );
+        assertSame( keys, ReactorArtifactKeys.of( reactorProjects ) );
+
+        List<MavenProject> otherReactorProjects = new ArrayList<>( reactorProjects );
+        otherReactorProjects.add( createProject( "module-c" ) );
+        Set<String> otherKeys = ReactorArtifactKeys.of( otherReactorProjects );
+        assertEquals( 3, otherKeys.size() );
+        assertTrue( otherKeys.contains( "org.apache.maven.plugins:module-c:1.0" ) );
+    }
+
+    private static MavenProject createProject( String artifactId )
+    {
+        Artifact artifact = new ArtifactStub();
+        artifact.setGroupId( "org.apache.maven.plugins" );
+        artifact.setArtifactId( artifactId );
+        artifact.setVersion( "1.0" );
+
+        MavenProject project = new MavenProjectStub();
+        project.setArtifact( artifact );
+        return project;
+    }
+}
@@ -0,0 +1,220 @@
+package org.apache.maven.plugins.dependency.resolvers;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
+import org.apache.maven.shared.transfer.dependencies.DependableCoordinate;
+import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
+import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolverException;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class TestGoOfflineMojo
+    extends AbstractDependencyMojoTestCase
+{
+    private final Map<String, AtomicInteger> resolutions = new ConcurrentHashMap<>();
+
+    private final Set<String> threads = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+
+    protected void setUp()
+        throws Exception
+    {
+        // required for mojo lookups to work
+        super.setUp( "go-offline", false );
+    }
+
+    public void testResolveInParallelOncePerCoordinate()
+        throws Exception
+    {
+        // every distinct coordinate waits for the others, so they can only all complete if resolved in parallel
+        final CountDownLatch started = new CountDownLatch( 3 );
+        GoOfflineMojo mojo = createMojo( 4, new Answer<List<ArtifactResult>>()
+        {
+            @Override
+            public List<ArtifactResult> answer( InvocationOnMock invocation )
+                throws Exception
+            {
+                started.countDown();
+                assertTrue( "resolved sequentially", started.await( 10, TimeUnit.SECONDS ) );
+                return resolve( invocation );
+            }
+        }, "a", "b", "a", "c", "b" );
+
+        Set<Artifact> artifacts = mojo.resolveDependencyArtifacts();
+
+        assertEquals( new HashSet<>( Arrays.asList( "a", "b", "c" ) ), getArtifactIds( artifacts ) );
+        assertEquals( 3, resolutions.size() );
+        for ( Map.Entry<String, AtomicInteger> resolution : resolutions.entrySet() )
+        {
+            assertEquals( resolution.getKey(), 1, resolution.getValue().get() );
+        }
+        assertEquals( 3, threads.size() );
+        assertFalse( threads.contains( Thread.currentThread().getName() ) );
+    }
+
+    public void testResolveSequentiallyOncePerCoordinate()
+        throws Exception
+    {
+        GoOfflineMojo mojo = createMojo( 1, new Answer<List<ArtifactResult>>()
+        {
+            @Override
+            public List<ArtifactResult> answer( InvocationOnMock invocation )
+                throws Exception
+            {
+                return resolve( invocation );
+            }
+        }, "a", "b", "a" );
+
+        Set<Artifact> artifacts = mojo.resolveDependencyArtifacts();
+
+        assertEquals( new HashSet<>( Arrays.asList( "a", "b" ) ), getArtifactIds( artifacts ) );
+        assertEquals( 1, resolutions.get( "a" ).get() );
+        assertEquals( Collections.singleton( Thread.currentThread().getName() ), threads );
+    }
+
+    public void testRethrowFirstFailureInCoordinateOrder()
+        throws Exception
+    {
+        // the first failing coordinate fails last, its failure is still the one reported
+        final CountDownLatch secondFailed = new CountDownLatch( 1 );
+        GoOfflineMojo mojo = createMojo( 4, new Answer<List<ArtifactResult>>()
+        {
+            @Override
+            public List<ArtifactResult> answer( InvocationOnMock invocation )
+                throws Exception
+            {
+                List<ArtifactResult> results = resolve( invocation );
+                String artifactId = getArtifactId( invocation );
+                if ( "failing1".equals( artifactId ) )
+                {
+                    secondFailed.await( 10, TimeUnit.SECONDS );
+                    throw new DependencyResolverException( artifactId, new Exception() );
+                }
+                if ( "failing2".equals( artifactId ) )
+                {
+                    secondFailed.countDown();
+                    throw new DependencyResolverException( artifactId, new Exception() );
+                }
+                return results;
+            }
+        }, "a", "failing1", "failing2", "b" );
+
+        try
+        {
+            mojo.resolveDependencyArtifacts();
+            fail( "Expected a DependencyResolverException" );
+        }
+        catch ( DependencyResolverException e )
+        {
+            assertEquals( "failing1", e.getMessage() );
+        }
+    }
+
+    private GoOfflineMojo createMojo( int resolveThreads, Answer<List<ArtifactResult>> answer,
+                                      String... artifactIds )
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), "target/test-classes/unit/resolve-test/plugin-config.xml" );
+        GoOfflineMojo mojo = (GoOfflineMojo) lookupMojo( "go-offline", testPom );
+        assertNotNull( mojo );
+
+        List<Dependency> dependencies = new ArrayList<>();
+        for ( String artifactId : artifactIds )
+        {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId( "org.example" );
+            dependency.setArtifactId( artifactId );
+            dependency.setVersion( "1.0" );
+            dependencies.add( dependency );
+        }
+        mojo.getProject().setDependencies( dependencies );
+
+        DependencyResolver dependencyResolver = mock( DependencyResolver.class );
+        when( dependencyResolver.resolveDependencies( any( ProjectBuildingRequest.class ),
+                                                      any( DependableCoordinate.class ),
+                                                      ArgumentMatchers.<TransformableFilter>any() ) )
+            .thenAnswer( answer );
+        MavenSession session = mock( MavenSession.class );
+        when( session.getProjectBuildingRequest() ).thenReturn( new DefaultProjectBuildingRequest() );
+
+        setVariableValueToObject( mojo, "dependencyResolver", dependencyResolver );
+        setVariableValueToObject( mojo, "session", session );
+        setVariableValueToObject( mojo, "resolveThreads", resolveThreads );
+        return mojo;
+    }
+
+    /**
+     * Records the resolution of a coordinate and its thread.
+     *
+     * @return the artifact of the coordinate.
+     */
+    private List<ArtifactResult> resolve( InvocationOnMock invocation )
+        throws Exception
+    {
+        String artifactId = getArtifactId( invocation );
+        resolutions.putIfAbsent( artifactId, new AtomicInteger() );
+        resolutions.get( artifactId ).incrementAndGet();
+        threads.add( Thread.currentThread().getName() );
+
+        ArtifactResult result = mock( ArtifactResult.class );
+        when( result.getArtifact() ).thenReturn( stubFactory.createArtifact( "org.example", artifactId, "1.0" ) );
+        return Collections.singletonList( result );
+    }
+
+    private static String getArtifactId( InvocationOnMock invocation )
+    {
+        return invocation.getArgument( 1, DependableCoordinate.class ).getArtifactId();
+    }
+
+    private static Set<String> getArtifactIds( Set<Artifact> artifacts )
+    {
+        Set<String> artifactIds = new HashSet<>();
+        for ( Artifact artifact : artifacts )
+        {
+            artifactIds.add( artifact.getArtifactId() );
+        }
+        return artifactIds;
+    }
+}
@@ -0,0 +1,214 @@
+package org.apache.maven.plugins.dependency.resolvers;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.resolvers.ModuleDescriptorIndex.ModuleDescriptor;
+import org.apache.maven.plugins.dependency.testUtils.DependencyTestUtils;
+
+import junit.framework.TestCase;
+
+public class TestModuleDescriptorIndex
+    extends TestCase
+{
+    private File testDir;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        testDir = new File( "target/unit-tests/module-descriptor-index" );
+        DependencyTestUtils.removeDirectory( testDir );
+        assertTrue( testDir.mkdirs() );
+    }
+
+    public void testModuleDescriptors()
+        throws IOException, MojoExecutionException
+    {
+        if ( !ModuleDescriptorIndex.isSupported() )
+        {
+            // the module names are only known on Java 9 or later
+            return;
+        }
+
+        File named = createJar( "named-1.0.jar", "org.example.named" );
+        File unnamed = createJar( "plain-lib-1.0.jar", null );
+        File invalid = createJar( "1-invalid.jar", null );
+        File directory = new File( testDir, "classes" );
+        assertTrue( directory.mkdirs() );
+
+        Map<File, ModuleDescriptor> descriptors =
+            new ModuleDescriptorIndex().getModuleDescriptors( Arrays.asList( named, unnamed, invalid, directory ), 2 );
+
+        assertEquals( Arrays.asList( named, unnamed, invalid, directory ),
+                      Arrays.asList( descriptors.keySet().toArray() ) );
+        assertDescriptor( "org.example.named", "MANIFEST", descriptors.get( named ) );
+        assertDescriptor( "plain.lib", "FILENAME", descriptors.get( unnamed ) );
+        assertNull( descriptors.get( invalid ).getName() );
+        assertNotNull( descriptors.get( invalid ).getFailure() );
+        assertNull( descriptors.get( directory ).getName() );
+        assertNull( descriptors.get( directory ).getFailure() );
+    }
+
+    public void testJarReadOnce()
+        throws IOException, MojoExecutionException
+    {
+        if ( !ModuleDescriptorIndex.isSupported() )
+        {
+            return;
+        }
+
+        ModuleDescriptorIndex index = new ModuleDescriptorIndex();
+        File jar = createJar( "a-1.0.jar", "org.example.a" );
+
+        ModuleDescriptor descriptor = index.getModuleDescriptors( Arrays.asList( jar ), 1 ).get( jar );
+        assertSame( descriptor, index.getModuleDescriptors( Arrays.asList( jar ), 1 ).get( jar ) );
+    }
+
+    public void testChangedJarReadAgain()
+        throws IOException, MojoExecutionException
+    {
+        if ( !ModuleDescriptorIndex.isSupported() )
+        {
+            return;
+        }
+
+        ModuleDescriptorIndex index = new ModuleDescriptorIndex();
+        File jar = createJar( "a-1.0.jar", "org.example.a" );
+        assertDescriptor( "org.example.a", "MANIFEST",
+                          index.getModuleDescriptors( Arrays.asList( jar ), 1 ).get( jar ) );
+
+        createJar( "a-1.0.jar", null );
+        assertTrue( jar.setLastModified( jar.lastModified() + 2000 ) );
+        assertDescriptor( "a", "FILENAME", index.getModuleDescriptors( Arrays.asList( jar ), 1 ).get( jar ) );
+    }
+
+    public void testSavedIndexReused()
+        throws IOException, MojoExecutionException
+    {
+        if ( !ModuleDescriptorIndex.isSupported() )
+        {
+            return;
+        }
+
+        File indexFile = new File( testDir, "cache/module-descriptors" );
+        File jar = createJar( "a-1.0.jar", "org.example.a" );
+        File deleted = createJar( "b-1.0.jar", "org.example.b" );
+
+        ModuleDescriptorIndex index = new ModuleDescriptorIndex( indexFile );
+        index.getModuleDescriptors( Arrays.asList( jar, deleted ), 1 );
+        assertTrue( deleted.delete() );
+        index.save();
+        assertTrue( indexFile.isFile() );
+
+        // the jar is not read again, so the saved name is kept although the jar changed with the same length and date
+        long lastModified = jar.lastModified();
+        createJar( "a-1.0.jar", "org.example.z" );
+        assertTrue( jar.setLastModified( lastModified ) );
+
+        ModuleDescriptorIndex loaded = new ModuleDescriptorIndex( indexFile );
+        assertDescriptor( "org.example.a", "MANIFEST",
+                          loaded.getModuleDescriptors( Arrays.asList( jar ), 1 ).get( jar ) );
+    }
+
+    public void testIndexOfOtherJavaVersionIgnored()
+        throws IOException, MojoExecutionException
+    {
+        if ( !ModuleDescriptorIndex.isSupported() )
+        {
+            return;
+        }
+
+        File indexFile = new File( testDir, "module-descriptors" );
+        File jar = createJar( "a-1.0.jar", "org.example.a" );
+        ModuleDescriptorIndex index = new ModuleDescriptorIndex( indexFile, "9" );
+        index.getModuleDescriptors( Arrays.asList( jar ), 1 );
+        index.save();
+
+        long lastModified = jar.lastModified();
+        createJar( "a-1.0.jar", "org.example.z" );
+        assertTrue( jar.setLastModified( lastModified ) );
+
+        ModuleDescriptorIndex sameVersion = new ModuleDescriptorIndex( indexFile, "9" );
+        assertDescriptor( "org.example.a", "MANIFEST",
+                          sameVersion.getModuleDescriptors( Arrays.asList( jar ), 1 ).get( jar ) );
+        ModuleDescriptorIndex otherVersion = new ModuleDescriptorIndex( indexFile, "11" );
+        assertDescriptor( "org.example.z", "MANIFEST",
+                          otherVersion.getModuleDescriptors( Arrays.asList( jar ), 1 ).get( jar ) );
+    }
+
+    public void testCorruptedIndexIgnored()
+        throws IOException, MojoExecutionException
+    {
+        if ( !ModuleDescriptorIndex.isSupported() )
+        {
+            return;
+        }
+
+        File indexFile = new File( testDir, "module-descriptors" );
+        try ( FileOutputStream out = new FileOutputStream( indexFile ) )
+        {
+            out.write( new byte[] { 1, 2, 3 } );
+        }
+
+        File jar = createJar( "a-1.0.jar", "org.example.a" );
+        assertDescriptor( "org.example.a", "MANIFEST", new ModuleDescriptorIndex( indexFile ).getModuleDescriptors(
+            Arrays.asList( jar ), 1 ).get( jar ) );
+    }
+
+    private static void assertDescriptor( String name, String moduleNameSource, ModuleDescriptor descriptor )
+    {
+        assertEquals( name, descriptor.getName() );
+        assertTrue( descriptor.isAutomatic() );
+        assertEquals( moduleNameSource, descriptor.getModuleNameSource() );
+        assertNull( descriptor.getFailure() );
+    }
+
+    private File createJar( String name, String automaticModuleName )
+        throws IOException
+    {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put( Attributes.Name.MANIFEST_VERSION, "1.0" );
+        if ( automaticModuleName != null )
+        {
+            manifest.getMainAttributes().putValue( "Automatic-Module-Name", automaticModuleName );
+        }
+
+        File jar = new File( testDir, name );
+        try ( JarOutputStream out = new JarOutputStream( new FileOutputStream( jar ), manifest ) )
+        {
+            out.putNextEntry( new JarEntry( "org/example/A.class" ) );
+            out.closeEntry();
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,68 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+public class TestArtifactComparator
+    extends TestCase
+{
+    public void testFieldOrder()
+    {
+        Artifact fooBar = createArtifact( "org.example", "foo-bar", "1.0", null );
+        Artifact foo = createArtifact( "org.example", "foo", "1.0", null );
+        Artifact fooTests = createArtifact( "org.example", "foo", "1.0", "tests" );
+        Artifact foo2 = createArtifact( "org.example", "foo", "2.0", null );
+        Artifact other = createArtifact( "org.apache", "zzz", "1.0", null );
+
+        List<Artifact> artifacts = new ArrayList<>( Arrays.asList( fooBar, fooTests, foo2, other, foo ) );
+        Collections.sort( artifacts, ArtifactComparator.INSTANCE );
+
+        // the concatenated fields would put foo-bar before foo
+        assertEquals( Arrays.asList( other, foo, foo2, fooTests, fooBar ), artifacts );
+    }
+
+    public void testNulls()
+    {
+        Artifact foo = createArtifact( "org.example", "foo", "1.0", null );
+
+        assertEquals( 0, ArtifactComparator.INSTANCE.compare( null, null ) );
+        assertTrue( ArtifactComparator.INSTANCE.compare( null, foo ) < 0 );
+        assertTrue( ArtifactComparator.INSTANCE.compare( foo, null ) > 0 );
+        assertEquals( 0, ArtifactComparator.INSTANCE.compare( foo,
+                                                             createArtifact( "org.example", "foo", "1.0", null ) ) );
+    }
+
+    private static Artifact createArtifact( String groupId, String artifactId, String version, String classifier )
+    {
+        return new DefaultArtifact( groupId, artifactId, VersionRange.createFromVersion( version ),
+                                    Artifact.SCOPE_COMPILE, "jar", classifier, new DefaultArtifactHandler( "jar" ) );
+    }
+}
@@ -20,7 +20,10 @@ package org.apache.maven.plugins.dependency.utils;
  */
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -33,6 +36,7 @@ import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugin.testing.SilentLog;
 import org.apache.maven.plugin.testing.stubs.DefaultArtifactHandlerStub;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 
 /**
@@ -303,4 +307,69 @@ public class TestDependencyUtil
         tokens = DependencyUtil.tokenizer( "  " );
         assertEquals( 0, tokens.length );
     }
+
+    public void testLogWriterSplitsLikeLog()
+        throws IOException
+    {
+        String[] strings = { "", "one", "one\n", "one\ntwo", "one\r\ntwo\r\n", "one\rtwo\n\nthree", "\r\r\n\n" };
+        for ( String string : strings )
+        {
+            CollectingLog expected = new CollectingLog();
+            DependencyUtil.log( string, expected );
+
+            // written in chunks, so the line breaks also straddle the writes
+            for ( int chunk = 1; chunk <= 3; chunk++ )
+            {
+                CollectingLog actual = new CollectingLog();
+                try ( Writer writer = DependencyUtil.newLogWriter( actual ) )
+                {
+                    for ( int i = 0; i < string.length(); i += chunk )
+                    {
+                        writer.write( string, i, Math.min( chunk, string.length() - i ) );
+                    }
+                }
+                assertEquals( string, expected.lines, actual.lines );
+            }
+        }
+
+        CollectingLog log = new CollectingLog();
+        try ( Writer writer = DependencyUtil.newLogWriter( log ) )
+        {
+            writer.write( "one\r\ntwo" );
+        }
+        assertEquals( Arrays.asList( "one", "two" ), log.lines );
+    }
+
+    public void testNewWriterAppends()
+        throws IOException
+    {
+        File file = new File( outputFolder, "sub/output.txt" );
+        try ( Writer writer = DependencyUtil.newWriter( file, false ) )
+        {
+            writer.write( "one" );
+        }
+        try ( Writer writer = DependencyUtil.newWriter( file, true ) )
+        {
+            writer.write( "two" );
+        }
+        assertEquals( "onetwo", FileUtils.fileRead( file ) );
+
+        try ( Writer writer = DependencyUtil.newWriter( file, false ) )
+        {
+            writer.write( "three" );
+        }
+        assertEquals( "three", FileUtils.fileRead( file ) );
+    }
+
+    private static class CollectingLog
+        extends SilentLog
+    {
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void info( CharSequence content )
+        {
+            lines.add( content.toString() );
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.testUtils.DependencyTestUtils;
+import org.codehaus.plexus.util.FileUtils;
+
+import junit.framework.TestCase;
+
+public class TestLocalRepositoryPurger
+    extends TestCase
+{
+    private File repository;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        repository = new File( "target/unit-tests/local-repository-purger" );
+        DependencyTestUtils.removeDirectory( repository );
+    }
+
+    public void testPurgeDirectoriesAndFiles()
+        throws IOException, MojoExecutionException
+    {
+        for ( int threads : new int[] { 1, 4 } )
+        {
+            File a = createFiles( "org/a/1.0", "a-1.0.jar", "a-1.0.pom" );
+            File b = createFiles( "org/b/1.0", "b-1.0.jar" );
+            File c = new File( createFiles( "org/c/1.0", "c-1.0.jar", "c-1.0.pom" ), "c-1.0.jar" );
+            File missing = new File( repository, "org/d/1.0" );
+
+            LocalRepositoryPurger.Result result =
+                new LocalRepositoryPurger( threads ).purge( Arrays.asList( b, missing, c, a, b ) );
+
+            assertEquals( Arrays.asList( a.getAbsoluteFile(), b.getAbsoluteFile(), c.getAbsoluteFile() ),
+                          result.getDeleted() );
+            assertEquals( Collections.singletonList( missing.getAbsoluteFile() ), result.getMissing() );
+            assertTrue( result.getFailures().isEmpty() );
+            assertEquals( 4, result.getDeletedFiles() );
+            assertFalse( a.exists() );
+            assertFalse( b.exists() );
+            assertFalse( c.exists() );
+            assertTrue( new File( c.getParentFile(), "c-1.0.pom" ).exists() );
+        }
+    }
+
+    public void testNestedLocationsPurgedOnce()
+        throws IOException, MojoExecutionException
+    {
+        File version = createFiles( "org/a/1.0", "a-1.0.jar" );
+        createFiles( "org/a/2.0", "a-2.0.jar" );
+        File artifactId = version.getParentFile();
+
+        File jar = new File( version, "a-1.0.jar" );
+        LocalRepositoryPurger.Result result =
+            new LocalRepositoryPurger( 4 ).purge( Arrays.asList( version, artifactId, jar ) );
+
+        assertEquals( Collections.singletonList( artifactId.getAbsoluteFile() ), result.getDeleted() );
+        assertEquals( 2, result.getDeletedFiles() );
+        assertFalse( artifactId.exists() );
+        assertTrue( artifactId.getParentFile().exists() );
+    }
+
+    public void testNothingToPurge()
+        throws MojoExecutionException
+    {
+        LocalRepositoryPurger.Result result =
+            new LocalRepositoryPurger( 0 ).purge( Collections.<File>emptyList() );
+
+        assertTrue( result.getDeleted().isEmpty() );
+        assertEquals( 0, result.getDeletedFiles() );
+    }
+
+    private File createFiles( String path, String... names )
+        throws IOException
+    {
+        File directory = new File( repository, path );
+        directory.mkdirs();
+        for ( String name : names )
+        {
+            FileUtils.fileWrite( new File( directory, name ), name );
+        }
+        return directory;
+    }
+}
@@ -0,0 +1,104 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.testUtils.DependencyTestUtils;
+import org.codehaus.plexus.util.FileUtils;
+
+import junit.framework.TestCase;
+
+public class TestLocalRepositorySnapshotScanner
+    extends TestCase
+{
+    private File repository;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        repository = new File( "target/unit-tests/local-repository-snapshot-scanner" );
+        DependencyTestUtils.removeDirectory( repository );
+    }
+
+    public void testScan()
+        throws IOException, MojoExecutionException
+    {
+        createFiles( "org/example/a/1.0", "a-1.0.jar", "a-1.0.pom" );
+        File aSnapshot = createFiles( "org/example/a/1.1-SNAPSHOT", "a-1.1-SNAPSHOT.jar", "maven-metadata-local.xml" );
+        File bSnapshot =
+            createFiles( "org/example/b/2.0-SNAPSHOT", "b-2.0-SNAPSHOT.jar", "b-2.0-20200101.120000-9.jar",
+                         "b-2.0-20200101.120000-9.pom", "b-2.0-20200101.120000-10.jar",
+                         "b-2.0-20200102.080000-1-sources.jar", "b-2.0-20200102.080000-1.jar.sha1" );
+        File cSnapshot = createFiles( "c/c/1.0-SNAPSHOT", "c-1.0-SNAPSHOT.pom" );
+        new File( bSnapshot, "b-2.0-SNAPSHOT.jar" ).setLastModified( 1000000000000L );
+        new File( bSnapshot, "b-2.0-20200101.120000-9.pom" ).setLastModified( 1500000000000L );
+
+        for ( int threads : new int[] { 1, 4 } )
+        {
+            List<LocalRepositorySnapshotScanner.SnapshotDirectory> snapshots =
+                new LocalRepositorySnapshotScanner( threads ).scan( repository );
+
+            List<File> directories = new ArrayList<>();
+            for ( LocalRepositorySnapshotScanner.SnapshotDirectory snapshot : snapshots )
+            {
+                directories.add( snapshot.getDirectory() );
+            }
+            assertEquals( Arrays.asList( cSnapshot, aSnapshot, bSnapshot ), directories );
+
+            assertTrue( snapshots.get( 1 ).getTimestampedBuilds().isEmpty() );
+
+            LocalRepositorySnapshotScanner.SnapshotDirectory b = snapshots.get( 2 );
+            assertEquals( Arrays.asList( "20200102.080000-1", "20200101.120000-10", "20200101.120000-9" ),
+                          new ArrayList<>( b.getTimestampedBuilds().keySet() ) );
+            assertEquals( 2, b.getTimestampedBuilds().get( "20200101.120000-9" ).size() );
+            assertEquals( 2, b.getTimestampedBuilds().get( "20200102.080000-1" ).size() );
+            assertTrue( b.getLastModified() > 1500000000000L );
+        }
+    }
+
+    public void testNoSnapshots()
+        throws IOException, MojoExecutionException
+    {
+        createFiles( "org/example/a/1.0", "a-1.0.jar" );
+
+        assertTrue( new LocalRepositorySnapshotScanner( 2 ).scan( repository ).isEmpty() );
+    }
+
+    private File createFiles( String path, String... names )
+        throws IOException
+    {
+        File directory = new File( repository, path );
+        directory.mkdirs();
+        for ( String name : names )
+        {
+            FileUtils.fileWrite( new File( directory, name ), name );
+        }
+        return directory;
+    }
+}
@@ -0,0 +1,131 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import junit.framework.TestCase;
+
+public class TestManifestClassPathWriter
+    extends TestCase
+{
+    public void testLinesWrappedAt72Bytes()
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try ( ManifestClassPathWriter writer = new ManifestClassPathWriter( out ) )
+        {
+            for ( int i = 0; i < 20; i++ )
+            {
+                writer.addEntry( "lib/some-rather-long-artifact-name-" + i + "-1.0.0-SNAPSHOT.jar" );
+            }
+            writer.addEntry( "lib/\u00e9t\u00e9-\u20ac-\ud83d\ude00-1.0.jar" );
+        }
+
+        byte[] bytes = out.toByteArray();
+        int lineStart = 0;
+        for ( int i = 0; i < bytes.length; i++ )
+        {
+            if ( bytes[i] == '\n' )
+            {
+                assertTrue( "line longer than 72 bytes", i - 1 - lineStart <= 72 );
+                lineStart = i + 1;
+            }
+        }
+
+        String classPath = readClassPath( bytes );
+        String[] entries = classPath.split( " " );
+        assertEquals( 21, entries.length );
+        assertEquals( "lib/some-rather-long-artifact-name-0-1.0.0-SNAPSHOT.jar", entries[0] );
+        assertEquals( "lib/some-rather-long-artifact-name-19-1.0.0-SNAPSHOT.jar", entries[19] );
+        assertEquals( "lib/%C3%A9t%C3%A9-%E2%82%AC-%F0%9F%98%80-1.0.jar", entries[20] );
+    }
+
+    public void testEntriesAsUrls()
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try ( ManifestClassPathWriter writer = new ManifestClassPathWriter( out ) )
+        {
+            writer.addEntry( "lib\\with space.jar" );
+            writer.addEntry( "C:\\repo\\a.jar" );
+        }
+
+        assertEquals( "lib/with%20space.jar /C:/repo/a.jar", readClassPath( out.toByteArray() ) );
+    }
+
+    public void testReservedCharactersEncoded()
+        throws Exception
+    {
+        String[] paths = { "lib/100%.jar", "lib/c#.jar", "lib/what?.jar", "lib/\u00e9t\u00e9.jar",
+            "lib/a-b_c.d~e!$&'()*+,;=:@.jar", "lib/[x]{y}\"<z>^`|.jar" };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try ( ManifestClassPathWriter writer = new ManifestClassPathWriter( out ) )
+        {
+            for ( String path : paths )
+            {
+                writer.addEntry( path );
+            }
+        }
+
+        String[] entries = readClassPath( out.toByteArray() ).split( " " );
+        assertEquals( "lib/100%25.jar", entries[0] );
+        assertEquals( "lib/c%23.jar", entries[1] );
+        assertEquals( "lib/what%3F.jar", entries[2] );
+        assertEquals( "lib/%C3%A9t%C3%A9.jar", entries[3] );
+        assertEquals( "lib/a-b_c.d~e!$&'()*+,;=:@.jar", entries[4] );
+        assertEquals( "lib/%5Bx%5D%7By%7D%22%3Cz%3E%5E%60%7C.jar", entries[5] );
+
+        // the entries resolve to the files, as the class loaders resolve them against the jar
+        URL jar = new URL( "file:/app/app.jar" );
+        for ( int i = 0; i < paths.length; i++ )
+        {
+            assertEquals( new File( "/app/" + paths[i] ),
+                          new File( new URL( jar, entries[i] ).toURI() ) );
+        }
+    }
+
+    public void testNoEntry()
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ManifestClassPathWriter( out ).close();
+
+        assertEquals( "", readClassPath( out.toByteArray() ) );
+    }
+
+    private static String readClassPath( byte[] attribute )
+        throws IOException
+    {
+        byte[] header = "Manifest-Version: 1.0\r\n".getBytes( StandardCharsets.UTF_8 );
+        ByteArrayOutputStream manifest = new ByteArrayOutputStream();
+        manifest.write( header );
+        manifest.write( attribute );
+        return new Manifest( new ByteArrayInputStream( manifest.toByteArray() ) ).getMainAttributes().getValue(
+            Attributes.Name.CLASS_PATH );
+    }
+}
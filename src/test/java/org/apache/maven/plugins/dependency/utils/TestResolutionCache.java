@@ -0,0 +1,136 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.dependency.testUtils.DependencyArtifactStubFactory;
+import org.apache.maven.plugins.dependency.testUtils.DependencyTestUtils;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.transfer.artifact.DefaultArtifactCoordinate;
+
+import junit.framework.TestCase;
+
+public class TestResolutionCache
+    extends TestCase
+{
+    private DependencyArtifactStubFactory stubFactory;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        File testDir = new File( "target/unit-tests/resolution-cache" );
+        DependencyTestUtils.removeDirectory( testDir );
+        stubFactory = new DependencyArtifactStubFactory( testDir, true );
+    }
+
+    public void testLeastRecentlyUsedEvicted()
+        throws IOException
+    {
+        ResolutionCache cache = new ResolutionCache( 2 );
+        Artifact a = stubFactory.createArtifact( "org.example", "a", "1.0" );
+        Artifact b = stubFactory.createArtifact( "org.example", "b", "1.0" );
+        Artifact c = stubFactory.createArtifact( "org.example", "c", "1.0" );
+
+        cache.put( "a", a );
+        cache.put( "b", b );
+        assertEquals( a, cache.get( "a" ) );
+        cache.put( "c", c );
+
+        assertEquals( a, cache.get( "a" ) );
+        assertNull( cache.get( "b" ) );
+        assertEquals( c, cache.get( "c" ) );
+    }
+
+    public void testCopiesHandedOut()
+        throws IOException
+    {
+        ResolutionCache cache = new ResolutionCache( 10 );
+        Artifact a = stubFactory.createArtifact( "org.example", "a", "1.0-SNAPSHOT" );
+        cache.put( "a", a );
+        a.setVersion( "2.0" );
+
+        Artifact cached = cache.get( "a" );
+        assertEquals( "1.0-SNAPSHOT", cached.getVersion() );
+        assertEquals( a.getFile(), cached.getFile() );
+        cached.setVersion( "3.0" );
+        assertEquals( "1.0-SNAPSHOT", cache.get( "a" ).getVersion() );
+    }
+
+    public void testDeletedFileNotReused()
+        throws IOException
+    {
+        ResolutionCache cache = new ResolutionCache( 10 );
+        Artifact a = stubFactory.createArtifact( "org.example", "a", "1.0" );
+        cache.put( "a", a );
+
+        assertTrue( a.getFile().delete() );
+        assertNull( cache.get( "a" ) );
+    }
+
+    public void testKeys()
+    {
+        DefaultArtifactCoordinate coordinate = new DefaultArtifactCoordinate();
+        coordinate.setGroupId( "org.example" );
+        coordinate.setArtifactId( "a" );
+        coordinate.setVersion( "1.0" );
+        coordinate.setExtension( "jar" );
+        coordinate.setClassifier( "sources" );
+
+        assertEquals( "org.example:a:jar:sources:1.0@central=https://repo/,",
+                      ResolutionCache.getKey( coordinate, "central=https://repo/," ) );
+        assertFalse( ResolutionCache.getKey( coordinate, "central=https://repo/," ).equals(
+            ResolutionCache.getKey( coordinate, "central=https://mirror/," ) ) );
+    }
+
+    public void testOneCachePerSession()
+    {
+        MavenSession session = mock( MavenSession.class );
+
+        ResolutionCache cache = ResolutionCache.getInstance( session, 10 );
+        assertSame( cache, ResolutionCache.getInstance( session, 20 ) );
+        assertNotSame( cache, ResolutionCache.getInstance( mock( MavenSession.class ), 10 ) );
+    }
+
+    public void testOneCachePerSessionCopies()
+    {
+        MavenSession session = new MavenSession( null, new DefaultMavenExecutionRequest(),
+                                                 new DefaultMavenExecutionResult(),
+                                                 Collections.<MavenProject>emptyList() );
+
+        ResolutionCache cache = ResolutionCache.getInstance( session, 10 );
+        assertSame( cache, ResolutionCache.getInstance( session.clone(), 10 ) );
+        assertNotSame( cache, ResolutionCache.getInstance( new MavenSession( null, new DefaultMavenExecutionRequest(),
+                                                                             new DefaultMavenExecutionResult(),
+                                                                             Collections.<MavenProject>emptyList() ),
+                                                           10 ) );
+    }
+}
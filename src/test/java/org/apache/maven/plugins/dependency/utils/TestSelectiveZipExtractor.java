@@ -0,0 +1,168 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.plugins.dependency.testUtils.DependencyTestUtils;
+import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelector;
+import org.codehaus.plexus.util.FileUtils;
+
+public class TestSelectiveZipExtractor
+    extends TestCase
+{
+    private static final long TIME = 1500000000000L;
+
+    private File testDir;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        testDir = new File( "target/unit-tests/selective-zip-extractor" );
+        DependencyTestUtils.removeDirectory( testDir );
+        testDir.mkdirs();
+    }
+
+    public void testExtractSelectedEntries()
+        throws Exception
+    {
+        File archive = createArchive( "proto.jar", "META-INF/", "api/service.proto", "api/Service.class",
+                                      "model/model.proto" );
+        File destDir = new File( testDir, "out" );
+
+        assertTrue( SelectiveZipExtractor.extract( archive, destDir, null, includes( "**/*.proto" ), false ) );
+
+        assertEquals( "api/service.proto", FileUtils.fileRead( new File( destDir, "api/service.proto" ) ) );
+        assertEquals( "model/model.proto", FileUtils.fileRead( new File( destDir, "model/model.proto" ) ) );
+        assertEquals( TIME, new File( destDir, "api/service.proto" ).lastModified() );
+        assertFalse( new File( destDir, "api/Service.class" ).exists() );
+        assertFalse( new File( destDir, "META-INF" ).exists() );
+    }
+
+    public void testEntryOutsideOfDestDir()
+        throws Exception
+    {
+        File archive = createArchive( "evil.jar", "../evil.txt" );
+        File destDir = new File( testDir, "out" );
+
+        try
+        {
+            SelectiveZipExtractor.extract( archive, destDir, null, includes( "**" ), false );
+            fail( "ArchiverException expected" );
+        }
+        catch ( ArchiverException e )
+        {
+            assertFalse( new File( testDir, "evil.txt" ).exists() );
+        }
+    }
+
+    public void testSymbolicLinkOutsideOfDestDir()
+        throws Exception
+    {
+        File archive = createArchive( "evil.jar", "api/service.proto" );
+        File destDir = new File( testDir, "out" );
+        File outside = new File( testDir, "outside.txt" );
+        FileUtils.fileWrite( outside, "outside" );
+        File link = new File( destDir, "api/service.proto" );
+        assertTrue( link.getParentFile().mkdirs() );
+        try
+        {
+            Files.createSymbolicLink( link.toPath(), outside.getAbsoluteFile().toPath() );
+        }
+        catch ( UnsupportedOperationException | IOException e )
+        {
+            // no symbolic links on this file system
+            return;
+        }
+
+        try
+        {
+            SelectiveZipExtractor.extract( archive, destDir, null, includes( "**" ), false );
+            fail( "ArchiverException expected" );
+        }
+        catch ( ArchiverException e )
+        {
+            assertEquals( "outside", FileUtils.fileRead( outside ) );
+        }
+    }
+
+    public void testSymbolicLinkInsideOfDestDir()
+        throws Exception
+    {
+        File archive = createArchive( "proto.jar", "api/service.proto" );
+        File destDir = new File( testDir, "out" );
+        File inside = new File( destDir, "inside.proto" );
+        File link = new File( destDir, "api/service.proto" );
+        assertTrue( link.getParentFile().mkdirs() );
+        FileUtils.fileWrite( inside, "inside" );
+        try
+        {
+            Files.createSymbolicLink( link.toPath(), inside.getAbsoluteFile().toPath() );
+        }
+        catch ( UnsupportedOperationException | IOException e )
+        {
+            return;
+        }
+
+        // like the plexus unarchiver, which only rejects the links leading outside of the destination directory
+        assertTrue( SelectiveZipExtractor.extract( archive, destDir, null, includes( "**" ), false ) );
+        assertEquals( "api/service.proto", FileUtils.fileRead( inside ) );
+    }
+
+    private File createArchive( String fileName, String... names )
+        throws IOException
+    {
+        File archive = new File( testDir, fileName );
+        try ( ZipOutputStream zip = new ZipOutputStream( new FileOutputStream( archive ) ) )
+        {
+            for ( String name : names )
+            {
+                ZipEntry entry = new ZipEntry( name );
+                entry.setTime( TIME );
+                zip.putNextEntry( entry );
+                if ( !entry.isDirectory() )
+                {
+                    zip.write( name.getBytes( "UTF-8" ) );
+                }
+                zip.closeEntry();
+            }
+        }
+        return archive;
+    }
+
+    private static FileSelector[] includes( String includes )
+    {
+        IncludeExcludeFileSelector selector = new IncludeExcludeFileSelector();
+        selector.setIncludes( includes.split( "," ) );
+        return new FileSelector[] { selector };
+    }
+}
@@ -0,0 +1,119 @@
+package org.apache.maven.plugins.dependency.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+
+import junit.framework.TestCase;
+
+import org.codehaus.plexus.archiver.UnArchiver;
+import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
+import org.codehaus.plexus.archiver.tar.TarGZipUnArchiver;
+import org.codehaus.plexus.archiver.zip.ZipUnArchiver;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class TestUnArchiverCache
+    extends TestCase
+{
+    private ArchiverManager archiverManager;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        archiverManager = mock( ArchiverManager.class );
+        when( archiverManager.getUnArchiver( "jar" ) ).thenAnswer( new NewInstance( ZipUnArchiver.class ) );
+        when( archiverManager.getUnArchiver( "tar.gz" ) ).thenAnswer( new NewInstance( TarGZipUnArchiver.class ) );
+        when( archiverManager.getUnArchiver( "test-jar" ) ).thenThrow( new NoSuchArchiverException( "test-jar" ) );
+    }
+
+    public void testReuseReleasedUnArchiver()
+        throws Exception
+    {
+        UnArchiverCache cache = new UnArchiverCache( archiverManager );
+
+        UnArchiver first = cache.acquire( "jar", new File( "a.jar" ), null );
+        UnArchiver second = cache.acquire( "jar", new File( "b.jar" ), null );
+        assertNotSame( first, second );
+
+        cache.release( first );
+        assertSame( first, cache.acquire( "jar", new File( "c.jar" ), null ) );
+
+        // the unarchiver looked up to check the type is used for the first archive
+        verify( archiverManager, times( 2 ) ).getUnArchiver( "jar" );
+    }
+
+    public void testNoReuseAcrossEncodings()
+        throws Exception
+    {
+        UnArchiverCache cache = new UnArchiverCache( archiverManager );
+
+        UnArchiver unArchiver = cache.acquire( "jar", new File( "a.jar" ), "UTF-8" );
+        cache.release( unArchiver );
+
+        assertNotSame( unArchiver, cache.acquire( "jar", new File( "b.jar" ), null ) );
+        assertSame( unArchiver, cache.acquire( "jar", new File( "c.jar" ), "UTF-8" ) );
+    }
+
+    public void testUnknownTypeLookedUpOnce()
+        throws Exception
+    {
+        UnArchiverCache cache = new UnArchiverCache( archiverManager );
+
+        UnArchiver unArchiver = cache.acquire( "test-jar", new File( "a-tests.jar" ), null );
+        assertTrue( unArchiver instanceof ZipUnArchiver );
+        cache.release( unArchiver );
+        assertSame( unArchiver, cache.acquire( "test-jar", new File( "b-tests.jar" ), null ) );
+
+        assertTrue( cache.acquire( "test-jar", new File( "c.tar.gz" ), null ) instanceof TarGZipUnArchiver );
+
+        verify( archiverManager, times( 1 ) ).getUnArchiver( "test-jar" );
+        verify( archiverManager, never() ).getUnArchiver( any( File.class ) );
+    }
+
+    private static class NewInstance
+        implements Answer<UnArchiver>
+    {
+        private final Class<? extends UnArchiver> type;
+
+        NewInstance( Class<? extends UnArchiver> type )
+        {
+            this.type = type;
+        }
+
+        @Override
+        public UnArchiver answer( InvocationOnMock invocation )
+            throws Exception
+        {
+            return type.newInstance();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.apache.maven.plugins.dependency.utils.filters;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.shared.artifact.filter.collection.ArtifactFilterException;
+import org.apache.maven.shared.artifact.filter.collection.ArtifactIdFilter;
+import org.apache.maven.shared.artifact.filter.collection.ClassifierFilter;
+import org.apache.maven.shared.artifact.filter.collection.FilterArtifacts;
+import org.apache.maven.shared.artifact.filter.collection.GroupIdFilter;
+import org.apache.maven.shared.artifact.filter.collection.ProjectTransitivityFilter;
+import org.apache.maven.shared.artifact.filter.collection.ScopeFilter;
+import org.apache.maven.shared.artifact.filter.collection.TypeFilter;
+
+/**
+ * Checks {@link CompiledArtifactsFilter} against the chain of filters it replaces.
+ */
+public class TestCompiledArtifactsFilter
+    extends TestCase
+{
+    private static final String[] SCOPES = { "", "compile", "provided", "runtime", "test", "system" };
+
+    private static final String[] TYPES = { "", "jar", "war,jar", "pom" };
+
+    private static final String[] CLASSIFIERS = { "", "sources", "tests,sources" };
+
+    private static final String[] GROUP_IDS = { "", "org.b", "org.b,org.a", "org" };
+
+    private static final String[] ARTIFACT_IDS = { "", "one", "two,one,three" };
+
+    private Set<Artifact> artifacts;
+
+    private Set<Artifact> directDependencies;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        artifacts = new LinkedHashSet<>();
+        directDependencies = new LinkedHashSet<>();
+        String[] scopes = { "compile", "provided", "runtime", "test", "system" };
+        String[] types = { "jar", "war", "pom" };
+        String[] classifiers = { null, "sources", "tests" };
+        String[] groupIds = { "org.a", "org.b", "org.b.c" };
+        String[] artifactIds = { "one", "two", "three" };
+        int i = 0;
+        for ( String groupId : groupIds )
+        {
+            for ( String artifactId : artifactIds )
+            {
+                for ( String type : types )
+                {
+                    Artifact artifact =
+                        createArtifact( groupId, artifactId, scopes[i % scopes.length], type,
+                                        classifiers[i % classifiers.length] );
+                    artifacts.add( artifact );
+                    if ( i % 4 == 0 )
+                    {
+                        directDependencies.add( artifact );
+                    }
+                    i++;
+                }
+            }
+        }
+    }
+
+    public void testSameResultsAsFilterChain()
+        throws ArtifactFilterException
+    {
+        for ( boolean excludeTransitive : new boolean[] { false, true } )
+        {
+            for ( String scope : SCOPES )
+            {
+                for ( String type : TYPES )
+                {
+                    for ( String classifier : CLASSIFIERS )
+                    {
+                        for ( String groupId : GROUP_IDS )
+                        {
+                            for ( String artifactId : ARTIFACT_IDS )
+                            {
+                                assertSameResults( artifacts, directDependencies, excludeTransitive, scope, "", type,
+                                                   "", classifier, "", groupId, "", artifactId, "" );
+                                if ( !"test".equals( scope ) )
+                                {
+                                    assertSameResults( artifacts, directDependencies, excludeTransitive, "", scope,
+                                                       "", type, "", classifier, "", groupId, "", artifactId );
+                                }
+                                assertSameResults( artifacts, directDependencies, excludeTransitive, scope, "", type,
+                                                   classifier, classifier, type, groupId, artifactId, artifactId,
+                                                   groupId );
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void testSkipsFailingFilters()
+        throws ArtifactFilterException
+    {
+        artifacts.add( new DefaultArtifact( "org.a", "one", "1.0", "compile", "jar", null,
+                                            new DefaultArtifactHandler( "jar" ) )
+        {
+            @Override
+            public String getGroupId()
+            {
+                return null;
+            }
+        } );
+
+        assertSameResults( artifacts, null, true, "", "", "", "", "", "", "org.b,org.a", "", "one,two", "" );
+        assertSameResults( artifacts, directDependencies, false, "", "", "", "", "", "", "", "org.a", "", "" );
+        assertSameResults( artifacts, directDependencies, false, "", "", "war", "", "", "", "org", "", "", "" );
+    }
+
+    public void testInvalidScopes()
+    {
+        assertInvalidScope( "unknown", "", "Invalid Scope in includeScope: unknown" );
+        assertInvalidScope( "", "unknown", "Invalid Scope in excludeScope: unknown" );
+        assertInvalidScope( "", "test", " Can't exclude Test scope, this will exclude everything." );
+    }
+
+    private void assertInvalidScope( String includeScope, String excludeScope, String message )
+    {
+        CompiledArtifactsFilter filter = new CompiledArtifactsFilter( directDependencies, false );
+        filter.setScopes( includeScope, excludeScope );
+        try
+        {
+            filter.filter( artifacts );
+            fail( "Expected an ArtifactFilterException" );
+        }
+        catch ( ArtifactFilterException e )
+        {
+            assertEquals( message, e.getMessage() );
+        }
+    }
+
+    private static void assertSameResults( Set<Artifact> artifacts, Set<Artifact> directDependencies,
+                                           boolean excludeTransitive, String includeScope, String excludeScope,
+                                           String includeTypes, String excludeTypes, String includeClassifiers,
+                                           String excludeClassifiers, String includeGroupIds,
+                                           String excludeGroupIds, String includeArtifactIds,
+                                           String excludeArtifactIds )
+        throws ArtifactFilterException
+    {
+        FilterArtifacts chain = new FilterArtifacts();
+        chain.addFilter( new ProjectTransitivityFilter( directDependencies, excludeTransitive ) );
+        chain.addFilter( new ScopeFilter( includeScope, excludeScope ) );
+        chain.addFilter( new TypeFilter( includeTypes, excludeTypes ) );
+        chain.addFilter( new ClassifierFilter( includeClassifiers, excludeClassifiers ) );
+        chain.addFilter( new GroupIdFilter( includeGroupIds, excludeGroupIds ) );
+        chain.addFilter( new ArtifactIdFilter( includeArtifactIds, excludeArtifactIds ) );
+
+        CompiledArtifactsFilter filter = new CompiledArtifactsFilter( directDependencies, excludeTransitive );
+        filter.setScopes( includeScope, excludeScope );
+        filter.setTypes( includeTypes, excludeTypes );
+        filter.setClassifiers( includeClassifiers, excludeClassifiers );
+        filter.setGroupIds( includeGroupIds, excludeGroupIds );
+        filter.setArtifactIds( includeArtifactIds, excludeArtifactIds );
+
+        List<Artifact> expected = new ArrayList<>( chain.filter( new LinkedHashSet<>( artifacts ) ) );
+        List<Artifact> actual = new ArrayList<>( filter.filter( new LinkedHashSet<>( artifacts ) ) );
+        assertEquals( excludeTransitive + " " + includeScope + "/" + excludeScope + " " + includeTypes + "/"
+            + excludeTypes + " " + includeClassifiers + "/" + excludeClassifiers + " " + includeGroupIds + "/"
+            + excludeGroupIds + " " + includeArtifactIds + "/" + excludeArtifactIds, expected, actual );
+    }
+
+    private static Artifact createArtifact( String groupId, String artifactId, String scope, String type,
+                                            String classifier )
+    {
+        return new DefaultArtifact( groupId, artifactId, "1.0", scope, type, classifier,
+                                    new DefaultArtifactHandler( type ) );
+    }
+}
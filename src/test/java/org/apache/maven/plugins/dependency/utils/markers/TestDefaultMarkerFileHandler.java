@@ -185,4 +185,43 @@ public class TestDefaultMarkerFileHandler
         handler.clearMarker();
         assertFalse( handler.isMarkerSet() );
     }
+
+    public void testMarkerIndex()
+        throws MojoExecutionException
+    {
+        MarkerIndex index = new MarkerIndex( this.outputFolder );
+        DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler( artifacts.get( 0 ), this.outputFolder );
+        handler.setMarkerIndex( index );
+
+        assertFalse( handler.isMarkerSet() );
+        handler.setMarker();
+        assertTrue( handler.isMarkerSet() );
+        assertFalse( handler.getMarkerFile().exists() );
+        assertFalse( index.getIndexFile().exists() );
+
+        index.save();
+        assertTrue( index.getIndexFile().exists() );
+
+        // a new index reads the saved markers
+        index = new MarkerIndex( this.outputFolder );
+        handler.setMarkerIndex( index );
+        assertTrue( handler.isMarkerSet() );
+        assertTrue( handler.clearMarker() );
+        assertFalse( handler.isMarkerSet() );
+        assertFalse( handler.clearMarker() );
+    }
+
+    public void testMarkerIndexImportsMarkerFiles()
+        throws MojoExecutionException
+    {
+        DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler( artifacts.get( 0 ), this.outputFolder );
+        handler.setMarker();
+        assertTrue( handler.getMarkerFile().exists() );
+
+        handler.setMarkerIndex( new MarkerIndex( this.outputFolder ) );
+        assertTrue( handler.isMarkerSet() );
+
+        handler.setArtifact( artifacts.get( 1 ) );
+        assertFalse( handler.isMarkerSet() );
+    }
 }